@@ -26,6 +26,7 @@
 package org.cadixdev.lorenz.io.jam;
 
 import org.cadixdev.lorenz.MappingSet;
+import org.cadixdev.lorenz.io.MappingVisitor;
 import org.cadixdev.lorenz.io.MappingsReader;
 import org.cadixdev.lorenz.io.TextMappingsReader;
 
@@ -43,6 +44,17 @@ public class JamReader extends TextMappingsReader {
         super(reader, Processor::new);
     }
 
+    @Override
+    protected boolean isLineIndependent() {
+        // Every line of the JAM format names the class it belongs to
+        return true;
+    }
+
+    @Override
+    protected Processor createProcessor(final MappingVisitor visitor) {
+        return new Processor(visitor);
+    }
+
     public static class Processor extends TextMappingsReader.Processor {
 
         private static final String CLASS_MAPPING_KEY = "CL";
@@ -59,6 +71,17 @@ public class JamReader extends TextMappingsReader {
             super(mappings);
         }
 
+        /**
+         * Creates a mappings parser for the JAM format, emitting mappings to
+         * the given {@link MappingVisitor}.
+         *
+         * @param visitor The visitor
+         * @since 0.6.0
+         */
+        public Processor(final MappingVisitor visitor) {
+            super(visitor);
+        }
+
         /**
          * Creates a mappings parser for the JAM format.
          */
@@ -85,8 +108,7 @@ public class JamReader extends TextMappingsReader {
                 final String obfName = split[1];
                 final String deobfName = split[2];
 
-                this.mappings.getOrCreateClassMapping(obfName)
-                        .setDeobfuscatedName(deobfName);
+                this.visitor.visitClass(obfName, deobfName);
             }
             else if (key.equals(FIELD_MAPPING_KEY) && len == FIELD_MAPPING_ELEMENT_COUNT) {
                 final String owningClass = split[1];
@@ -94,9 +116,7 @@ public class JamReader extends TextMappingsReader {
                 final String obfDescriptor = split[3];
                 final String deobfName = split[4];
 
-                this.mappings.getOrCreateClassMapping(owningClass)
-                        .getOrCreateFieldMapping(obfName, obfDescriptor)
-                        .setDeobfuscatedName(deobfName);
+                this.visitor.visitField(owningClass, obfName, obfDescriptor, deobfName);
             }
             else if (key.equals(METHOD_MAPPING_KEY) && len == METHOD_MAPPING_ELEMENT_COUNT) {
                 final String owningClass = split[1];
@@ -104,9 +124,7 @@ public class JamReader extends TextMappingsReader {
                 final String obfDescriptor = split[3];
                 final String deobfName = split[4];
 
-                this.mappings.getOrCreateClassMapping(owningClass)
-                        .getOrCreateMethodMapping(obfName, obfDescriptor)
-                        .setDeobfuscatedName(deobfName);
+                this.visitor.visitMethod(owningClass, obfName, obfDescriptor, deobfName);
             }
             else if (key.equals(PARAM_MAPPING_KEY) && len == PARAM_MAPPING_ELEMENT_COUNT) {
                 final String owningClass = split[1];
@@ -121,10 +139,7 @@ public class JamReader extends TextMappingsReader {
                 }
                 final String deobfName = split[5];
 
-                this.mappings.getOrCreateClassMapping(owningClass)
-                        .getOrCreateMethodMapping(owningMethod, owningMethodDescriptor)
-                        .getOrCreateParameterMapping(index)
-                        .setDeobfuscatedName(deobfName);
+                this.visitor.visitParameter(owningClass, owningMethod, owningMethodDescriptor, index, deobfName);
             }
         }
 
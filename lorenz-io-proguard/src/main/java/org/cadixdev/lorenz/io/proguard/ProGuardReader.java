@@ -28,11 +28,10 @@ package org.cadixdev.lorenz.io.proguard;
 import org.cadixdev.bombe.type.FieldType;
 import org.cadixdev.bombe.type.MethodDescriptor;
 import org.cadixdev.bombe.type.Type;
-import org.cadixdev.bombe.type.signature.FieldSignature;
 import org.cadixdev.lorenz.MappingSet;
+import org.cadixdev.lorenz.io.MappingVisitor;
 import org.cadixdev.lorenz.io.MappingsReader;
 import org.cadixdev.lorenz.io.TextMappingsReader;
-import org.cadixdev.lorenz.model.ClassMapping;
 
 import java.io.Reader;
 import java.util.Arrays;
@@ -51,14 +50,30 @@ public class ProGuardReader extends TextMappingsReader {
         super(reader, Processor::new);
     }
 
+    @Override
+    protected Processor createProcessor(final MappingVisitor visitor) {
+        return new Processor(visitor);
+    }
+
     public static class Processor extends TextMappingsReader.Processor {
 
-        private ClassMapping<?, ?> currentClass;
+        private String currentClass;
 
         public Processor(final MappingSet mappings) {
             super(mappings);
         }
 
+        /**
+         * Creates a mappings parser for the ProGuard format, emitting
+         * mappings to the given {@link MappingVisitor}.
+         *
+         * @param visitor The visitor
+         * @since 0.6.0
+         */
+        public Processor(final MappingVisitor visitor) {
+            super(visitor);
+        }
+
         @Override
         public void accept(final String raw) {
             // Ignore comments
@@ -71,8 +86,8 @@ public class ProGuardReader extends TextMappingsReader {
                 // remove the trailing :
                 final String deobf = params[2].substring(0, params[2].length() - 1).replace('.', '/');
 
-                this.currentClass = this.mappings.getOrCreateClassMapping(obf)
-                        .setDeobfuscatedName(deobf);
+                this.currentClass = obf;
+                this.visitor.visitClass(obf, deobf);
             }
 
             if (params.length == 4 && params[2].equals("->")) {
@@ -97,14 +112,12 @@ public class ProGuardReader extends TextMappingsReader {
                             .map(PGTypeReader::readFieldType)
                             .collect(Collectors.toList());
 
-                    this.currentClass.getOrCreateMethodMapping(obfName, new MethodDescriptor(paramTypes, returnClean))
-                            .setDeobfuscatedName(deobf);
+                    this.visitor.visitMethod(this.currentClass, obfName, new MethodDescriptor(paramTypes, returnClean).toString(), deobf);
                 }
                 // field
                 else {
-                    final FieldSignature fieldSignature = new FieldSignature(obf, new PGTypeReader(returnTypeRaw).readFieldType());
-                    this.currentClass.getOrCreateFieldMapping(fieldSignature)
-                            .setDeobfuscatedName(deobf);
+                    final FieldType type = new PGTypeReader(returnTypeRaw).readFieldType();
+                    this.visitor.visitField(this.currentClass, obf, type.toString(), deobf);
                 }
             }
         }
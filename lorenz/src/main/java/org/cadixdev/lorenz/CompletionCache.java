@@ -0,0 +1,363 @@
+/*
+ * This file is part of Lorenz, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamierocks.uk/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cadixdev.lorenz;
+
+import org.cadixdev.bombe.type.FieldType;
+import org.cadixdev.bombe.type.MethodDescriptor;
+import org.cadixdev.bombe.type.signature.FieldSignature;
+import org.cadixdev.bombe.type.signature.MethodSignature;
+import org.cadixdev.lorenz.impl.model.AbstractClassMappingImpl;
+import org.cadixdev.lorenz.model.ClassMapping;
+import org.cadixdev.lorenz.model.FieldMapping;
+import org.cadixdev.lorenz.model.MethodMapping;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A persistent cache of the results of completing the class mappings of
+ * a {@link MappingSet}, allowing for completion to be skipped entirely when
+ * neither the mappings, nor the classpath they were completed against,
+ * have changed.
+ * <p>
+ * Caches are identified by a {@link #computeKey(MappingSet, Collection) key},
+ * which should be computed before the mapping set is completed:
+ * <pre>{@code
+ * final String key = CompletionCache.computeKey(mappings, classpath);
+ * if (!CompletionCache.read(mappings, key, cache)) {
+ *     mappings.completeAll(provider, classes, executor);
+ *     CompletionCache.write(mappings, key, cache);
+ * }
+ * }</pre>
+ * Only mapping sets using the mutable model implementations provided by
+ * Lorenz are supported - should a class of the cache be of another model,
+ * such as that of a {@link MappingSet#freeze() frozen} set, the cache isn't
+ * read.
+ * <p>
+ * Cache files are written to a temporary file, that then replaces the cache
+ * file - so a cache file is never left partially written, should writing it
+ * fail. A cache file that is nonetheless truncated is treated as a miss.
+ *
+ * @author Jamie Mansfield
+ * @since 0.6.0
+ */
+public final class CompletionCache {
+
+    private static final int MAGIC = 0x4C435043; // LCPC
+    private static final int VERSION = 1;
+
+    /**
+     * Computes the key of the completion cache for the given mapping set,
+     * and the classpath its inheritance provider reads classes from.
+     * <p>
+     * The key is a digest of the mappings declared by the set - ignoring
+     * any inherited through completion - and of the contents of each of
+     * the files on the classpath, in order.
+     *
+     * @param mappings The mapping set
+     * @param classpath The files of the classpath
+     * @return The key
+     * @throws IOException Should an I/O issue occur reading the classpath
+     */
+    public static String computeKey(final MappingSet mappings, final Collection<Path> classpath) throws IOException {
+        final MessageDigest digest = sha256();
+
+        final List<ClassMapping<?, ?>> classes = getClassMappings(mappings);
+        classes.sort(Comparator.comparing(ClassMapping::getFullObfuscatedName));
+        for (final ClassMapping<?, ?> klass : classes) {
+            update(digest, "C " + klass.getFullObfuscatedName() + ' ' + klass.getDeobfuscatedName());
+
+            // Only the mappings declared by the class are considered, so the key
+            // is the same before and after completion
+            final List<String> members = new ArrayList<>();
+            for (final FieldMapping field : klass.getFieldMappings()) {
+                if (field.getParent() != klass) continue;
+                members.add("F " + field.getSignature() + ' ' + field.getDeobfuscatedName());
+            }
+            for (final MethodMapping method : klass.getMethodMappings()) {
+                if (method.getParent() != klass) continue;
+                members.add("M " + method.getSignature() + ' ' + method.getDeobfuscatedName());
+                method.getParameterMappings().forEach(param ->
+                        members.add("P " + method.getSignature() + ' ' + param.getIndex() + ' ' + param.getDeobfuscatedName()));
+            }
+            members.sort(null);
+            members.forEach(member -> update(digest, member));
+        }
+
+        final byte[] buffer = new byte[8192];
+        for (final Path file : classpath) {
+            update(digest, "J " + file.getFileName());
+            try (final InputStream in = Files.newInputStream(file)) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+        }
+
+        final StringBuilder key = new StringBuilder();
+        for (final byte b : digest.digest()) {
+            key.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Writes the completion of the class mappings of the given mapping set
+     * to the given cache file, under the given key - replacing the file,
+     * atomically where the file system supports it.
+     *
+     * @param mappings The mapping set, which should have been completed
+     * @param key The key of the cache
+     * @param path The path to the cache file
+     * @throws IOException Should an I/O issue occur
+     * @see #computeKey(MappingSet, Collection)
+     */
+    public static void write(final MappingSet mappings, final String key, final Path path) throws IOException {
+        final List<AbstractClassMappingImpl<?, ?>> completed = new ArrayList<>();
+        for (final ClassMapping<?, ?> klass : getClassMappings(mappings)) {
+            if (klass instanceof AbstractClassMappingImpl && klass.isComplete()) {
+                completed.add((AbstractClassMappingImpl<?, ?>) klass);
+            }
+        }
+
+        // Write to a temporary file alongside the cache file, so that it may
+        // be moved into place
+        final Path directory = path.toAbsolutePath().getParent();
+        final Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            write(completed, key, temp);
+            try {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+            catch (final AtomicMoveNotSupportedException ex) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void write(final List<AbstractClassMappingImpl<?, ?>> completed, final String key, final Path path) throws IOException {
+        try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(key);
+
+            out.writeInt(completed.size());
+            for (final AbstractClassMappingImpl<?, ?> klass : completed) {
+                out.writeUTF(klass.getFullObfuscatedName());
+
+                final Map<FieldSignature, FieldMapping> fields = klass.getInheritedFieldMappings();
+                out.writeInt(fields.size());
+                for (final Map.Entry<FieldSignature, FieldMapping> entry : fields.entrySet()) {
+                    writeSignature(out, entry.getKey());
+                    out.writeUTF(entry.getValue().getParent().getFullObfuscatedName());
+                    writeSignature(out, entry.getValue().getSignature());
+                }
+
+                final Map<MethodSignature, MethodMapping> methods = klass.getInheritedMethodMappings();
+                out.writeInt(methods.size());
+                for (final Map.Entry<MethodSignature, MethodMapping> entry : methods.entrySet()) {
+                    writeSignature(out, entry.getKey());
+                    out.writeUTF(entry.getValue().getParent().getFullObfuscatedName());
+                    writeSignature(out, entry.getValue().getSignature());
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the completion of the class mappings of the given mapping set
+     * from the given cache file, should it exist and have been written
+     * under the given key.
+     * <p>
+     * Once read, the class mappings are complete - as if they had been
+     * {@link ClassMapping#complete(org.cadixdev.bombe.analysis.InheritanceProvider) completed}.
+     *
+     * @param mappings The mapping set, which should not have been completed
+     * @param key The key of the cache
+     * @param path The path to the cache file
+     * @return {@code true} should the cache have been read;
+     *         {@code false} otherwise - including should it be truncated, or
+     *         the classes of the mapping set not support being restored
+     * @throws IOException Should an I/O issue occur, or the cache be corrupt
+     * @see #computeKey(MappingSet, Collection)
+     */
+    public static boolean read(final MappingSet mappings, final String key, final Path path) throws IOException {
+        if (!Files.isRegularFile(path)) return false;
+
+        // The whole cache is read before any of it is restored, so a
+        // truncated cache leaves the mapping set untouched
+        final List<CompletedClass> completed;
+        try (final DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || !key.equals(in.readUTF())) return false;
+
+            final int classCount = in.readInt();
+            completed = new ArrayList<>();
+            for (int i = 0; i < classCount; i++) {
+                final CompletedClass klass = new CompletedClass(in.readUTF());
+
+                final int fieldCount = in.readInt();
+                for (int j = 0; j < fieldCount; j++) {
+                    klass.fields.add(new InheritedMember<>(readFieldSignature(in), in.readUTF(), readFieldSignature(in)));
+                }
+
+                final int methodCount = in.readInt();
+                for (int j = 0; j < methodCount; j++) {
+                    klass.methods.add(new InheritedMember<>(readMethodSignature(in), in.readUTF(), readMethodSignature(in)));
+                }
+
+                completed.add(klass);
+            }
+        }
+        catch (final EOFException ex) {
+            return false;
+        }
+
+        // Every class must be able to be restored, so a cache is never
+        // partially read
+        final List<AbstractClassMappingImpl<?, ?>> classes = new ArrayList<>(completed.size());
+        for (final CompletedClass completedClass : completed) {
+            final ClassMapping<?, ?> klass = mappings.getOrCreateClassMapping(completedClass.name);
+            if (!(klass instanceof AbstractClassMappingImpl)) return false;
+            classes.add((AbstractClassMappingImpl<?, ?>) klass);
+        }
+
+        for (int i = 0; i < completed.size(); i++) {
+            final CompletedClass completedClass = completed.get(i);
+
+            final Map<FieldSignature, FieldMapping> fields = new HashMap<>(completedClass.fields.size() * 2);
+            for (final InheritedMember<FieldSignature> field : completedClass.fields) {
+                final ClassMapping<?, ?> owner = mappings.getOrCreateClassMapping(field.owner);
+                fields.put(field.signature, owner.computeFieldMapping(field.ownerSignature)
+                        .orElseThrow(() -> new IOException("Completion cache refers to a missing field mapping!")));
+            }
+
+            final Map<MethodSignature, MethodMapping> methods = new HashMap<>(completedClass.methods.size() * 2);
+            for (final InheritedMember<MethodSignature> method : completedClass.methods) {
+                final ClassMapping<?, ?> owner = mappings.getOrCreateClassMapping(method.owner);
+                methods.put(method.signature, owner.getMethodMapping(method.ownerSignature)
+                        .orElseThrow(() -> new IOException("Completion cache refers to a missing method mapping!")));
+            }
+
+            classes.get(i).restoreCompletion(fields, methods);
+        }
+        return true;
+    }
+
+    private static List<ClassMapping<?, ?>> getClassMappings(final MappingSet mappings) {
+        final List<ClassMapping<?, ?>> classes = new ArrayList<>(mappings.getTopLevelClassMappings());
+        for (int i = 0; i < classes.size(); i++) {
+            classes.addAll(classes.get(i).getInnerClassMappings());
+        }
+        return classes;
+    }
+
+    private static void writeSignature(final DataOutputStream out, final FieldSignature signature) throws IOException {
+        out.writeUTF(signature.getName());
+        out.writeUTF(signature.getType().map(FieldType::toString).orElse(""));
+    }
+
+    private static void writeSignature(final DataOutputStream out, final MethodSignature signature) throws IOException {
+        out.writeUTF(signature.getName());
+        out.writeUTF(signature.getDescriptor().toString());
+    }
+
+    private static FieldSignature readFieldSignature(final DataInputStream in) throws IOException {
+        final String name = in.readUTF();
+        final String type = in.readUTF();
+        return type.isEmpty() ? new FieldSignature(name) : new FieldSignature(name, FieldType.of(type));
+    }
+
+    private static MethodSignature readMethodSignature(final DataInputStream in) throws IOException {
+        return new MethodSignature(in.readUTF(), MethodDescriptor.of(in.readUTF()));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        }
+        catch (final NoSuchAlgorithmException ex) {
+            // Every Java implementation is required to support SHA-256
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void update(final MessageDigest digest, final String line) {
+        digest.update(line.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '\n');
+    }
+
+    private CompletionCache() {
+    }
+
+    private static final class CompletedClass {
+
+        private final String name;
+        private final List<InheritedMember<FieldSignature>> fields = new ArrayList<>();
+        private final List<InheritedMember<MethodSignature>> methods = new ArrayList<>();
+
+        CompletedClass(final String name) {
+            this.name = name;
+        }
+
+    }
+
+    private static final class InheritedMember<S> {
+
+        private final S signature;
+        private final String owner;
+        private final S ownerSignature;
+
+        InheritedMember(final S signature, final String owner, final S ownerSignature) {
+            this.signature = signature;
+            this.owner = owner;
+            this.ownerSignature = ownerSignature;
+        }
+
+    }
+
+}
@@ -0,0 +1,288 @@
+/*
+ * This file is part of Lorenz, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamierocks.uk/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cadixdev.lorenz;
+
+import org.cadixdev.bombe.analysis.InheritanceProvider;
+import org.cadixdev.bombe.type.MethodDescriptor;
+import org.cadixdev.bombe.type.signature.FieldSignature;
+import org.cadixdev.bombe.type.signature.MethodSignature;
+import org.cadixdev.lorenz.model.ClassMapping;
+import org.cadixdev.lorenz.model.FieldMapping;
+import org.cadixdev.lorenz.model.MethodMapping;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A table of the members each class inherits from its parents, kept
+ * separate from the {@link MappingSet} it describes.
+ * <p>
+ * Where {@link ClassMapping#complete(InheritanceProvider)} adds the inherited
+ * members to the class mappings themselves - creating a mapping for every
+ * class it visits, including those of the JDK and of libraries - a completion
+ * table leaves the mapping set untouched. Inherited members are resolved,
+ * in the same manner, as classes are first looked up and can be discarded
+ * by {@link #clear() clearing} the table.
+ * <p>
+ * The table reflects the mapping set at the time each class was first looked
+ * up, so should the mapping set change it should be cleared.
+ * <p>
+ * Cyclic hierarchies, as found in broken or maliciously obfuscated jars, are
+ * tolerated - a class is never inherited from while it is being completed.
+ *
+ * @author Jamie Mansfield
+ * @since 0.6.0
+ */
+public class CompletionTable {
+
+    private static final Entry EMPTY = new Entry(null, Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap());
+
+    private final MappingSet mappings;
+    private final InheritanceProvider inheritanceProvider;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an empty completion table, for the given mapping set.
+     *
+     * @param mappings The mapping set
+     * @param inheritanceProvider The inheritance provider to complete with
+     */
+    public CompletionTable(final MappingSet mappings, final InheritanceProvider inheritanceProvider) {
+        this.mappings = mappings;
+        this.inheritanceProvider = inheritanceProvider;
+    }
+
+    /**
+     * Gets the mapping set, that the table completes.
+     *
+     * @return The mapping set
+     */
+    public MappingSet getMappings() {
+        return this.mappings;
+    }
+
+    /**
+     * Gets the inheritance provider, that the table completes with.
+     *
+     * @return The inheritance provider
+     */
+    public InheritanceProvider getInheritanceProvider() {
+        return this.inheritanceProvider;
+    }
+
+    /**
+     * Gets the field mapping of the given signature, either declared by
+     * or inherited by the given class - in the same manner as
+     * {@link ClassMapping#computeFieldMapping(FieldSignature)}.
+     *
+     * @param owner The obfuscated name of the class
+     * @param signature The obfuscated signature of the field
+     * @return The field mapping, wrapped in an {@link Optional}
+     */
+    public Optional<FieldMapping> getFieldMapping(final String owner, final FieldSignature signature) {
+        final Entry entry = this.getEntry(owner, new HashSet<>());
+        return Optional.ofNullable(entry.findField(signature));
+    }
+
+    /**
+     * Gets the method mapping of the given signature, either declared by
+     * or inherited by the given class.
+     *
+     * @param owner The obfuscated name of the class
+     * @param signature The obfuscated signature of the method
+     * @return The method mapping, wrapped in an {@link Optional}
+     */
+    public Optional<MethodMapping> getMethodMapping(final String owner, final MethodSignature signature) {
+        final Entry entry = this.getEntry(owner, new HashSet<>());
+        return Optional.ofNullable(entry.findMethod(signature));
+    }
+
+    /**
+     * Gets the number of classes, that the table has completed.
+     *
+     * @return The size of the table
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Discards all of the completed classes.
+     */
+    public void clear() {
+        this.entries.clear();
+    }
+
+    private Entry getEntry(final String owner, final Set<String> visiting) {
+        final Entry entry = this.entries.get(owner);
+        if (entry != null) return entry;
+
+        // Parents are completed recursively, so the entry cannot be computed
+        // within the map - should two threads complete the same class, the
+        // results are identical and the first is kept
+        visiting.add(owner);
+        final Entry computed = this.computeEntry(owner, visiting);
+        visiting.remove(owner);
+
+        final Entry existing = this.entries.putIfAbsent(owner, computed);
+        return existing != null ? existing : computed;
+    }
+
+    private Entry computeEntry(final String owner, final Set<String> visiting) {
+        final ClassMapping<?, ?> klass = this.mappings.getClassMapping(owner).orElse(null);
+        final InheritanceProvider.ClassInfo info = this.inheritanceProvider.provide(owner).orElse(null);
+        if (info == null) {
+            return klass == null ? EMPTY : new Entry(klass, Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap());
+        }
+
+        final Map<String, Set<MethodSignature>> nameToMethods = new HashMap<>();
+        for (final MethodSignature signature : info.getMethods().keySet()) {
+            nameToMethods.computeIfAbsent(signature.getName(), name -> new HashSet<>()).add(signature);
+        }
+
+        final Entry entry = new Entry(klass, new HashMap<>(), new HashMap<>(), new HashMap<>());
+        for (final InheritanceProvider.ClassInfo parent : info.provideParents(this.inheritanceProvider)) {
+            // A class that is its own ancestor can't inherit from itself
+            if (visiting.contains(parent.getName())) continue;
+            final Entry parentEntry = this.getEntry(parent.getName(), visiting);
+
+            for (final FieldMapping mapping : parentEntry.getFieldMappings()) {
+                // If the class has its own field that satisfies the parent's signature,
+                // then we shouldn't inherit the mapping
+                if (entry.findField(mapping.getSignature()) != null) continue;
+
+                if (parent.canInherit(info, mapping.getSignature())) {
+                    entry.inheritedFields.putIfAbsent(mapping.getSignature(), mapping);
+                    entry.inheritedFieldsByName.putIfAbsent(mapping.getObfuscatedName(), mapping);
+                }
+            }
+
+            for (final MethodMapping mapping : parentEntry.getMethodMappings()) {
+                if (parent.canInherit(info, mapping.getSignature()) && entry.getOwnMethod(mapping.getSignature()) == null) {
+                    entry.inheritedMethods.putIfAbsent(mapping.getSignature(), mapping);
+                }
+
+                // Check if there are any methods here that override the return type of a parent
+                // method.
+                final Set<MethodSignature> overrides = nameToMethods.get(mapping.getObfuscatedName());
+                if (overrides == null) continue;
+
+                final MethodDescriptor mappingDescriptor = mapping.getSignature().getDescriptor();
+                for (final MethodSignature methodSignature : overrides) {
+                    final MethodDescriptor methodDescriptor = methodSignature.getDescriptor();
+
+                    // The method MUST have the same parameters
+                    if (!Objects.equals(methodDescriptor.getParamTypes(), mappingDescriptor.getParamTypes())) continue;
+
+                    if (mappingDescriptor.getReturnType().isAssignableFrom(methodDescriptor.getReturnType(), this.inheritanceProvider) &&
+                            entry.getOwnMethod(methodSignature) == null) {
+                        entry.inheritedMethods.putIfAbsent(methodSignature, mapping);
+                    }
+                }
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * The completed members of a single class.
+     */
+    private static final class Entry {
+
+        private final ClassMapping<?, ?> klass;
+        private final Map<FieldSignature, FieldMapping> inheritedFields;
+        private final Map<String, FieldMapping> inheritedFieldsByName;
+        private final Map<MethodSignature, MethodMapping> inheritedMethods;
+
+        Entry(final ClassMapping<?, ?> klass,
+                final Map<FieldSignature, FieldMapping> inheritedFields,
+                final Map<String, FieldMapping> inheritedFieldsByName,
+                final Map<MethodSignature, MethodMapping> inheritedMethods) {
+            this.klass = klass;
+            this.inheritedFields = inheritedFields;
+            this.inheritedFieldsByName = inheritedFieldsByName;
+            this.inheritedMethods = inheritedMethods;
+        }
+
+        FieldMapping findField(final FieldSignature signature) {
+            // Look up the signature as-is, but attempt falling back to a signature without type
+            if (!signature.getType().isPresent()) {
+                final FieldMapping mapping = this.klass == null ? null : this.klass.getFieldMapping(signature.getName()).orElse(null);
+                return mapping != null ? mapping : this.inheritedFieldsByName.get(signature.getName());
+            }
+
+            FieldMapping mapping = this.getOwnField(signature);
+            if (mapping == null) mapping = this.inheritedFields.get(signature);
+            if (mapping != null) return mapping;
+
+            final FieldSignature untyped = new FieldSignature(signature.getName());
+            mapping = this.getOwnField(untyped);
+            return mapping != null ? mapping : this.inheritedFields.get(untyped);
+        }
+
+        private FieldMapping getOwnField(final FieldSignature signature) {
+            return this.klass == null ? null : this.klass.getFieldMapping(signature).orElse(null);
+        }
+
+        MethodMapping findMethod(final MethodSignature signature) {
+            final MethodMapping mapping = this.getOwnMethod(signature);
+            return mapping != null ? mapping : this.inheritedMethods.get(signature);
+        }
+
+        MethodMapping getOwnMethod(final MethodSignature signature) {
+            return this.klass == null ? null : this.klass.getMethodMapping(signature).orElse(null);
+        }
+
+        Collection<FieldMapping> getFieldMappings() {
+            if (this.klass == null) return this.inheritedFields.values();
+            if (this.inheritedFields.isEmpty()) return this.klass.getFieldMappings();
+
+            final List<FieldMapping> fields = new ArrayList<>(this.klass.getFieldMappings());
+            fields.addAll(this.inheritedFields.values());
+            return fields;
+        }
+
+        Collection<MethodMapping> getMethodMappings() {
+            if (this.klass == null) return this.inheritedMethods.values();
+            if (this.inheritedMethods.isEmpty()) return this.klass.getMethodMappings();
+
+            final List<MethodMapping> methods = new ArrayList<>(this.klass.getMethodMappings());
+            methods.addAll(this.inheritedMethods.values());
+            return methods;
+        }
+
+    }
+
+}
@@ -0,0 +1,256 @@
+/*
+ * This file is part of Lorenz, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamierocks.uk/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cadixdev.lorenz;
+
+import org.cadixdev.bombe.type.signature.FieldSignature;
+import org.cadixdev.bombe.type.signature.MethodSignature;
+import org.cadixdev.lorenz.model.ClassMapping;
+import org.cadixdev.lorenz.model.FieldMapping;
+import org.cadixdev.lorenz.model.MemberMapping;
+import org.cadixdev.lorenz.model.MethodMapping;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * An index of the mappings within a {@link MappingSet}, by their
+ * de-obfuscated names - allowing for a mapping to be found from its
+ * de-obfuscated name, without reversing the mapping set.
+ * <p>
+ * Every name holds the mappings that have been given it, so that two
+ * mappings sharing a name (one of which has since been renamed, or
+ * removed) don't hide one another. Entries are validated when they are
+ * looked up, so an entry left behind by a mapping that has since been
+ * renamed (or removed) is never returned - and is dropped then, or as
+ * the name is next given out.
+ * <p>
+ * Members are keyed by their owning class, and their de-obfuscated name
+ * alone - as the de-obfuscated descriptor of a method changes whenever a
+ * class it references is renamed, it is only compared on lookup. As such
+ * renaming a class need only re-index that class, and its inner classes.
+ *
+ * @author Jamie Mansfield
+ * @since 0.6.0
+ */
+final class DeobfuscatedNameIndex {
+
+    private final MappingSet mappings;
+    // The mappings given each name - replaced, never modified, so they can be read without locking
+    private final Map<String, Object[]> classes = new ConcurrentHashMap<>();
+    private final Map<MemberKey, Object[]> members = new ConcurrentHashMap<>();
+    private volatile boolean populated;
+
+    DeobfuscatedNameIndex(final MappingSet mappings) {
+        this.mappings = mappings;
+    }
+
+    /**
+     * Adds all of the given classes, and their members, to the index - which
+     * may already have been given some of them.
+     */
+    void populate(final Collection<ClassMapping<?, ?>> allClasses) {
+        for (final ClassMapping<?, ?> klass : allClasses) {
+            this.addClass(klass);
+            for (final FieldMapping field : klass.getFieldMappings()) {
+                this.addMember(field);
+            }
+            for (final MethodMapping method : klass.getMethodMappings()) {
+                this.addMember(method);
+            }
+        }
+        this.populated = true;
+    }
+
+    boolean isPopulated() {
+        return this.populated;
+    }
+
+    void addClass(final ClassMapping<?, ?> mapping) {
+        final String name = mapping.getFullDeobfuscatedName();
+        add(this.classes, name, mapping, klass -> this.isStale(name, (ClassMapping<?, ?>) klass));
+    }
+
+    void removeClass(final ClassMapping<?, ?> mapping) {
+        remove(this.classes, mapping.getFullDeobfuscatedName(), klass -> klass == mapping);
+
+        // The class's members can no longer be found through it
+        for (final FieldMapping field : mapping.getFieldMappings()) {
+            final MemberKey key = MemberKey.of(field);
+            if (key != null) remove(this.members, key, member -> member == field);
+        }
+        for (final MethodMapping method : mapping.getMethodMappings()) {
+            final MemberKey key = MemberKey.of(method);
+            if (key != null) remove(this.members, key, member -> member == method);
+        }
+    }
+
+    void renameClass(final ClassMapping<?, ?> mapping) {
+        // The full names of inner classes are derived from their parent's
+        this.addClass(mapping);
+        mapping.getInnerClassMappings().forEach(this::renameClass);
+    }
+
+    void addMember(final MemberMapping<?, ?> mapping) {
+        final MemberKey key = MemberKey.of(mapping);
+        if (key != null) add(this.members, key, mapping, member -> !key.equals(MemberKey.of((MemberMapping<?, ?>) member)));
+    }
+
+    Optional<? extends ClassMapping<?, ?>> getClass(final String deobfuscatedName) {
+        final Object[] candidates = this.classes.get(deobfuscatedName);
+        if (candidates == null) return Optional.empty();
+
+        for (final Object candidate : candidates) {
+            final ClassMapping<?, ?> mapping = (ClassMapping<?, ?>) candidate;
+            if (!this.isStale(deobfuscatedName, mapping)) return Optional.of(mapping);
+        }
+
+        // Every candidate is stale
+        remove(this.classes, deobfuscatedName, klass -> this.isStale(deobfuscatedName, (ClassMapping<?, ?>) klass));
+        return Optional.empty();
+    }
+
+    Optional<FieldMapping> getField(final ClassMapping<?, ?> owner, final FieldSignature signature) {
+        final Object[] candidates = this.members.get(new MemberKey(owner, signature.getName()));
+        if (candidates == null) return Optional.empty();
+
+        for (final Object member : candidates) {
+            if (!(member instanceof FieldMapping)) continue;
+
+            // Verify the entry isn't stale, and that the types agree - should both be known
+            final FieldMapping mapping = (FieldMapping) member;
+            final FieldSignature actual = mapping.getDeobfuscatedSignature();
+            if (!signature.getName().equals(actual.getName()) ||
+                    owner.getFieldMapping(mapping.getSignature()).orElse(null) != mapping) {
+                continue;
+            }
+            if (signature.getType().isPresent() && actual.getType().isPresent() && !signature.equals(actual)) {
+                continue;
+            }
+            return Optional.of(mapping);
+        }
+        return Optional.empty();
+    }
+
+    Optional<MethodMapping> getMethod(final ClassMapping<?, ?> owner, final MethodSignature signature) {
+        final Object[] candidates = this.members.get(new MemberKey(owner, signature.getName()));
+        if (candidates == null) return Optional.empty();
+
+        for (final Object member : candidates) {
+            if (!(member instanceof MethodMapping)) continue;
+
+            // Verify the entry isn't stale, and that the descriptors agree
+            final MethodMapping mapping = (MethodMapping) member;
+            if (signature.equals(mapping.getDeobfuscatedSignature()) &&
+                    owner.getMethodMapping(mapping.getSignature()).orElse(null) == mapping) {
+                return Optional.of(mapping);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private boolean isStale(final String deobfuscatedName, final ClassMapping<?, ?> mapping) {
+        return !deobfuscatedName.equals(mapping.getFullDeobfuscatedName()) ||
+                this.mappings.getClassMapping(mapping.getFullObfuscatedName()).orElse(null) != mapping;
+    }
+
+    /**
+     * Adds the given value to those of the given key, dropping any stale
+     * values at the same time.
+     */
+    private static <K> void add(final Map<K, Object[]> map, final K key, final Object value, final Predicate<Object> stale) {
+        map.compute(key, (k, values) -> {
+            if (values == null) return new Object[]{ value };
+
+            int size = 0;
+            final Object[] updated = new Object[values.length + 1];
+            for (final Object existing : values) {
+                if (existing == value) return values;
+                if (!stale.test(existing)) updated[size++] = existing;
+            }
+            updated[size++] = value;
+            return Arrays.copyOf(updated, size);
+        });
+    }
+
+    /**
+     * Removes the values, of the given key, that match the given predicate.
+     */
+    private static <K> void remove(final Map<K, Object[]> map, final K key, final Predicate<Object> filter) {
+        map.computeIfPresent(key, (k, values) -> {
+            int size = 0;
+            final Object[] updated = new Object[values.length];
+            for (final Object existing : values) {
+                if (!filter.test(existing)) updated[size++] = existing;
+            }
+            return size == 0 ? null : size == values.length ? values : Arrays.copyOf(updated, size);
+        });
+    }
+
+    /**
+     * The key of a member within the index, being its owning class (by
+     * identity) and its de-obfuscated name.
+     */
+    private static final class MemberKey {
+
+        static MemberKey of(final MemberMapping<?, ?> mapping) {
+            if (mapping instanceof FieldMapping) {
+                return new MemberKey(((FieldMapping) mapping).getParent(), mapping.getDeobfuscatedName());
+            }
+            if (mapping instanceof MethodMapping) {
+                return new MemberKey(((MethodMapping) mapping).getParent(), mapping.getDeobfuscatedName());
+            }
+            return null;
+        }
+
+        private final ClassMapping<?, ?> owner;
+        private final String name;
+
+        MemberKey(final ClassMapping<?, ?> owner, final String name) {
+            this.owner = owner;
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof MemberKey)) return false;
+            final MemberKey that = (MemberKey) obj;
+            return this.owner == that.owner && Objects.equals(this.name, that.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(this.owner) + Objects.hashCode(this.name);
+        }
+
+    }
+
+}
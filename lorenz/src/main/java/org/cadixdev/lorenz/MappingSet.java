@@ -25,27 +25,51 @@
 
 package org.cadixdev.lorenz;
 
+import org.cadixdev.bombe.analysis.InheritanceProvider;
 import org.cadixdev.bombe.type.ArrayType;
 import org.cadixdev.bombe.type.FieldType;
 import org.cadixdev.bombe.type.MethodDescriptor;
 import org.cadixdev.bombe.type.ObjectType;
 import org.cadixdev.bombe.type.Type;
+import org.cadixdev.bombe.type.signature.FieldSignature;
+import org.cadixdev.bombe.type.signature.MethodSignature;
 import org.cadixdev.lorenz.impl.MappingSetModelFactoryImpl;
+import org.cadixdev.lorenz.impl.UnsynchronizedMappingSetModelFactory;
+import org.cadixdev.lorenz.impl.model.FrozenMappingSet;
+import org.cadixdev.lorenz.impl.model.ReversedMappingSet;
+import org.cadixdev.lorenz.io.MappingVisitor;
 import org.cadixdev.lorenz.merge.MappingSetMerger;
 import org.cadixdev.lorenz.model.ClassMapping;
+import org.cadixdev.lorenz.model.FieldMapping;
 import org.cadixdev.lorenz.model.InnerClassMapping;
+import org.cadixdev.lorenz.model.MemberMapping;
+import org.cadixdev.lorenz.model.MethodMapping;
+import org.cadixdev.lorenz.model.MethodParameterMapping;
 import org.cadixdev.lorenz.model.TopLevelClassMapping;
 import org.cadixdev.lorenz.model.jar.CompositeFieldTypeProvider;
 import org.cadixdev.lorenz.model.jar.FieldTypeProvider;
-import org.cadixdev.lorenz.util.BinaryTool;
+import org.cadixdev.lorenz.util.BoundedCache;
+import org.cadixdev.lorenz.util.InternPool;
 import org.cadixdev.lorenz.util.Reversible;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
@@ -57,6 +81,15 @@ import java.util.stream.Collectors;
  */
 public class MappingSet implements Reversible<MappingSet, MappingSet>, Iterable<TopLevelClassMapping> {
 
+    /**
+     * The default maximum number of types, and of method descriptors, that
+     * a mapping set will cache the de-obfuscated form of.
+     *
+     * @see #setDeobfuscationCacheSize(int)
+     * @since 0.6.0
+     */
+    public static final int DEFAULT_DEOBFUSCATION_CACHE_SIZE = 4096;
+
     /**
      * Creates a mapping set, using the default Lorenz model implementation.
      *
@@ -84,7 +117,13 @@ public class MappingSet implements Reversible<MappingSet, MappingSet>, Iterable<
 
     private final MappingSetModelFactory modelFactory;
     private final Map<String, TopLevelClassMapping> topLevelClasses = new ConcurrentHashMap<>();
+    private final Map<String, ClassMapping<?, ?>> classIndex = new ConcurrentHashMap<>();
     private final CompositeFieldTypeProvider fieldTypeProvider = new CompositeFieldTypeProvider();
+    private volatile BoundedCache<FieldType, Deobfuscated<FieldType>> fieldTypeCache;
+    private volatile BoundedCache<MethodDescriptor, Deobfuscated<MethodDescriptor>> descriptorCache;
+    private final AtomicLong deobfuscationGeneration = new AtomicLong();
+    private volatile DeobfuscatedNameIndex deobfuscatedNameIndex;
+    private volatile InternPool internPool = InternPool.NONE;
 
     /**
      * Creates a mapping set using the default {@link MappingSetModelFactory}.
@@ -100,6 +139,7 @@ public class MappingSet implements Reversible<MappingSet, MappingSet>, Iterable<
      */
     public MappingSet(final MappingSetModelFactory modelFactory) {
         this.modelFactory = modelFactory;
+        this.setDeobfuscationCacheSize(DEFAULT_DEOBFUSCATION_CACHE_SIZE);
     }
 
     /**
@@ -112,6 +152,37 @@ public class MappingSet implements Reversible<MappingSet, MappingSet>, Iterable<
         return this.modelFactory;
     }
 
+    /**
+     * Gets the pool that names and signatures are interned into, as
+     * mappings are created within the set.
+     *
+     * @return The intern pool
+     * @see #setInternPool(InternPool)
+     * @since 0.6.0
+     */
+    public InternPool getInternPool() {
+        return this.internPool;
+    }
+
+    /**
+     * Sets the pool that names and signatures are interned into, as
+     * mappings are created within the set - by default,
+     * {@link InternPool#NONE nothing is interned}.
+     * <p>
+     * Sharing one pool between many mapping sets allows them to share
+     * their equal names, types and signatures. Mappings that already exist
+     * within the set are not interned, so the pool should be set before
+     * the set is populated.
+     *
+     * @param internPool The intern pool
+     * @return {@code this}, for chaining
+     * @since 0.6.0
+     */
+    public MappingSet setInternPool(final InternPool internPool) {
+        this.internPool = Objects.requireNonNull(internPool, "The intern pool cannot be null!");
+        return this;
+    }
+
     /**
      * Gets an immutable collection of all of the top-level class
      * mappings of the mapping set.
@@ -131,9 +202,11 @@ public class MappingSet implements Reversible<MappingSet, MappingSet>, Iterable<
      * @return The top-level class mapping, to allow for chaining
      */
     public TopLevelClassMapping createTopLevelClassMapping(final String obfuscatedName, final String deobfuscatedName) {
-        return this.topLevelClasses.compute(obfuscatedName.replace('.', '/'), (name, existingMapping) -> {
+        return this.topLevelClasses.compute(this.internPool.intern(obfuscatedName.replace('.', '/')), (name, existingMapping) -> {
             if (existingMapping != null) return existingMapping.setDeobfuscatedName(deobfuscatedName);
-            return this.getModelFactory().createTopLevelClassMapping(this, name, deobfuscatedName);
+            final TopLevelClassMapping mapping = this.getModelFactory().createTopLevelClassMapping(this, name, deobfuscatedName);
+            this.registerClassMapping(mapping);
+            return mapping;
         });
     }
 
@@ -156,8 +229,16 @@ public class MappingSet implements Reversible<MappingSet, MappingSet>, Iterable<
      * @return The top-level class mapping
      */
     public TopLevelClassMapping getOrCreateTopLevelClassMapping(final String obfuscatedName) {
-        return this.getTopLevelClassMapping(obfuscatedName)
-                .orElseGet(() -> this.createTopLevelClassMapping(obfuscatedName, obfuscatedName));
+        final TopLevelClassMapping existingMapping = this.topLevelClasses.get(obfuscatedName.replace('.', '/'));
+        if (existingMapping != null) return existingMapping;
+
+        // The mapping is created atomically, so a mapping created concurrently
+        // - and perhaps named - is never renamed
+        return this.topLevelClasses.computeIfAbsent(this.internPool.intern(obfuscatedName.replace('.', '/')), name -> {
+            final TopLevelClassMapping mapping = this.getModelFactory().createTopLevelClassMapping(this, name, name);
+            this.registerClassMapping(mapping);
+            return mapping;
+        });
     }
 
     /**
@@ -181,6 +262,11 @@ public class MappingSet implements Reversible<MappingSet, MappingSet>, Iterable<
      * @return The class mapping, wrapped in an {@link Optional}
      */
     public Optional<? extends ClassMapping<?, ?>> getClassMapping(final String obfuscatedName) {
+        final ClassMapping<?, ?> mapping = this.classIndex.get(obfuscatedName.replace('.', '/'));
+        if (mapping != null) return Optional.of(mapping);
+
+        // Class mappings of other models may not register themselves with
+        // the index, so fall back to walking the inner class hierarchy
         final int lastIndex = obfuscatedName.lastIndexOf('$');
         if (lastIndex == -1) return this.getTopLevelClassMapping(obfuscatedName);
 
@@ -212,8 +298,193 @@ public class MappingSet implements Reversible<MappingSet, MappingSet>, Iterable<
         if (mapping instanceof InnerClassMapping) {
             ((InnerClassMapping) mapping).getParent().removeInnerClassMapping(mapping);
         } else {
-            this.topLevelClasses.values().remove(mapping);
+            if (this.topLevelClasses.values().remove(mapping)) {
+                this.unregisterClassMapping(mapping);
+            }
+        }
+    }
+
+    /**
+     * Adds the given class mapping to the index of class mappings by their
+     * full obfuscated name, which backs {@link #getClassMapping(String)}.
+     * <p>
+     * This is intended for use by model implementations, which should
+     * call it whenever they add a new inner class mapping to a class.
+     *
+     * @param mapping The class mapping
+     * @since 0.6.0
+     */
+    public void registerClassMapping(final ClassMapping<?, ?> mapping) {
+        this.classIndex.put(mapping.getFullObfuscatedName(), mapping);
+        this.invalidateDeobfuscationCache();
+
+        final DeobfuscatedNameIndex index = this.deobfuscatedNameIndex;
+        if (index != null) {
+            index.addClass(mapping);
+        }
+    }
+
+    /**
+     * Removes the given class mapping, and all of its inner class mappings,
+     * from the index of class mappings by their full obfuscated name.
+     * <p>
+     * This is intended for use by model implementations, which should
+     * call it whenever they remove an inner class mapping from a class.
+     *
+     * @param mapping The class mapping
+     * @since 0.6.0
+     */
+    public void unregisterClassMapping(final ClassMapping<?, ?> mapping) {
+        this.classIndex.remove(mapping.getFullObfuscatedName());
+        mapping.getInnerClassMappings().forEach(this::unregisterClassMapping);
+        this.invalidateDeobfuscationCache();
+
+        final DeobfuscatedNameIndex index = this.deobfuscatedNameIndex;
+        if (index != null) {
+            index.removeClass(mapping);
+        }
+    }
+
+    /**
+     * Updates the indices of the mapping set, following a change to the
+     * de-obfuscated name of the given class mapping.
+     * <p>
+     * This is intended for use by model implementations, which should
+     * call it whenever the de-obfuscated name of a class mapping changes.
+     *
+     * @param mapping The class mapping
+     * @since 0.6.0
+     */
+    public void reindexClassMapping(final ClassMapping<?, ?> mapping) {
+        this.invalidateDeobfuscationCache();
+
+        final DeobfuscatedNameIndex index = this.deobfuscatedNameIndex;
+        if (index != null) {
+            index.renameClass(mapping);
+        }
+    }
+
+    /**
+     * Adds the given field, or method, mapping to the index of members by
+     * their de-obfuscated signatures, which backs
+     * {@link #getFieldMappingByDeobfuscatedSignature(String, FieldSignature)} and
+     * {@link #getMethodMappingByDeobfuscatedSignature(String, MethodSignature)}.
+     * <p>
+     * This is intended for use by model implementations, which should
+     * call it whenever they create a member mapping, or change the
+     * de-obfuscated name of one.
+     *
+     * @param mapping The member mapping
+     * @since 0.6.0
+     */
+    public void registerMemberMapping(final MemberMapping<?, ?> mapping) {
+        final DeobfuscatedNameIndex index = this.deobfuscatedNameIndex;
+        if (index != null) index.addMember(mapping);
+    }
+
+    private DeobfuscatedNameIndex getDeobfuscatedNameIndex() {
+        DeobfuscatedNameIndex index = this.deobfuscatedNameIndex;
+        if (index == null || !index.isPopulated()) {
+            synchronized (this.classIndex) {
+                if ((index = this.deobfuscatedNameIndex) == null) {
+                    // Mappings are registered without locking, so the index is
+                    // published before it is populated - any registered while
+                    // it is populated then update it themselves, rather than
+                    // possibly being missed
+                    this.deobfuscatedNameIndex = index = new DeobfuscatedNameIndex(this);
+                    index.populate(this.classIndex.values());
+                }
+            }
         }
+        return index;
+    }
+
+    /**
+     * Gets the class mapping with the given fully-qualified de-obfuscated
+     * name, should it exist.
+     * <p>
+     * The index backing this lookup is built on first use, and from then on
+     * maintained as mappings are created, removed and renamed - so there is
+     * no need to {@link #reverse() reverse} the mapping set.
+     *
+     * @param deobfuscatedName The de-obfuscated name of the class
+     * @return The class mapping, wrapped in an {@link Optional}
+     * @since 0.6.0
+     */
+    public Optional<? extends ClassMapping<?, ?>> getClassMappingByDeobfuscatedName(final String deobfuscatedName) {
+        return this.getDeobfuscatedNameIndex().getClass(deobfuscatedName.replace('.', '/'));
+    }
+
+    /**
+     * Gets the field mapping with the given de-obfuscated signature, within
+     * the class of the given de-obfuscated name, should it exist.
+     * <p>
+     * Should either the given signature, or the mapping, not have a type -
+     * the field is matched by its name alone.
+     *
+     * @param owner The de-obfuscated name of the class
+     * @param signature The de-obfuscated signature of the field
+     * @return The field mapping, wrapped in an {@link Optional}
+     * @see #getClassMappingByDeobfuscatedName(String)
+     * @since 0.6.0
+     */
+    public Optional<FieldMapping> getFieldMappingByDeobfuscatedSignature(final String owner, final FieldSignature signature) {
+        final DeobfuscatedNameIndex index = this.getDeobfuscatedNameIndex();
+        return index.getClass(owner.replace('.', '/'))
+                .flatMap(klass -> index.getField(klass, signature));
+    }
+
+    /**
+     * Gets the method mapping with the given de-obfuscated signature, within
+     * the class of the given de-obfuscated name, should it exist.
+     *
+     * @param owner The de-obfuscated name of the class
+     * @param signature The de-obfuscated signature of the method
+     * @return The method mapping, wrapped in an {@link Optional}
+     * @see #getClassMappingByDeobfuscatedName(String)
+     * @since 0.6.0
+     */
+    public Optional<MethodMapping> getMethodMappingByDeobfuscatedSignature(final String owner, final MethodSignature signature) {
+        final DeobfuscatedNameIndex index = this.getDeobfuscatedNameIndex();
+        return index.getClass(owner.replace('.', '/'))
+                .flatMap(klass -> index.getMethod(klass, signature));
+    }
+
+    /**
+     * Sets the maximum number of types, and of method descriptors, whose
+     * de-obfuscated form will be cached by {@link #deobfuscate(FieldType)}
+     * and {@link #deobfuscate(MethodDescriptor)} - a size of {@code 0}
+     * disabling the cache entirely.
+     * <p>
+     * The cache is discarded whenever a class mapping is added, removed,
+     * or renamed.
+     *
+     * @param size The maximum size of the cache
+     * @return {@code this}, for chaining
+     * @see #DEFAULT_DEOBFUSCATION_CACHE_SIZE
+     * @since 0.6.0
+     */
+    public MappingSet setDeobfuscationCacheSize(final int size) {
+        if (size < 0) throw new IllegalArgumentException("The size of the de-obfuscation cache cannot be negative!");
+        this.fieldTypeCache = size == 0 ? null : new BoundedCache<>(size);
+        this.descriptorCache = size == 0 ? null : new BoundedCache<>(size);
+        return this;
+    }
+
+    /**
+     * Discards all of the cached de-obfuscated types and method descriptors.
+     * <p>
+     * This is done automatically as class mappings are registered,
+     * unregistered and {@link #reindexClassMapping(ClassMapping) reindexed}.
+     *
+     * @since 0.6.0
+     */
+    public void invalidateDeobfuscationCache() {
+        // Cached results are stamped with the generation they were computed
+        // in, so moving to a new generation discards them without allocating -
+        // and a de-obfuscation racing with the invalidation can't repopulate
+        // the caches with a stale result
+        this.deobfuscationGeneration.incrementAndGet();
     }
 
     /**
@@ -230,8 +501,11 @@ public class MappingSet implements Reversible<MappingSet, MappingSet>, Iterable<
      * @return The class mapping, wrapped in an {@link Optional}
      */
     public Optional<? extends ClassMapping<?, ?>> computeClassMapping(final String obfuscatedName) {
+        final ClassMapping<?, ?> mapping = this.classIndex.get(obfuscatedName.replace('.', '/'));
+        if (mapping != null) return Optional.of(mapping);
+
         final int lastIndex = obfuscatedName.lastIndexOf('$');
-        if (lastIndex == -1) return this.getTopLevelClassMapping(obfuscatedName);
+        if (lastIndex == -1) return Optional.empty();
 
         // Split the obfuscated name, to fetch the parent class name, and inner class name
         final String parentClassName = obfuscatedName.substring(0, lastIndex);
@@ -251,6 +525,9 @@ public class MappingSet implements Reversible<MappingSet, MappingSet>, Iterable<
      * @return The class mapping
      */
     public ClassMapping<?, ?> getOrCreateClassMapping(final String obfuscatedName) {
+        final ClassMapping<?, ?> mapping = this.classIndex.get(obfuscatedName.replace('.', '/'));
+        if (mapping != null) return mapping;
+
         final int lastIndex = obfuscatedName.lastIndexOf('$');
         if (lastIndex == -1) return this.getOrCreateTopLevelClassMapping(obfuscatedName);
 
@@ -265,6 +542,139 @@ public class MappingSet implements Reversible<MappingSet, MappingSet>, Iterable<
         return parentClass.getOrCreateInnerClassMapping(innerClassName);
     }
 
+    /**
+     * Completes the class mappings of the given classes, and of all of their
+     * parents, ahead of time - so remapping with the set afterwards need only
+     * look mappings up.
+     * <p>
+     * The inheritance graph of the classes is resolved once, and the classes
+     * then completed on the given executor in topological order - each class
+     * once all of its parents have been completed, with classes that don't
+     * depend on one another completed in parallel. As with
+     * {@link ClassMapping#complete(InheritanceProvider)}, a class mapping is
+     * created for every class that is completed. Classes unknown to the
+     * inheritance provider, or that form part of a cycle, are not completed.
+     * <p>
+     * Mapping sets using the {@link UnsynchronizedMappingSetModelFactory
+     * unsynchronized model} aren't safe for concurrent modification, so are
+     * instead completed on the calling thread, in the same order - ignoring
+     * the given executor.
+     * <p>
+     * This method blocks until all of the classes have been completed.
+     *
+     * @param provider The inheritance provider
+     * @param classes The names of the classes to complete
+     * @param executor The executor to complete classes on
+     * @throws CompletionException Should completing any class fail
+     * @since 0.6.0
+     */
+    public void completeAll(final InheritanceProvider provider, final Collection<String> classes, final Executor executor) {
+        // Resolve the inheritance graph, from the given classes up
+        final Map<String, InheritanceProvider.ClassInfo> infos = new HashMap<>();
+        final Map<String, List<String>> parentsOf = new HashMap<>();
+        final Map<String, List<String>> children = new HashMap<>();
+        final Map<String, Integer> pendingParents = new HashMap<>();
+        final Set<String> visited = new HashSet<>();
+        final Deque<String> queue = new ArrayDeque<>();
+        for (final String klass : classes) {
+            queue.add(klass.replace('.', '/'));
+        }
+        while (!queue.isEmpty()) {
+            final String name = queue.poll();
+            if (!visited.add(name)) continue;
+
+            final InheritanceProvider.ClassInfo info = provider.provide(name).orElse(null);
+            if (info == null) continue;
+            infos.put(name, info);
+
+            final List<String> parents = new ArrayList<>(info.getInterfaces().size() + 1);
+            if (info.getSuperName() != null && !info.getSuperName().isEmpty()) parents.add(info.getSuperName());
+            parents.addAll(info.getInterfaces());
+            for (final String parent : parents) {
+                children.computeIfAbsent(parent, key -> new ArrayList<>()).add(name);
+                queue.add(parent);
+            }
+            parentsOf.put(name, parents);
+            pendingParents.put(name, parents.size());
+        }
+
+        // Parents unknown to the inheritance provider are never completed,
+        // so their children needn't wait for them
+        for (final String name : visited) {
+            if (infos.containsKey(name)) continue;
+            for (final String child : children.getOrDefault(name, Collections.emptyList())) {
+                pendingParents.merge(child, -1, Integer::sum);
+            }
+        }
+
+        // Order the classes topologically, parents before children
+        final List<String> order = new ArrayList<>(infos.size());
+        for (final Map.Entry<String, Integer> entry : pendingParents.entrySet()) {
+            if (entry.getValue() == 0) order.add(entry.getKey());
+        }
+        for (int i = 0; i < order.size(); i++) {
+            for (final String child : children.getOrDefault(order.get(i), Collections.emptyList())) {
+                if (pendingParents.merge(child, -1, Integer::sum) == 0) order.add(child);
+            }
+        }
+
+        // The unsynchronized model mustn't be modified by more than one thread
+        if (this.getModelFactory() instanceof UnsynchronizedMappingSetModelFactory) {
+            try {
+                for (final String name : order) {
+                    this.getOrCreateClassMapping(name).complete(provider, infos.get(name));
+                }
+            }
+            catch (final RuntimeException ex) {
+                throw new CompletionException(ex);
+            }
+            return;
+        }
+
+        // Complete each class once all of its parents have been completed
+        final Map<String, CompletableFuture<Void>> completions = new HashMap<>(order.size() * 2);
+        for (final String name : order) {
+            final InheritanceProvider.ClassInfo info = infos.get(name);
+            final Runnable task = () -> this.getOrCreateClassMapping(name).complete(provider, info);
+
+            final List<CompletableFuture<Void>> parents = new ArrayList<>();
+            for (final String parent : parentsOf.get(name)) {
+                final CompletableFuture<Void> completion = completions.get(parent);
+                if (completion != null) parents.add(completion);
+            }
+            completions.put(name, parents.isEmpty() ?
+                    CompletableFuture.runAsync(task, executor) :
+                    CompletableFuture.allOf(parents.toArray(new CompletableFuture[0])).thenRunAsync(task, executor));
+        }
+        CompletableFuture.allOf(completions.values().toArray(new CompletableFuture[0])).join();
+    }
+
+    /**
+     * Resolves the types of all of the field mappings within the set that
+     * don't have one, using the set's {@link FieldTypeProvider}, upgrading
+     * them to typed signatures - so {@link FieldMapping#getType()} needn't
+     * consult the provider for them again.
+     * <p>
+     * The fields are resolved class by class, with classes resolved in
+     * parallel on the given executor. Fields whose types aren't provided are
+     * left as they are.
+     * <p>
+     * This method blocks until all of the classes have been resolved.
+     *
+     * @param executor The executor to resolve classes on
+     * @throws CompletionException Should resolving any class fail
+     * @see ClassMapping#resolveFieldTypes()
+     * @since 0.6.0
+     */
+    public void resolveFieldTypes(final Executor executor) {
+        final List<CompletableFuture<Void>> resolutions = new ArrayList<>();
+        for (final ClassMapping<?, ?> klass : this.classIndex.values()) {
+            if (klass.getFieldMappings().isEmpty()) continue;
+            resolutions.add(CompletableFuture.runAsync(klass::resolveFieldTypes, executor));
+        }
+        CompletableFuture.allOf(resolutions.toArray(new CompletableFuture[0])).join();
+    }
+
     /**
      * Gets the field type provider in use for this set of mappings.
      *
@@ -323,6 +733,19 @@ public class MappingSet implements Reversible<MappingSet, MappingSet>, Iterable<
      * @since 0.5.0
      */
     public FieldType deobfuscate(final FieldType type) {
+        // Primitive types are never mapped, so aren't worth caching
+        if (!(type instanceof ArrayType) && !(type instanceof ObjectType)) return type;
+
+        final BoundedCache<FieldType, Deobfuscated<FieldType>> cache = this.fieldTypeCache;
+        if (cache == null) return this.computeDeobfuscated(type);
+
+        final long generation = this.deobfuscationGeneration.get();
+        final Deobfuscated<FieldType> cached = cache.get(type);
+        if (cached != null && cached.generation == generation) return cached.value;
+        return cache.put(type, new Deobfuscated<>(generation, this.computeDeobfuscated(type))).value;
+    }
+
+    private FieldType computeDeobfuscated(final FieldType type) {
         if (type instanceof ArrayType) {
             final ArrayType arr = (ArrayType) type;
             final FieldType component = this.deobfuscate(arr.getComponent());
@@ -332,27 +755,24 @@ public class MappingSet implements Reversible<MappingSet, MappingSet>, Iterable<
         }
         else if (type instanceof ObjectType) {
             final ObjectType obj = (ObjectType) type;
+            final String name = obj.getClassName();
 
-            final String[] name = BinaryTool.from(obj.getClassName());
-
-            ClassMapping<?, ?> currentClass = this.getClassMapping(name[0]).orElse(null);
-            if (currentClass == null) {
-                return type;
+            final ClassMapping<?, ?> mapping = this.getClassMapping(name).orElse(null);
+            if (mapping != null) {
+                return new ObjectType(mapping.getFullDeobfuscatedName());
             }
 
-            for (int i = 1; i < name.length; i++) {
-                final ClassMapping<?, ?> thisClass = currentClass.getInnerClassMapping(name[i]).orElse(null);
-                if (thisClass == null) {
-                    final String[] result = new String[name.length - i + 1];
-                    result[0] = currentClass.getFullDeobfuscatedName();
-                    System.arraycopy(name, i, result, 1, name.length - i);
-
-                    return new ObjectType(BinaryTool.to(result));
+            // Find the innermost mapped class, as un-mapped inner classes
+            // still inherit the de-obfuscated name of their parents
+            int lastIndex = name.length();
+            while ((lastIndex = name.lastIndexOf('$', lastIndex - 1)) != -1) {
+                final ClassMapping<?, ?> parent = this.getClassMapping(name.substring(0, lastIndex)).orElse(null);
+                if (parent != null) {
+                    return new ObjectType(parent.getFullDeobfuscatedName() + name.substring(lastIndex));
                 }
-                currentClass = thisClass;
             }
 
-            return new ObjectType(currentClass.getFullDeobfuscatedName());
+            return type;
         }
         return type;
     }
@@ -365,6 +785,16 @@ public class MappingSet implements Reversible<MappingSet, MappingSet>, Iterable<
      * @since 0.5.0
      */
     public MethodDescriptor deobfuscate(final MethodDescriptor descriptor) {
+        final BoundedCache<MethodDescriptor, Deobfuscated<MethodDescriptor>> cache = this.descriptorCache;
+        if (cache == null) return this.computeDeobfuscated(descriptor);
+
+        final long generation = this.deobfuscationGeneration.get();
+        final Deobfuscated<MethodDescriptor> cached = cache.get(descriptor);
+        if (cached != null && cached.generation == generation) return cached.value;
+        return cache.put(descriptor, new Deobfuscated<>(generation, this.computeDeobfuscated(descriptor))).value;
+    }
+
+    private MethodDescriptor computeDeobfuscated(final MethodDescriptor descriptor) {
         return new MethodDescriptor(
                 descriptor.getParamTypes().stream()
                         .map(this::deobfuscate)
@@ -373,6 +803,66 @@ public class MappingSet implements Reversible<MappingSet, MappingSet>, Iterable<
         );
     }
 
+    /**
+     * Gets the obfuscated type of the provided de-obfuscated type, the
+     * inverse of {@link #deobfuscate(FieldType)} - using the index of
+     * {@link #getClassMappingByDeobfuscatedName(String) de-obfuscated names},
+     * rather than {@link #reverse() reversing} the mapping set.
+     *
+     * @param type The de-obfuscated type
+     * @return The obfuscated type
+     * @since 0.6.0
+     */
+    public FieldType obfuscate(final FieldType type) {
+        if (type instanceof ArrayType) {
+            final ArrayType arr = (ArrayType) type;
+            final FieldType component = this.obfuscate(arr.getComponent());
+            return component == arr.getComponent() ?
+                    arr :
+                    new ArrayType(arr.getDimCount(), component);
+        }
+        else if (type instanceof ObjectType) {
+            final DeobfuscatedNameIndex index = this.getDeobfuscatedNameIndex();
+            final String name = ((ObjectType) type).getClassName();
+
+            final ClassMapping<?, ?> mapping = index.getClass(name).orElse(null);
+            if (mapping != null) {
+                return new ObjectType(mapping.getFullObfuscatedName());
+            }
+
+            // Find the innermost mapped class, as un-mapped inner classes
+            // still inherit the obfuscated name of their parents
+            int lastIndex = name.length();
+            while ((lastIndex = name.lastIndexOf('$', lastIndex - 1)) != -1) {
+                final ClassMapping<?, ?> parent = index.getClass(name.substring(0, lastIndex)).orElse(null);
+                if (parent != null) {
+                    return new ObjectType(parent.getFullObfuscatedName() + name.substring(lastIndex));
+                }
+            }
+        }
+        return type;
+    }
+
+    /**
+     * Gets the obfuscated method descriptor of the provided de-obfuscated
+     * method descriptor, the inverse of {@link #deobfuscate(MethodDescriptor)}.
+     *
+     * @param descriptor The de-obfuscated method descriptor
+     * @return The obfuscated method descriptor
+     * @see #obfuscate(FieldType)
+     * @since 0.6.0
+     */
+    public MethodDescriptor obfuscate(final MethodDescriptor descriptor) {
+        final List<FieldType> params = new ArrayList<>(descriptor.getParamTypes().size());
+        for (final FieldType param : descriptor.getParamTypes()) {
+            params.add(this.obfuscate(param));
+        }
+        final Type returnType = descriptor.getReturnType() instanceof FieldType ?
+                this.obfuscate((FieldType) descriptor.getReturnType()) :
+                descriptor.getReturnType();
+        return new MethodDescriptor(params, returnType);
+    }
+
     /**
      * Produces a new mapping set that is a reverse copy of the original.
      *
@@ -389,6 +879,22 @@ public class MappingSet implements Reversible<MappingSet, MappingSet>, Iterable<
         return parent;
     }
 
+    /**
+     * Produces a reversed view of the mapping set, which reverses classes
+     * from the original set only as they are looked up - rather than
+     * reversing the whole set up-front, as {@link #reverse()} does.
+     * <p>
+     * This is best suited to cases where only a handful of reversed lookups
+     * are needed. Once reversed, a class is independent of the original set.
+     *
+     * @return The reversed view
+     * @see ReversedMappingSet
+     * @since 0.6.0
+     */
+    public MappingSet reversedView() {
+        return new ReversedMappingSet(this);
+    }
+
     /**
      * Produces a new mapping set, that is a merged copy with the provided
      * mappings.
@@ -426,13 +932,108 @@ public class MappingSet implements Reversible<MappingSet, MappingSet>, Iterable<
         return mappings;
     }
 
+    /**
+     * Produces an immutable, compact snapshot of the mapping set, intended
+     * for sets that are loaded once and then only read from - for example
+     * by a remapper.
+     * <p>
+     * The snapshot implements the same model interfaces, but any attempt
+     * to modify it will throw an {@link UnsupportedOperationException}.
+     * Class mappings are snapshotted as-is, so should inheritance be
+     * required they must be {@link ClassMapping#complete(org.cadixdev.bombe.analysis.InheritanceProvider) completed}
+     * prior to freezing. A mutable set can be recovered using {@link #copy()}.
+     *
+     * @return The frozen set
+     * @see FrozenMappingSet
+     * @since 0.6.0
+     */
+    public MappingSet freeze() {
+        return new FrozenMappingSet(this);
+    }
+
+    /**
+     * Emits the mappings of the set to the given visitor, ending with
+     * {@link MappingVisitor#visitEnd()}.
+     * <p>
+     * Each class is visited before its members, and its members before its
+     * inner classes. Members that a class has inherited, through
+     * {@link ClassMapping#complete(InheritanceProvider) completion}, are
+     * not visited.
+     *
+     * @param visitor The visitor
+     * @since 0.6.0
+     */
+    public void accept(final MappingVisitor visitor) {
+        for (final TopLevelClassMapping klass : this.getTopLevelClassMappings()) {
+            accept(klass, visitor);
+        }
+        visitor.visitEnd();
+    }
+
+    private static void accept(final ClassMapping<?, ?> klass, final MappingVisitor visitor) {
+        final String owner = klass.getFullObfuscatedName();
+        visitor.visitClass(owner, klass.hasDeobfuscatedName() ? klass.getFullDeobfuscatedName() : null);
+
+        for (final FieldMapping field : klass.getFieldMappings()) {
+            if (field.getParent() != klass || isTypedCopy(klass, field)) continue;
+
+            visitor.visitField(owner, field.getObfuscatedName(),
+                    field.getSignature().getType().map(Object::toString).orElse(null),
+                    field.hasDeobfuscatedName() ? field.getDeobfuscatedName() : null);
+        }
+
+        for (final MethodMapping method : klass.getMethodMappings()) {
+            if (method.getParent() != klass) continue;
+
+            final String descriptor = method.getObfuscatedDescriptor();
+            visitor.visitMethod(owner, method.getObfuscatedName(), descriptor,
+                    method.hasDeobfuscatedName() ? method.getDeobfuscatedName() : null);
+            for (final MethodParameterMapping parameter : method.getParameterMappings()) {
+                visitor.visitParameter(owner, method.getObfuscatedName(), descriptor,
+                        parameter.getIndex(), parameter.getDeobfuscatedName());
+            }
+        }
+
+        for (final InnerClassMapping innerClass : klass.getInnerClassMappings()) {
+            accept(innerClass, visitor);
+        }
+    }
+
+    /**
+     * Checks whether the given field mapping is a typed copy of an
+     * un-typed mapping, as created by {@link ClassMapping#computeFieldMapping(FieldSignature)}.
+     */
+    private static boolean isTypedCopy(final ClassMapping<?, ?> klass, final FieldMapping field) {
+        if (!field.getSignature().getType().isPresent()) return false;
+        return klass.getFieldMapping(new FieldSignature(field.getObfuscatedName()))
+                .filter(untyped -> untyped != field)
+                .filter(untyped -> Objects.equals(untyped.getDeobfuscatedName(), field.getDeobfuscatedName()))
+                .isPresent();
+    }
+
     @Override
     public Iterator<TopLevelClassMapping> iterator() {
         return this.topLevelClasses.values().iterator();
     }
 
     protected MappingSet createMappingSet() {
-        return new MappingSet(this.modelFactory);
+        return new MappingSet(this.modelFactory).setInternPool(this.internPool);
+    }
+
+    /**
+     * A de-obfuscated type, or method descriptor, as cached - along with
+     * the generation of the mapping set it was computed in.
+     */
+    private static final class Deobfuscated<T> {
+
+        private final long generation;
+        private final T value;
+
+        Deobfuscated(final long generation, final T value) {
+            this.generation = generation;
+            this.value = value;
+        }
+
     }
 
 }
@@ -28,44 +28,87 @@ package org.cadixdev.lorenz.asm;
 import org.cadixdev.bombe.provider.ClassProvider;
 import org.cadixdev.lorenz.model.FieldMapping;
 import org.cadixdev.lorenz.model.jar.FieldTypeProvider;
+import org.cadixdev.lorenz.util.BoundedCache;
 import org.cadixdev.bombe.type.FieldType;
-import org.objectweb.asm.tree.ClassNode;
-import org.objectweb.asm.tree.FieldNode;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.Opcodes;
 
-import java.util.Objects;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 /**
  * An implementation of {@link FieldTypeProvider} backed by a
  * {@link ClassProvider}.
+ * <p>
+ * The field types of each class are indexed, by field name, the first
+ * time a field of the class is looked up - reading only the header of the
+ * class - and the indexes of recently used classes are cached.
  *
  * @author Jamie Mansfield
  * @since 0.4.0
  */
 public class AsmFieldTypeProvider implements FieldTypeProvider {
 
+    /**
+     * The default maximum number of classes, whose field types will
+     * be cached by the provider.
+     *
+     * @since 0.6.0
+     */
+    public static final int DEFAULT_CACHE_SIZE = 1024;
+
+    private static final int PARSING_OPTIONS = ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES;
+
     private final ClassProvider classProvider;
+    private final BoundedCache<String, Map<String, FieldType>> fieldTypes;
 
     public AsmFieldTypeProvider(final ClassProvider classProvider) {
+        this(classProvider, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Creates a field type provider, that will cache the field types
+     * of at most the given number of classes.
+     *
+     * @param classProvider The class provider
+     * @param cacheSize The maximum number of classes to cache
+     * @since 0.6.0
+     */
+    public AsmFieldTypeProvider(final ClassProvider classProvider, final int cacheSize) {
         this.classProvider = classProvider;
+        this.fieldTypes = new BoundedCache<>(cacheSize);
     }
 
     @Override
     public Optional<FieldType> provide(final FieldMapping mapping) {
         final String owner = mapping.getParent().getFullObfuscatedName();
 
-        final ClassNode node = this.classProvider.getAsNode(owner);
-        if (node == null) return Optional.empty();
-
-        final Optional<FieldNode> fieldNode = node.fields.stream()
-                .filter(field -> Objects.equals(field.name, mapping.getObfuscatedName()))
-                .findAny();
-        if (fieldNode.isPresent()) {
-            final FieldType type = FieldType.of(fieldNode.get().desc);
-            return Optional.of(type);
+        Map<String, FieldType> fieldTypes = this.fieldTypes.get(owner);
+        if (fieldTypes == null) {
+            fieldTypes = this.fieldTypes.put(owner, this.readFieldTypes(owner));
         }
+        return Optional.ofNullable(fieldTypes.get(mapping.getObfuscatedName()));
+    }
+
+    private Map<String, FieldType> readFieldTypes(final String owner) {
+        final byte[] klass = this.classProvider.get(owner);
+        if (klass == null) return Collections.emptyMap();
 
-        return Optional.empty();
+        final Map<String, FieldType> fieldTypes = new HashMap<>();
+        new ClassReader(klass).accept(new ClassVisitor(Opcodes.ASM7) {
+            @Override
+            public FieldVisitor visitField(final int access, final String name, final String descriptor,
+                    final String signature, final Object value) {
+                // Should a class have multiple fields of the same name, the first is used
+                fieldTypes.computeIfAbsent(name, key -> FieldType.of(descriptor));
+                return null;
+            }
+        }, PARSING_OPTIONS);
+        return fieldTypes;
     }
 
 }
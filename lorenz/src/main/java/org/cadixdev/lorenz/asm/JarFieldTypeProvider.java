@@ -0,0 +1,246 @@
+/*
+ * This file is part of Lorenz, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamierocks.uk/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cadixdev.lorenz.asm;
+
+import org.cadixdev.bombe.type.FieldType;
+import org.cadixdev.lorenz.model.FieldMapping;
+import org.cadixdev.lorenz.model.jar.FieldTypeProvider;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.Opcodes;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * An implementation of {@link FieldTypeProvider} backed by a jar.
+ * <p>
+ * The jar is memory-mapped and indexed once, when the provider is created:
+ * each of its classes is read - without building a tree, and skipping the
+ * code of its methods - into a table of the types of its fields, by name.
+ * Looking up the type of a field is then just a pair of hash probes.
+ * <p>
+ * Jars with data prepended to them, such as a launcher script, are
+ * supported - their offsets being resolved as {@link java.util.zip.ZipFile}
+ * does. Zip64 jars are not.
+ * <p>
+ * Note: The jar is no longer used once indexed, though the memory mapping
+ * of it is only released once it has been garbage collected - on some
+ * platforms, notably Windows, the jar can't be modified or deleted until
+ * then.
+ *
+ * @author Jamie Mansfield
+ * @since 0.6.0
+ */
+public class JarFieldTypeProvider implements FieldTypeProvider {
+
+    private static final int PARSING_OPTIONS = ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES;
+
+    private static final int LOCAL_HEADER = 0x04034b50;
+    private static final int CENTRAL_HEADER = 0x02014b50;
+    private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+    private static final int STORED = 0;
+    private static final int DEFLATED = 8;
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+    // Classes larger than this can't be read into an array
+    private static final long MAX_CLASS_SIZE = Integer.MAX_VALUE - 8;
+
+    private final Map<String, Map<String, FieldType>> fieldTypes = new HashMap<>();
+
+    /**
+     * Creates a field type provider, indexing the classes of the given jar.
+     *
+     * @param jar The path of the jar
+     * @throws IOException Should the jar not be readable, or not be a
+     *                     jar that can be indexed
+     */
+    public JarFieldTypeProvider(final Path jar) throws IOException {
+        final MappedByteBuffer buffer;
+        try (final FileChannel channel = FileChannel.open(jar, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) throw new IOException("The jar is too large to be indexed!");
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        this.index(buffer);
+    }
+
+    @Override
+    public Optional<FieldType> provide(final FieldMapping mapping) {
+        final Map<String, FieldType> fieldTypes = this.fieldTypes.get(mapping.getParent().getFullObfuscatedName());
+        return fieldTypes == null ? Optional.empty() : Optional.ofNullable(fieldTypes.get(mapping.getObfuscatedName()));
+    }
+
+    /**
+     * Gets the number of classes, that have been indexed.
+     *
+     * @return The number of classes
+     */
+    public int getClassCount() {
+        return this.fieldTypes.size();
+    }
+
+    private void index(final MappedByteBuffer buffer) throws IOException {
+        // Locate the central directory, from the end of the jar
+        int end = -1;
+        final int limit = Math.max(0, buffer.limit() - END_OF_CENTRAL_DIRECTORY_SIZE - 0xFFFF);
+        for (int i = buffer.limit() - END_OF_CENTRAL_DIRECTORY_SIZE; i >= limit; i--) {
+            if (buffer.getInt(i) == END_OF_CENTRAL_DIRECTORY) {
+                end = i;
+                break;
+            }
+        }
+        if (end < 0) throw new IOException("The jar has no central directory!");
+        final int entries = Short.toUnsignedInt(buffer.getShort(end + 10));
+        final long directorySize = Integer.toUnsignedLong(buffer.getInt(end + 12));
+        final long directory = Integer.toUnsignedLong(buffer.getInt(end + 16));
+        if (entries == 0xFFFF || directorySize == ZIP64_MAGIC || directory == ZIP64_MAGIC) {
+            throw new IOException("Zip64 jars are not supported!");
+        }
+
+        // The offsets within the jar are relative to the start of the zip,
+        // which needn't be the start of the file - should something have
+        // been prepended to it
+        final long base = end - directorySize - directory;
+        if (base < 0) throw new IOException("The jar's central directory is malformed!");
+
+        // Descriptors are shared between the fields that have them
+        final Map<String, FieldType> types = new HashMap<>();
+        final Inflater inflater = new Inflater(true);
+        byte[] input = new byte[8192];
+        byte[] klass = new byte[8192];
+        try {
+            int offset = (int) (base + directory);
+            for (int i = 0; i < entries; i++) {
+                if (buffer.getInt(offset) != CENTRAL_HEADER) throw new IOException("The jar's central directory is malformed!");
+                final int method = Short.toUnsignedInt(buffer.getShort(offset + 10));
+                final long compressedSize = Integer.toUnsignedLong(buffer.getInt(offset + 20));
+                final long size = Integer.toUnsignedLong(buffer.getInt(offset + 24));
+                final int nameLength = Short.toUnsignedInt(buffer.getShort(offset + 28));
+                final int extraLength = Short.toUnsignedInt(buffer.getShort(offset + 30));
+                final int commentLength = Short.toUnsignedInt(buffer.getShort(offset + 32));
+                final long localHeaderOffset = Integer.toUnsignedLong(buffer.getInt(offset + 42));
+                final String name = readName(buffer, offset + 46, nameLength);
+                offset += 46 + nameLength + extraLength + commentLength;
+
+                if (!name.endsWith(".class") || name.startsWith("META-INF/")) continue;
+                if (compressedSize == ZIP64_MAGIC || size == ZIP64_MAGIC || localHeaderOffset == ZIP64_MAGIC) {
+                    throw new IOException("The jar's entry '" + name + "' uses Zip64, which is not supported!");
+                }
+                // The entry, and its data, must lie within the jar - which is
+                // no larger than an int can address
+                if (base + localHeaderOffset + 30 + compressedSize > buffer.limit() || size > MAX_CLASS_SIZE) {
+                    throw new IOException("The jar's entry '" + name + "' is malformed!");
+                }
+                final int localHeader = (int) (base + localHeaderOffset);
+                if (buffer.getInt(localHeader) != LOCAL_HEADER) throw new IOException("The jar's entry '" + name + "' is malformed!");
+                final int data = localHeader + 30 +
+                        Short.toUnsignedInt(buffer.getShort(localHeader + 26)) +
+                        Short.toUnsignedInt(buffer.getShort(localHeader + 28));
+
+                if (klass.length < size) klass = new byte[(int) size];
+                if (method == STORED) {
+                    if (data + size > buffer.limit()) throw new IOException("The jar's entry '" + name + "' is truncated!");
+                    readBytes(buffer, data, klass, (int) size);
+                }
+                else if (method == DEFLATED) {
+                    if (data + compressedSize > buffer.limit()) throw new IOException("The jar's entry '" + name + "' is truncated!");
+                    if (input.length < compressedSize) input = new byte[(int) compressedSize];
+                    readBytes(buffer, data, input, (int) compressedSize);
+                    inflater.reset();
+                    inflater.setInput(input, 0, (int) compressedSize);
+                    try {
+                        int read = 0;
+                        while (read < size && !inflater.finished()) {
+                            final int inflated = inflater.inflate(klass, read, (int) size - read);
+                            if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+                            read += inflated;
+                        }
+                        if (read != size) throw new IOException("The jar's entry '" + name + "' is truncated!");
+                    }
+                    catch (final DataFormatException ex) {
+                        throw new IOException("The jar's entry '" + name + "' is malformed!", ex);
+                    }
+                }
+                else {
+                    throw new IOException("The jar's entry '" + name + "' uses an unsupported compression method!");
+                }
+
+                this.indexClass(new ClassReader(klass, 0, (int) size), types);
+            }
+        }
+        finally {
+            inflater.end();
+        }
+    }
+
+    private void indexClass(final ClassReader reader, final Map<String, FieldType> types) {
+        reader.accept(new ClassVisitor(Opcodes.ASM7) {
+            private Map<String, FieldType> fieldTypes = Collections.emptyMap();
+
+            @Override
+            public void visit(final int version, final int access, final String name, final String signature,
+                    final String superName, final String[] interfaces) {
+                this.fieldTypes = new HashMap<>();
+                JarFieldTypeProvider.this.fieldTypes.put(name, this.fieldTypes);
+            }
+
+            @Override
+            public FieldVisitor visitField(final int access, final String name, final String descriptor,
+                    final String signature, final Object value) {
+                // Should a class have multiple fields of the same name, the first is used
+                this.fieldTypes.computeIfAbsent(name, key -> types.computeIfAbsent(descriptor, FieldType::of));
+                return null;
+            }
+        }, PARSING_OPTIONS);
+    }
+
+    private static String readName(final MappedByteBuffer buffer, final int offset, final int length) {
+        final byte[] name = new byte[length];
+        readBytes(buffer, offset, name, length);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    private static void readBytes(final MappedByteBuffer buffer, final int offset, final byte[] bytes, final int length) {
+        final ByteBuffer view = buffer.duplicate();
+        view.position(offset);
+        view.get(bytes, 0, length);
+    }
+
+}
@@ -0,0 +1,278 @@
+/*
+ * This file is part of Lorenz, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamierocks.uk/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cadixdev.lorenz.asm;
+
+import org.cadixdev.lorenz.impl.UnsynchronizedMappingSetModelFactory;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.commons.ClassRemapper;
+import org.objectweb.asm.commons.Remapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Enumeration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Remaps an entire jar, using a {@link Remapper} - typically a
+ * {@link LorenzRemapper}.
+ * <p>
+ * Classes are remapped in parallel, on a dedicated fork-join pool, and
+ * written to the output jar in the same order as their entries in the input
+ * jar - so the output is deterministic, regardless of the
+ * {@link #setParallelism(int) parallelism}. All other entries are copied
+ * as-is, with stored (uncompressed) entries remaining stored.
+ * <p>
+ * As the remapper is shared between threads, it must be safe for concurrent
+ * use. A {@link LorenzRemapper} created with a
+ * {@link org.cadixdev.lorenz.CompletionTable completion table} is, and
+ * leaves its mapping set unchanged. One created without, over a mapping set
+ * using the {@link UnsynchronizedMappingSetModelFactory unsynchronized model},
+ * modifies a mapping set that isn't safe for concurrent use - so such jars
+ * are remapped on a single thread.
+ *
+ * @author Jamie Mansfield
+ * @since 0.6.0
+ */
+public class JarRemapper {
+
+    private static final String CLASS_EXTENSION = ".class";
+
+    private final Remapper remapper;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Creates a jar remapper, using the given remapper.
+     *
+     * @param remapper The remapper
+     */
+    public JarRemapper(final Remapper remapper) {
+        this.remapper = remapper;
+    }
+
+    /**
+     * Gets the remapper, used to remap classes.
+     *
+     * @return The remapper
+     */
+    public Remapper getRemapper() {
+        return this.remapper;
+    }
+
+    /**
+     * Gets the number of threads, that will remap classes.
+     *
+     * @return The parallelism
+     */
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
+    /**
+     * Sets the number of threads, that will remap classes - by default,
+     * the number of available processors.
+     *
+     * @param parallelism The parallelism
+     * @return {@code this}, for chaining
+     * @throws IllegalArgumentException If the parallelism isn't positive
+     */
+    public JarRemapper setParallelism(final int parallelism) {
+        if (parallelism <= 0) throw new IllegalArgumentException("The parallelism must be positive!");
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Remaps the given input jar, writing the result to the given
+     * output jar.
+     *
+     * @param input The path to the input jar
+     * @param output The path to the output jar
+     * @throws IOException Should an I/O issue occur
+     */
+    public void remap(final Path input, final Path output) throws IOException {
+        try (final ZipFile zip = new ZipFile(input.toFile());
+             final OutputStream out = Files.newOutputStream(output)) {
+            this.remap(zip, out);
+        }
+    }
+
+    /**
+     * Remaps the given input jar, writing the result to the given
+     * output stream - which is not closed.
+     *
+     * @param input The input jar
+     * @param output The output stream
+     * @throws IOException Should an I/O issue occur
+     */
+    public void remap(final ZipFile input, final OutputStream output) throws IOException {
+        final int parallelism = this.getEffectiveParallelism();
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            final ZipOutputStream zip = new ZipOutputStream(output);
+
+            // Only a bounded number of classes are remapped ahead of the
+            // writer, so the whole jar is never held in memory
+            final int window = parallelism * 4;
+            final Deque<CompletableFuture<RemappedEntry>> pending = new ArrayDeque<>(window);
+
+            final Enumeration<? extends ZipEntry> entries = input.entries();
+            while (entries.hasMoreElements()) {
+                final ZipEntry entry = entries.nextElement();
+
+                if (!entry.isDirectory() && entry.getName().endsWith(CLASS_EXTENSION)) {
+                    pending.add(CompletableFuture.supplyAsync(() -> this.remapClass(input, entry), pool));
+                }
+                else {
+                    pending.add(CompletableFuture.completedFuture(new RemappedEntry(entry, null, null)));
+                }
+
+                while (pending.size() >= window) {
+                    write(input, zip, await(pending.poll()));
+                }
+            }
+            while (!pending.isEmpty()) {
+                write(input, zip, await(pending.poll()));
+            }
+
+            zip.finish();
+        }
+        finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private int getEffectiveParallelism() {
+        // A remapper completing an unsynchronized model modifies it as it
+        // remaps, so mustn't be used by more than one thread
+        if (this.remapper instanceof LorenzRemapper) {
+            final LorenzRemapper lorenz = (LorenzRemapper) this.remapper;
+            if (!lorenz.getCompletionTable().isPresent() &&
+                    lorenz.getMappings().getModelFactory() instanceof UnsynchronizedMappingSetModelFactory) {
+                return 1;
+            }
+        }
+        return this.parallelism;
+    }
+
+    private RemappedEntry remapClass(final ZipFile input, final ZipEntry entry) {
+        try (final InputStream in = input.getInputStream(entry)) {
+            final ClassReader reader = new ClassReader(in);
+            final ClassWriter writer = new ClassWriter(0);
+            reader.accept(new ClassRemapper(writer, this.remapper), 0);
+
+            // Keep any prefix of the entry name, for example that of a
+            // multi-release jar
+            final String className = reader.getClassName();
+            final String name = entry.getName();
+            final String prefix = name.endsWith(className + CLASS_EXTENSION) ?
+                    name.substring(0, name.length() - className.length() - CLASS_EXTENSION.length()) :
+                    "";
+            return new RemappedEntry(entry, prefix + this.remapper.map(className) + CLASS_EXTENSION, writer.toByteArray());
+        }
+        catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static RemappedEntry await(final CompletableFuture<RemappedEntry> future) throws IOException {
+        try {
+            return future.get();
+        }
+        catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted whilst remapping jar!", ex);
+        }
+        catch (final ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof UncheckedIOException) throw ((UncheckedIOException) cause).getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IOException(cause);
+        }
+    }
+
+    private static void write(final ZipFile input, final ZipOutputStream zip, final RemappedEntry remapped) throws IOException {
+        final ZipEntry original = remapped.original;
+
+        if (remapped.bytes != null) {
+            final ZipEntry entry = new ZipEntry(remapped.name);
+            entry.setTime(original.getTime());
+            zip.putNextEntry(entry);
+            zip.write(remapped.bytes);
+            zip.closeEntry();
+            return;
+        }
+
+        // Stored entries are copied as stored, as their size and CRC
+        // are already known - avoiding compressing them
+        final ZipEntry entry = new ZipEntry(original.getName());
+        entry.setTime(original.getTime());
+        if (original.getMethod() == ZipEntry.STORED) {
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(original.getSize());
+            entry.setCompressedSize(original.getSize());
+            entry.setCrc(original.getCrc());
+        }
+        zip.putNextEntry(entry);
+        if (!original.isDirectory()) {
+            try (final InputStream in = input.getInputStream(original)) {
+                final byte[] buffer = new byte[8192];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    zip.write(buffer, 0, read);
+                }
+            }
+        }
+        zip.closeEntry();
+    }
+
+    private static final class RemappedEntry {
+
+        private final ZipEntry original;
+        private final String name;
+        private final byte[] bytes;
+
+        RemappedEntry(final ZipEntry original, final String name, final byte[] bytes) {
+            this.original = original;
+            this.name = name;
+            this.bytes = bytes;
+        }
+
+    }
+
+}
@@ -25,47 +25,214 @@
 
 package org.cadixdev.lorenz.asm;
 
+import org.cadixdev.lorenz.CompletionTable;
 import org.cadixdev.lorenz.MappingSet;
 import org.cadixdev.lorenz.model.ClassMapping;
 import org.cadixdev.lorenz.model.Mapping;
+import org.cadixdev.lorenz.util.BoundedCache;
 import org.cadixdev.bombe.analysis.InheritanceProvider;
 import org.cadixdev.bombe.type.signature.FieldSignature;
 import org.cadixdev.bombe.type.signature.MethodSignature;
 import org.objectweb.asm.commons.Remapper;
 
+import java.util.Optional;
+
 /**
  * A simple implementation of {@link Remapper} to remap based
  * on a {@link MappingSet}.
  *
- * <p>Note: The implementation modifies the given {@link MappingSet}
- * on demand to complete the mappings with missing mappings inherited
- * from parent classes.</p>
+ * <p>Note: Unless created with a {@link CompletionTable}, the
+ * implementation modifies the given {@link MappingSet} on demand to
+ * complete the mappings with missing mappings inherited from parent
+ * classes. Remappers created with a completion table instead keep the
+ * inherited mappings within it, leaving the mapping set unchanged.</p>
+ *
+ * <p>Class names are remapped without modifying the {@link MappingSet},
+ * and cached - so the mapping set should not be changed while the remapper
+ * is in use, without {@link #clearCaches() clearing} its caches.</p>
  *
  * @author Jamie Mansfield
  * @since 0.4.0
  */
 public class LorenzRemapper extends Remapper {
 
+    /**
+     * The default maximum number of class names, that will be cached
+     * by a remapper.
+     *
+     * @since 0.6.0
+     */
+    public static final int DEFAULT_CACHE_SIZE = 65536;
+
     private final MappingSet mappings;
     private final InheritanceProvider inheritanceProvider;
+    private final CompletionTable completionTable;
+    private final BoundedCache<String, String> classNames;
+    private final BoundedCache<String, Optional<String>> innerClassNames;
 
     public LorenzRemapper(final MappingSet mappings, final InheritanceProvider inheritanceProvider) {
+        this(mappings, inheritanceProvider, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Creates a remapper, that will cache at most the given number of
+     * class names.
+     *
+     * @param mappings The mappings to remap with
+     * @param inheritanceProvider The inheritance provider, for completing mappings
+     * @param cacheSize The maximum size of the class name caches
+     * @since 0.6.0
+     */
+    public LorenzRemapper(final MappingSet mappings, final InheritanceProvider inheritanceProvider, final int cacheSize) {
+        this(mappings, inheritanceProvider, null, cacheSize);
+    }
+
+    /**
+     * Creates a remapper, that completes mappings using the given
+     * completion table - leaving its mapping set unchanged.
+     *
+     * @param completionTable The completion table
+     * @since 0.6.0
+     */
+    public LorenzRemapper(final CompletionTable completionTable) {
+        this(completionTable, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Creates a remapper, that completes mappings using the given
+     * completion table - leaving its mapping set unchanged - and will
+     * cache at most the given number of class names.
+     *
+     * @param completionTable The completion table
+     * @param cacheSize The maximum size of the class name caches
+     * @since 0.6.0
+     */
+    public LorenzRemapper(final CompletionTable completionTable, final int cacheSize) {
+        this(completionTable.getMappings(), completionTable.getInheritanceProvider(), completionTable, cacheSize);
+    }
+
+    private LorenzRemapper(final MappingSet mappings, final InheritanceProvider inheritanceProvider,
+            final CompletionTable completionTable, final int cacheSize) {
         this.mappings = mappings;
         this.inheritanceProvider = inheritanceProvider;
+        this.completionTable = completionTable;
+        this.classNames = new BoundedCache<>(cacheSize);
+        this.innerClassNames = new BoundedCache<>(cacheSize);
     }
 
     @Override
     public String map(final String typeName) {
-        return this.mappings.computeClassMapping(typeName)
-                .map(Mapping::getFullDeobfuscatedName)
-                .orElse(typeName);
+        final String cached = this.classNames.get(typeName);
+        if (cached != null) return cached;
+        return this.classNames.put(typeName, this.computeClassName(typeName));
+    }
+
+    /**
+     * Gets the de-obfuscated name of the given class, in the same manner
+     * as {@link MappingSet#computeClassMapping(String)} - but without adding
+     * a mapping for un-mapped inner classes of mapped classes.
+     */
+    private String computeClassName(final String typeName) {
+        final ClassMapping<?, ?> mapping = this.mappings.getClassMapping(typeName).orElse(null);
+        if (mapping != null) return mapping.getFullDeobfuscatedName();
+
+        // Find the innermost mapped class, as un-mapped inner classes
+        // still inherit the de-obfuscated name of their parents
+        final ClassMapping<?, ?> parent = this.getInnermostMappedParent(typeName);
+        return parent == null ?
+                typeName :
+                parent.getFullDeobfuscatedName() + typeName.substring(parent.getFullObfuscatedName().length());
     }
 
     @Override
     public String mapInnerClassName(final String name, final String ownerName, final String innerName) {
-        return this.mappings.computeClassMapping(name)
-                .map(Mapping::getDeobfuscatedName)
-                .orElse(innerName);
+        Optional<String> cached = this.innerClassNames.get(name);
+        if (cached == null) {
+            cached = this.innerClassNames.put(name, this.computeInnerClassName(name));
+        }
+        return cached.orElse(innerName);
+    }
+
+    /**
+     * Gets the de-obfuscated simple name of the given inner class, in the
+     * same manner as {@link MappingSet#computeClassMapping(String)} - should
+     * the class, or any class enclosing it, be mapped.
+     */
+    private Optional<String> computeInnerClassName(final String name) {
+        final ClassMapping<?, ?> mapping = this.mappings.getClassMapping(name).orElse(null);
+        if (mapping != null) return Optional.of(mapping.getDeobfuscatedName());
+
+        if (this.getInnermostMappedParent(name) == null) return Optional.empty();
+        return Optional.of(name.substring(name.lastIndexOf('$') + 1));
+    }
+
+    /**
+     * Gets the innermost mapped class enclosing the given class, walking up
+     * through all of its parents - as {@link MappingSet#deobfuscate(org.cadixdev.bombe.type.FieldType)}
+     * does.
+     */
+    private ClassMapping<?, ?> getInnermostMappedParent(final String name) {
+        int lastIndex = name.length();
+        while ((lastIndex = name.lastIndexOf('$', lastIndex - 1)) != -1) {
+            final ClassMapping<?, ?> parent = this.mappings.getClassMapping(name.substring(0, lastIndex)).orElse(null);
+            if (parent != null) return parent;
+        }
+        return null;
+    }
+
+    /**
+     * Discards the class names cached by the remapper, which is required
+     * should the mapping set have been changed since they were cached.
+     *
+     * @since 0.6.0
+     */
+    public void clearCaches() {
+        this.classNames.clear();
+        this.innerClassNames.clear();
+    }
+
+    /**
+     * Gets the number of calls to {@link #map(String)} that have been
+     * served from the cache.
+     *
+     * @return The number of cache hits
+     * @since 0.6.0
+     */
+    public long getClassNameCacheHits() {
+        return this.classNames.getHitCount();
+    }
+
+    /**
+     * Gets the number of calls to {@link #map(String)} that have not been
+     * served from the cache.
+     *
+     * @return The number of cache misses
+     * @since 0.6.0
+     */
+    public long getClassNameCacheMisses() {
+        return this.classNames.getMissCount();
+    }
+
+    /**
+     * Gets the number of calls to {@link #mapInnerClassName(String, String, String)}
+     * that have been served from the cache.
+     *
+     * @return The number of cache hits
+     * @since 0.6.0
+     */
+    public long getInnerClassNameCacheHits() {
+        return this.innerClassNames.getHitCount();
+    }
+
+    /**
+     * Gets the number of calls to {@link #mapInnerClassName(String, String, String)}
+     * that have not been served from the cache.
+     *
+     * @return The number of cache misses
+     * @since 0.6.0
+     */
+    public long getInnerClassNameCacheMisses() {
+        return this.innerClassNames.getMissCount();
     }
 
     private ClassMapping<?, ?> getCompletedClassMapping(final String owner) {
@@ -74,8 +241,35 @@ public class LorenzRemapper extends Remapper {
         return mapping;
     }
 
+    /**
+     * Gets the mappings, that the remapper remaps using.
+     *
+     * @return The mappings
+     * @since 0.6.0
+     */
+    public MappingSet getMappings() {
+        return this.mappings;
+    }
+
+    /**
+     * Gets the completion table, that the remapper completes mappings
+     * using - should it have been created with one.
+     *
+     * @return The completion table, wrapped in an {@link Optional}
+     * @since 0.6.0
+     */
+    public Optional<CompletionTable> getCompletionTable() {
+        return Optional.ofNullable(this.completionTable);
+    }
+
     @Override
     public String mapFieldName(final String owner, final String name, final String desc) {
+        if (this.completionTable != null) {
+            return this.completionTable.getFieldMapping(owner, FieldSignature.of(name, desc))
+                    .map(Mapping::getDeobfuscatedName)
+                    .orElse(name);
+        }
+
         return this.getCompletedClassMapping(owner)
                 .computeFieldMapping(FieldSignature.of(name, desc))
                 .map(Mapping::getDeobfuscatedName)
@@ -84,6 +278,12 @@ public class LorenzRemapper extends Remapper {
 
     @Override
     public String mapMethodName(final String owner, final String name, final String desc) {
+        if (this.completionTable != null) {
+            return this.completionTable.getMethodMapping(owner, MethodSignature.of(name, desc))
+                    .map(Mapping::getDeobfuscatedName)
+                    .orElse(name);
+        }
+
         return this.getCompletedClassMapping(owner)
                 .getMethodMapping(MethodSignature.of(name, desc))
                 .map(Mapping::getDeobfuscatedName)
@@ -0,0 +1,77 @@
+/*
+ * This file is part of Lorenz, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamierocks.uk/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cadixdev.lorenz.impl;
+
+import org.cadixdev.bombe.type.signature.MethodSignature;
+import org.cadixdev.lorenz.MappingSet;
+import org.cadixdev.lorenz.MappingSetModelFactory;
+import org.cadixdev.lorenz.impl.model.UnsynchronizedInnerClassMappingImpl;
+import org.cadixdev.lorenz.impl.model.UnsynchronizedMethodMappingImpl;
+import org.cadixdev.lorenz.impl.model.UnsynchronizedTopLevelClassMappingImpl;
+import org.cadixdev.lorenz.model.ClassMapping;
+import org.cadixdev.lorenz.model.InnerClassMapping;
+import org.cadixdev.lorenz.model.MethodMapping;
+import org.cadixdev.lorenz.model.TopLevelClassMapping;
+
+/**
+ * An implementation of {@link MappingSetModelFactory} whose models are
+ * not safe for concurrent modification - making them cheaper to populate.
+ * <p>
+ * This is well suited to mapping sets that are filled from a single
+ * thread, such as when reading a mappings file:
+ * <pre>{@code
+ * final MappingSet mappings = new MappingSet(UnsynchronizedMappingSetModelFactory.INSTANCE);
+ * try (final MappingsReader reader = MappingFormats.TSRG.createReader(path)) {
+ *     reader.read(mappings);
+ * }
+ * }</pre>
+ *
+ * @author Jamie Mansfield
+ * @since 0.6.0
+ */
+public class UnsynchronizedMappingSetModelFactory extends MappingSetModelFactoryImpl {
+
+    /**
+     * The global instance of the unsynchronized model factory.
+     */
+    public static final MappingSetModelFactory INSTANCE = new UnsynchronizedMappingSetModelFactory();
+
+    @Override
+    public TopLevelClassMapping createTopLevelClassMapping(final MappingSet parent, final String obfuscatedName, final String deobfuscatedName) {
+        return new UnsynchronizedTopLevelClassMappingImpl(parent, obfuscatedName, deobfuscatedName);
+    }
+
+    @Override
+    public InnerClassMapping createInnerClassMapping(final ClassMapping parent, final String obfuscatedName, final String deobfuscatedName) {
+        return new UnsynchronizedInnerClassMappingImpl(parent, obfuscatedName, deobfuscatedName);
+    }
+
+    @Override
+    public MethodMapping createMethodMapping(final ClassMapping parent, final MethodSignature signature, final String deobfuscatedName) {
+        return new UnsynchronizedMethodMappingImpl(parent, signature, deobfuscatedName);
+    }
+
+}
@@ -27,6 +27,7 @@ package org.cadixdev.lorenz.impl.model;
 
 import org.cadixdev.bombe.analysis.InheritanceProvider;
 import org.cadixdev.bombe.analysis.InheritanceType;
+import org.cadixdev.bombe.type.FieldType;
 import org.cadixdev.bombe.type.MethodDescriptor;
 import org.cadixdev.bombe.type.signature.FieldSignature;
 import org.cadixdev.bombe.type.signature.MethodSignature;
@@ -34,8 +35,11 @@ import org.cadixdev.lorenz.MappingSet;
 import org.cadixdev.lorenz.model.ClassMapping;
 import org.cadixdev.lorenz.model.FieldMapping;
 import org.cadixdev.lorenz.model.InnerClassMapping;
+import org.cadixdev.lorenz.model.Mapping;
+import org.cadixdev.lorenz.model.MemberMapping;
 import org.cadixdev.lorenz.model.MethodMapping;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -60,11 +64,16 @@ public abstract class AbstractClassMappingImpl<M extends ClassMapping<M, P>, P>
         extends AbstractMappingImpl<M, P>
         implements ClassMapping<M, P> {
 
-    private final Map<FieldSignature, FieldMapping> fields = new ConcurrentHashMap<>();
-    private final Map<String, FieldMapping> fieldsByName = new ConcurrentHashMap<>();
-    private final Map<MethodSignature, MethodMapping> methods = new ConcurrentHashMap<>();
-    private final Map<String, InnerClassMapping> innerClasses = new ConcurrentHashMap<>();
-    private boolean complete;
+    // The containers are only allocated once something is added to them, as most
+    // classes (such as those created through completion) never have any members
+    private volatile Map<FieldSignature, FieldMapping> fields;
+    private volatile Map<String, FieldMapping> fieldsByName;
+    private volatile Map<MethodSignature, MethodMapping> methods;
+    private volatile Map<String, InnerClassMapping> innerClasses;
+    private volatile boolean complete;
+    // Guards the lazy containers, and completion - being private, so no other
+    // code can hold it while completion waits for it
+    private final Object lock = new Object();
 
     /**
      * Creates a new class mapping, from the given parameters.
@@ -77,24 +86,89 @@ public abstract class AbstractClassMappingImpl<M extends ClassMapping<M, P>, P>
         super(mappings, obfuscatedName, deobfuscatedName);
     }
 
+    @Override
+    public M setDeobfuscatedName(final String deobfuscatedName) {
+        final M mapping = super.setDeobfuscatedName(deobfuscatedName);
+        // Any type referencing this class will now de-obfuscate differently
+        this.getMappings().reindexClassMapping(this);
+        return mapping;
+    }
+
+    /**
+     * Establishes whether the containers of this class mapping need to
+     * support concurrent modification, which is the case unless it was
+     * created by the {@link org.cadixdev.lorenz.impl.UnsynchronizedMappingSetModelFactory}.
+     *
+     * @return {@code true} if the containers must be thread-safe
+     */
+    boolean isConcurrent() {
+        return true;
+    }
+
+    private <K, V> Map<K, V> createContainer() {
+        return this.isConcurrent() ? new ConcurrentHashMap<>() : new HashMap<>();
+    }
+
+    private Map<FieldSignature, FieldMapping> fields() {
+        Map<FieldSignature, FieldMapping> fields = this.fields;
+        if (fields == null) {
+            synchronized (this.lock) {
+                if ((fields = this.fields) == null) {
+                    // fieldsByName is always written first, so is visible to anyone that can see fields
+                    this.fieldsByName = this.createContainer();
+                    this.fields = fields = this.createContainer();
+                }
+            }
+        }
+        return fields;
+    }
+
+    private Map<MethodSignature, MethodMapping> methods() {
+        Map<MethodSignature, MethodMapping> methods = this.methods;
+        if (methods == null) {
+            synchronized (this.lock) {
+                if ((methods = this.methods) == null) {
+                    this.methods = methods = this.createContainer();
+                }
+            }
+        }
+        return methods;
+    }
+
+    private Map<String, InnerClassMapping> innerClasses() {
+        Map<String, InnerClassMapping> innerClasses = this.innerClasses;
+        if (innerClasses == null) {
+            synchronized (this.lock) {
+                if ((innerClasses = this.innerClasses) == null) {
+                    this.innerClasses = innerClasses = this.createContainer();
+                }
+            }
+        }
+        return innerClasses;
+    }
+
     @Override
     public Collection<FieldMapping> getFieldMappings() {
-        return Collections.unmodifiableCollection(this.fields.values());
+        final Map<FieldSignature, FieldMapping> fields = this.fields;
+        return fields == null ? Collections.emptyList() : Collections.unmodifiableCollection(fields.values());
     }
 
     @Override
     public Map<String, FieldMapping> getFieldsByName() {
-        return Collections.unmodifiableMap(this.fieldsByName);
+        final Map<String, FieldMapping> fieldsByName = this.fieldsByName;
+        return fieldsByName == null ? Collections.emptyMap() : Collections.unmodifiableMap(fieldsByName);
     }
 
     @Override
     public Optional<FieldMapping> getFieldMapping(final FieldSignature signature) {
-        return Optional.ofNullable(this.fields.get(signature));
+        final Map<FieldSignature, FieldMapping> fields = this.fields;
+        return fields == null ? Optional.empty() : Optional.ofNullable(fields.get(signature));
     }
 
     @Override
     public Optional<FieldMapping> getFieldMapping(final String obfuscatedName) {
-        return Optional.ofNullable(this.fieldsByName.get(obfuscatedName));
+        final Map<String, FieldMapping> fieldsByName = this.fieldsByName;
+        return fieldsByName == null ? Optional.empty() : Optional.ofNullable(fieldsByName.get(obfuscatedName));
     }
 
     @Override
@@ -106,23 +180,81 @@ public abstract class AbstractClassMappingImpl<M extends ClassMapping<M, P>, P>
 
         // Otherwise, look up the signature as-is, but attempt falling back to a signature without type
         // Note: We cannot use fieldsByName here, because we'd eventually return FieldMappings with the wrong type
-        return Optional.ofNullable(this.fields.computeIfAbsent(signature, (sig) -> {
-            final FieldMapping mapping = this.fields.get(new FieldSignature(sig.getName()));
+        final Map<FieldSignature, FieldMapping> fields = this.fields;
+        if (fields == null) return Optional.empty();
+        final FieldMapping existingMapping = fields.get(signature);
+        if (existingMapping != null) return Optional.of(existingMapping);
+        return Optional.ofNullable(fields.computeIfAbsent(this.getMappings().getInternPool().intern(signature), (sig) -> {
+            final FieldMapping mapping = fields.get(new FieldSignature(sig.getName()));
             return mapping != null ?
                     this.getMappings().getModelFactory().createFieldMapping(mapping.getParent(), sig, mapping.getDeobfuscatedName()) : null;
         }));
     }
 
     @Override
-    public FieldMapping createFieldMapping(final FieldSignature signature, final String deobfuscatedName) {
-        return this.fields.compute(signature, (sig, existingMapping) -> {
+    public FieldMapping createFieldMapping(final FieldSignature fieldSignature, final String deobfuscatedName) {
+        final FieldSignature signature = this.getMappings().getInternPool().intern(fieldSignature);
+        if (!this.isConcurrent()) {
+            final FieldMapping existingMapping = this.fields().get(signature);
+            if (existingMapping != null) return existingMapping.setDeobfuscatedName(deobfuscatedName);
+            final FieldMapping mapping = this.getMappings().getModelFactory().createFieldMapping(this, signature, deobfuscatedName);
+            this.fields.put(signature, mapping);
+            this.fieldsByName.put(signature.getName(), mapping);
+            this.getMappings().registerMemberMapping(mapping);
+            return mapping;
+        }
+
+        return this.fields().compute(signature, (sig, existingMapping) -> {
             if (existingMapping != null) return existingMapping.setDeobfuscatedName(deobfuscatedName);
             final FieldMapping mapping = this.getMappings().getModelFactory().createFieldMapping(this, sig, deobfuscatedName);
             this.fieldsByName.put(sig.getName(), mapping);
+            this.getMappings().registerMemberMapping(mapping);
             return mapping;
         });
     }
 
+    /**
+     * Gets the underlying table of field mappings, which unlike
+     * {@link #getFieldMappings()} distinguishes the signatures that
+     * completion has associated with inherited mappings.
+     *
+     * @return The field mappings, by signature
+     */
+    Map<FieldSignature, FieldMapping> getFieldTable() {
+        final Map<FieldSignature, FieldMapping> fields = this.fields;
+        return fields == null ? Collections.emptyMap() : fields;
+    }
+
+    @Override
+    public void resolveFieldTypes() {
+        final Map<FieldSignature, FieldMapping> fields = this.fields;
+        if (fields == null) return;
+
+        synchronized (this.lock) {
+            for (final FieldMapping mapping : new ArrayList<>(fields.values())) {
+                // Inherited mappings are resolved by the class that declares them
+                if (mapping.getParent() != this || !(mapping instanceof FieldMappingImpl)) continue;
+                final FieldSignature signature = mapping.getSignature();
+                if (signature.getType().isPresent()) continue;
+
+                final FieldType type = this.getMappings().getFieldTypeProvider().provide(mapping).orElse(null);
+                if (type == null) continue;
+                final FieldSignature typedSignature = this.getMappings().getInternPool().intern(
+                        new FieldSignature(signature.getName(), type));
+
+                // The typed signature may already be held by a copy of the mapping, made
+                // by computeFieldMapping - but anything else is a distinct field
+                final FieldMapping existingMapping = fields.get(typedSignature);
+                if (existingMapping != null && existingMapping != mapping &&
+                        !Objects.equals(existingMapping.getDeobfuscatedName(), mapping.getDeobfuscatedName())) continue;
+
+                fields.put(typedSignature, mapping);
+                fields.remove(signature, mapping);
+                ((FieldMappingImpl) mapping).setSignature(typedSignature);
+            }
+        }
+    }
+
     @Override
     public boolean hasFieldMapping(final FieldSignature signature) {
         return this.getFieldMapping(signature).isPresent();
@@ -130,12 +262,16 @@ public abstract class AbstractClassMappingImpl<M extends ClassMapping<M, P>, P>
 
     @Override
     public boolean hasFieldMapping(final String obfuscatedName) {
-        return this.fieldsByName.containsKey(obfuscatedName);
+        final Map<String, FieldMapping> fieldsByName = this.fieldsByName;
+        return fieldsByName != null && fieldsByName.containsKey(obfuscatedName);
     }
 
     @Override
     public void removeFieldMapping(final FieldSignature signature) {
-        final FieldMapping mapping = this.fields.remove(signature);
+        final Map<FieldSignature, FieldMapping> fields = this.fields;
+        if (fields == null) return;
+
+        final FieldMapping mapping = fields.remove(signature);
         if (mapping != null) {
             this.fieldsByName.values().remove(mapping);
         }
@@ -143,80 +279,174 @@ public abstract class AbstractClassMappingImpl<M extends ClassMapping<M, P>, P>
 
     @Override
     public void removeFieldMapping(final FieldMapping mapping) {
-        this.fields.values().remove(mapping);
+        final Map<FieldSignature, FieldMapping> fields = this.fields;
+        if (fields == null) return;
+
+        fields.values().remove(mapping);
         this.fieldsByName.values().remove(mapping);
     }
 
     @Override
     public void removeFieldMapping(final String obfuscatedName) {
-        this.fields.keySet().removeIf(sig -> sig.getName().equals(obfuscatedName));
+        final Map<FieldSignature, FieldMapping> fields = this.fields;
+        if (fields == null) return;
+
+        fields.keySet().removeIf(sig -> sig.getName().equals(obfuscatedName));
         this.fieldsByName.remove(obfuscatedName);
     }
 
     @Override
     public Collection<MethodMapping> getMethodMappings() {
-        return Collections.unmodifiableCollection(this.methods.values());
+        final Map<MethodSignature, MethodMapping> methods = this.methods;
+        return methods == null ? Collections.emptyList() : Collections.unmodifiableCollection(methods.values());
     }
 
     @Override
     public Optional<MethodMapping> getMethodMapping(final MethodSignature signature) {
-        return Optional.ofNullable(this.methods.get(signature));
+        final Map<MethodSignature, MethodMapping> methods = this.methods;
+        return methods == null ? Optional.empty() : Optional.ofNullable(methods.get(signature));
     }
 
     @Override
-    public MethodMapping createMethodMapping(final MethodSignature signature, final String deobfuscatedName) {
-        return this.methods.compute(signature, (desc, existingMapping) -> {
+    public MethodMapping createMethodMapping(final MethodSignature methodSignature, final String deobfuscatedName) {
+        final MethodSignature signature = this.getMappings().getInternPool().intern(methodSignature);
+        if (!this.isConcurrent()) {
+            final MethodMapping existingMapping = this.methods().get(signature);
             if (existingMapping != null) return existingMapping.setDeobfuscatedName(deobfuscatedName);
-            return this.getMappings().getModelFactory().createMethodMapping(this, signature, deobfuscatedName);
+            final MethodMapping mapping = this.getMappings().getModelFactory().createMethodMapping(this, signature, deobfuscatedName);
+            this.methods.put(signature, mapping);
+            this.getMappings().registerMemberMapping(mapping);
+            return mapping;
+        }
+
+        return this.methods().compute(signature, (desc, existingMapping) -> {
+            if (existingMapping != null) return existingMapping.setDeobfuscatedName(deobfuscatedName);
+            final MethodMapping mapping = this.getMappings().getModelFactory().createMethodMapping(this, signature, deobfuscatedName);
+            this.getMappings().registerMemberMapping(mapping);
+            return mapping;
         });
     }
 
+    /**
+     * Gets the underlying table of method mappings, which unlike
+     * {@link #getMethodMappings()} includes the signatures that
+     * completion has associated with inherited mappings.
+     *
+     * @return The method mappings, by signature
+     */
+    Map<MethodSignature, MethodMapping> getMethodTable() {
+        final Map<MethodSignature, MethodMapping> methods = this.methods;
+        return methods == null ? Collections.emptyMap() : methods;
+    }
+
     @Override
     public boolean hasMethodMapping(final MethodSignature signature) {
-        return this.methods.containsKey(signature);
+        final Map<MethodSignature, MethodMapping> methods = this.methods;
+        return methods != null && methods.containsKey(signature);
     }
 
     @Override
     public void removeMethodMapping(final MethodSignature signature) {
-        this.methods.remove(signature);
+        final Map<MethodSignature, MethodMapping> methods = this.methods;
+        if (methods != null) methods.remove(signature);
     }
 
     @Override
     public void removeMethodMapping(final MethodMapping mapping) {
-        this.methods.values().remove(mapping);
+        final Map<MethodSignature, MethodMapping> methods = this.methods;
+        if (methods != null) methods.values().remove(mapping);
     }
 
     @Override
     public Collection<InnerClassMapping> getInnerClassMappings() {
-        return Collections.unmodifiableCollection(this.innerClasses.values());
+        final Map<String, InnerClassMapping> innerClasses = this.innerClasses;
+        return innerClasses == null ? Collections.emptyList() : Collections.unmodifiableCollection(innerClasses.values());
     }
 
     @Override
     public Optional<InnerClassMapping> getInnerClassMapping(final String obfuscatedName) {
-        return Optional.ofNullable(this.innerClasses.get(obfuscatedName));
+        final Map<String, InnerClassMapping> innerClasses = this.innerClasses;
+        return innerClasses == null ? Optional.empty() : Optional.ofNullable(innerClasses.get(obfuscatedName));
     }
 
     @Override
-    public InnerClassMapping createInnerClassMapping(final String obfuscatedName, final String deobfuscatedName) {
-        return this.innerClasses.compute(obfuscatedName, (name, existingMapping) -> {
+    public InnerClassMapping createInnerClassMapping(final String innerName, final String deobfuscatedName) {
+        final String obfuscatedName = this.getMappings().getInternPool().intern(innerName);
+        if (!this.isConcurrent()) {
+            final InnerClassMapping existingMapping = this.innerClasses().get(obfuscatedName);
+            if (existingMapping != null) return existingMapping.setDeobfuscatedName(deobfuscatedName);
+            final InnerClassMapping mapping = this.getMappings().getModelFactory().createInnerClassMapping(this, obfuscatedName, deobfuscatedName);
+            this.innerClasses.put(obfuscatedName, mapping);
+            this.getMappings().registerClassMapping(mapping);
+            return mapping;
+        }
+
+        return this.innerClasses().compute(obfuscatedName, (name, existingMapping) -> {
             if (existingMapping != null) return existingMapping.setDeobfuscatedName(deobfuscatedName);
-            return this.getMappings().getModelFactory().createInnerClassMapping(this, obfuscatedName, deobfuscatedName);
+            final InnerClassMapping mapping = this.getMappings().getModelFactory().createInnerClassMapping(this, obfuscatedName, deobfuscatedName);
+            this.getMappings().registerClassMapping(mapping);
+            return mapping;
+        });
+    }
+
+    @Override
+    public InnerClassMapping getOrCreateInnerClassMapping(final String obfuscatedName) {
+        final InnerClassMapping existingMapping = this.getInnerClassMapping(obfuscatedName).orElse(null);
+        if (existingMapping != null) return existingMapping;
+        if (!this.isConcurrent()) return this.createInnerClassMapping(obfuscatedName);
+
+        // The mapping is created atomically, so a mapping created concurrently
+        // - and perhaps named - is never renamed
+        return this.innerClasses().computeIfAbsent(this.getMappings().getInternPool().intern(obfuscatedName), name -> {
+            final InnerClassMapping mapping = this.getMappings().getModelFactory().createInnerClassMapping(this, name, name);
+            this.getMappings().registerClassMapping(mapping);
+            return mapping;
         });
     }
 
     @Override
     public boolean hasInnerClassMapping(final String obfuscatedName) {
-        return this.innerClasses.containsKey(obfuscatedName);
+        final Map<String, InnerClassMapping> innerClasses = this.innerClasses;
+        return innerClasses != null && innerClasses.containsKey(obfuscatedName);
     }
 
     @Override
     public void removeInnerClassMapping(String obfuscatedName) {
-        this.innerClasses.remove(obfuscatedName);
+        final Map<String, InnerClassMapping> innerClasses = this.innerClasses;
+        if (innerClasses == null) return;
+
+        final InnerClassMapping mapping = innerClasses.remove(obfuscatedName);
+        if (mapping != null) {
+            this.getMappings().unregisterClassMapping(mapping);
+        }
     }
 
     @Override
     public void removeInnerClassMapping(final ClassMapping<?, ?> mapping) {
-        this.innerClasses.values().remove(mapping);
+        final Map<String, InnerClassMapping> innerClasses = this.innerClasses;
+        if (innerClasses != null && innerClasses.values().remove(mapping)) {
+            this.getMappings().unregisterClassMapping(mapping);
+        }
+    }
+
+    @Override
+    protected void invalidateFullDeobfuscatedName() {
+        // The full names of our members, and inner classes, are derived from ours
+        for (final FieldMapping field : this.getFieldMappings()) {
+            invalidateFullDeobfuscatedName(field);
+        }
+        for (final MethodMapping method : this.getMethodTable().values()) {
+            invalidateFullDeobfuscatedName(method);
+        }
+        for (final InnerClassMapping klass : this.getInnerClassMappings()) {
+            invalidateFullDeobfuscatedName(klass);
+        }
+    }
+
+    private static void invalidateFullDeobfuscatedName(final Mapping<?, ?> mapping) {
+        if (mapping instanceof AbstractMappingImpl) {
+            ((AbstractMappingImpl<?, ?>) mapping).invalidateFullDeobfuscatedName();
+        }
     }
 
     @Override
@@ -241,6 +471,7 @@ public abstract class AbstractClassMappingImpl<M extends ClassMapping<M, P>, P>
 
     @Override
     public int hashCode() {
+        // An absent container hashes the same as an empty one
         return Objects.hash(super.hashCode(), this.fields, this.methods, this.innerClasses);
     }
 
@@ -255,15 +486,103 @@ public abstract class AbstractClassMappingImpl<M extends ClassMapping<M, P>, P>
             return;
         }
 
+        // A class re-entered through a cyclic hierarchy is left for its
+        // outer completion to finish
+        if (!CompletionContext.enter(this)) {
+            return;
+        }
+
+        try {
+            final Map<InheritanceProvider.ClassInfo, ClassMapping<?, ?>> parents =
+                    CompletionContext.completeParents(this, provider, info);
+
+            // Concurrent callers wait for the class to be completed, rather
+            // than repeating the work
+            synchronized (this.lock) {
+                if (this.complete) {
+                    return;
+                }
+
+                this.inherit(provider, info, parents);
+                this.complete = true;
+            }
+        }
+        finally {
+            CompletionContext.exit(this);
+        }
+    }
+
+    /**
+     * Gets the field mappings that completion has inherited from the
+     * parents of the class, by the signature they were inherited under.
+     *
+     * @return The inherited field mappings, by signature
+     * @see org.cadixdev.lorenz.CompletionCache
+     * @since 0.6.0
+     */
+    public Map<FieldSignature, FieldMapping> getInheritedFieldMappings() {
+        return inherited(this.getFieldTable());
+    }
+
+    /**
+     * Gets the method mappings that completion has inherited from the
+     * parents of the class, by the signature they were inherited under.
+     *
+     * @return The inherited method mappings, by signature
+     * @see org.cadixdev.lorenz.CompletionCache
+     * @since 0.6.0
+     */
+    public Map<MethodSignature, MethodMapping> getInheritedMethodMappings() {
+        return inherited(this.getMethodTable());
+    }
+
+    private <S, M extends MemberMapping<?, ?>> Map<S, M> inherited(final Map<S, M> table) {
+        final Map<S, M> inherited = new HashMap<>();
+        for (final Map.Entry<S, M> entry : table.entrySet()) {
+            if (entry.getValue().getParent() != this) inherited.put(entry.getKey(), entry.getValue());
+        }
+        return Collections.unmodifiableMap(inherited);
+    }
+
+    /**
+     * Marks the class mapping as complete, with the given inherited
+     * mappings - as previously produced by completing it.
+     * <p>
+     * This is intended for use by {@link org.cadixdev.lorenz.CompletionCache},
+     * and does nothing should the class mapping already be complete.
+     *
+     * @param inheritedFields The inherited field mappings
+     * @param inheritedMethods The inherited method mappings
+     * @since 0.6.0
+     */
+    public void restoreCompletion(final Map<FieldSignature, FieldMapping> inheritedFields,
+            final Map<MethodSignature, MethodMapping> inheritedMethods) {
+        if (this.complete) {
+            return;
+        }
+
+        synchronized (this.lock) {
+            if (this.complete) {
+                return;
+            }
+
+            if (!inheritedFields.isEmpty()) inheritedFields.forEach(this.fields()::putIfAbsent);
+            if (!inheritedMethods.isEmpty()) inheritedMethods.forEach(this.methods()::putIfAbsent);
+            this.complete = true;
+        }
+    }
+
+    private void inherit(final InheritanceProvider provider, final InheritanceProvider.ClassInfo info,
+            final Map<InheritanceProvider.ClassInfo, ClassMapping<?, ?>> parents) {
         final Map<String, Set<MethodSignature>> nameToMethods = new HashMap<>();
         for (final Map.Entry<MethodSignature, InheritanceType> method : info.getMethods().entrySet()) {
             final Set<MethodSignature> methods = nameToMethods.computeIfAbsent(method.getKey().getName(), name -> new HashSet<>());
             methods.add(method.getKey());
         }
 
-        for (final InheritanceProvider.ClassInfo parent : info.provideParents(provider)) {
-            final ClassMapping<?, ?> parentMappings = this.getMappings().getOrCreateClassMapping(parent.getName());
-            parentMappings.complete(provider, parent);
+        for (final Map.Entry<InheritanceProvider.ClassInfo, ClassMapping<?, ?>> entry : parents.entrySet()) {
+            final InheritanceProvider.ClassInfo parent = entry.getKey();
+            final ClassMapping<?, ?> parentMappings = entry.getValue();
 
             for (final FieldMapping mapping : parentMappings.getFieldMappings()) {
                 // If the class has its own field that satisfies the parent's signature,
@@ -273,13 +592,13 @@ public abstract class AbstractClassMappingImpl<M extends ClassMapping<M, P>, P>
                 }
 
                 if (parent.canInherit(info, mapping.getSignature())) {
-                    this.fields.putIfAbsent(mapping.getSignature(), mapping);
+                    this.fields().putIfAbsent(mapping.getSignature(), mapping);
                 }
             }
 
             for (final MethodMapping mapping : parentMappings.getMethodMappings()) {
                 if (parent.canInherit(info, mapping.getSignature())) {
-                    this.methods.putIfAbsent(mapping.getSignature(), mapping);
+                    this.methods().putIfAbsent(mapping.getSignature(), mapping);
                 }
 
                 // Check if there are any methods here that override the return type of a parent
@@ -296,14 +615,12 @@ public abstract class AbstractClassMappingImpl<M extends ClassMapping<M, P>, P>
                         if (!Objects.equals(methodDescriptor.getParamTypes(), mappingDescriptor.getParamTypes())) continue;
 
                         if (mappingDescriptor.getReturnType().isAssignableFrom(methodDescriptor.getReturnType(), provider)) {
-                            this.methods.putIfAbsent(methodSignature, mapping);
+                            this.methods().putIfAbsent(this.getMappings().getInternPool().intern(methodSignature), mapping);
                         }
                     }
                 }
             }
         }
-
-        this.complete = true;
     }
 
 }
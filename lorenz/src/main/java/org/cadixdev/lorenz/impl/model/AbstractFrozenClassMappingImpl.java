@@ -0,0 +1,531 @@
+/*
+ * This file is part of Lorenz, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamierocks.uk/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cadixdev.lorenz.impl.model;
+
+import org.cadixdev.bombe.analysis.InheritanceProvider;
+import org.cadixdev.bombe.analysis.InheritanceType;
+import org.cadixdev.bombe.type.MethodDescriptor;
+import org.cadixdev.bombe.type.signature.FieldSignature;
+import org.cadixdev.bombe.type.signature.MethodSignature;
+import org.cadixdev.lorenz.MappingSet;
+import org.cadixdev.lorenz.model.ClassMapping;
+import org.cadixdev.lorenz.model.FieldMapping;
+import org.cadixdev.lorenz.model.InnerClassMapping;
+import org.cadixdev.lorenz.model.Mapping;
+import org.cadixdev.lorenz.model.MethodMapping;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.Function;
+
+/**
+ * An immutable implementation of {@link ClassMapping}, storing its members
+ * in arrays sorted by obfuscated name.
+ * <p>
+ * A frozen class mapping is a snapshot of a class mapping, including any
+ * members inherited through completion prior to freezing. Classes that
+ * weren't complete when frozen - and the detached mappings produced by the
+ * {@code getOrCreate} methods - may still be {@link #complete(InheritanceProvider, InheritanceProvider.ClassInfo) completed},
+ * which records the members they inherit alongside their own.
+ *
+ * @param <M> The type of the class mapping
+ * @param <P> The type of the parent
+ *
+ * @author Jamie Mansfield
+ * @since 0.6.0
+ */
+public abstract class AbstractFrozenClassMappingImpl<M extends ClassMapping<M, P>, P>
+        extends AbstractFrozenMappingImpl<M, P>
+        implements ClassMapping<M, P> {
+
+    static final FieldMapping[] NO_FIELDS = new FieldMapping[0];
+    static final MethodSignature[] NO_METHOD_SIGNATURES = new MethodSignature[0];
+    static final MethodMapping[] NO_METHODS = new MethodMapping[0];
+    static final InnerClassMapping[] NO_INNER_CLASSES = new InnerClassMapping[0];
+
+    /**
+     * Gets the index of the first element, of the sorted array, that has
+     * a name greater than or equal to the given name.
+     *
+     * @param elements The elements, sorted by name
+     * @param name The function used to extract the name of an element
+     * @param key The name to search for
+     * @param <T> The type of the elements
+     * @return The index
+     */
+    static <T> int lowerBound(final T[] elements, final Function<T, String> name, final String key) {
+        int low = 0;
+        int high = elements.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (name.apply(elements[mid]).compareTo(key) < 0) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Gets the mapping, of the sorted array, with the given obfuscated
+     * name.
+     *
+     * @param mappings The mappings, sorted by obfuscated name
+     * @param obfuscatedName The obfuscated name
+     * @param <T> The type of the mappings
+     * @return The mapping, or {@code null} if not present
+     */
+    static <T extends Mapping<?, ?>> T find(final T[] mappings, final String obfuscatedName) {
+        final int index = lowerBound(mappings, Mapping::getObfuscatedName, obfuscatedName);
+        if (index < mappings.length && mappings[index].getObfuscatedName().equals(obfuscatedName)) {
+            return mappings[index];
+        }
+        return null;
+    }
+
+    // All of the following are populated once, while the mapping set is being frozen
+    FieldMapping[] fields = NO_FIELDS;
+    FieldMapping[] fieldsByName = NO_FIELDS;
+    MethodSignature[] methodSignatures = NO_METHOD_SIGNATURES;
+    MethodMapping[] methods = NO_METHODS;
+    InnerClassMapping[] innerClasses = NO_INNER_CLASSES;
+
+    // Published once, by completion - or while freezing, for classes that were already complete
+    volatile Inherited inherited;
+    private final Object lock = new Object();
+
+    /**
+     * Creates a new frozen class mapping, from the given parameters.
+     *
+     * @param mappings The mappings set, this mapping belongs to
+     * @param obfuscatedName The obfuscated name
+     * @param deobfuscatedName The de-obfuscated name
+     */
+    protected AbstractFrozenClassMappingImpl(final MappingSet mappings, final String obfuscatedName, final String deobfuscatedName) {
+        super(mappings, obfuscatedName, deobfuscatedName);
+    }
+
+    @Override
+    public Collection<FieldMapping> getFieldMappings() {
+        final Inherited inherited = this.inherited;
+        if (inherited == null || inherited.fields.isEmpty()) {
+            return Collections.unmodifiableList(Arrays.asList(this.fields));
+        }
+
+        final List<FieldMapping> fields = new ArrayList<>(this.fields.length + inherited.fields.size());
+        fields.addAll(Arrays.asList(this.fields));
+        fields.addAll(inherited.fields.values());
+        return Collections.unmodifiableList(fields);
+    }
+
+    @Override
+    public Map<String, FieldMapping> getFieldsByName() {
+        return new FieldsByName(this.fieldsByName);
+    }
+
+    @Override
+    public Optional<FieldMapping> getFieldMapping(final FieldSignature signature) {
+        final String name = signature.getName();
+        for (int i = lowerBound(this.fields, Mapping::getObfuscatedName, name); i < this.fields.length; i++) {
+            final FieldMapping mapping = this.fields[i];
+            if (!mapping.getObfuscatedName().equals(name)) break;
+            if (mapping.getSignature().equals(signature)) return Optional.of(mapping);
+        }
+
+        final Inherited inherited = this.inherited;
+        return inherited == null ? Optional.empty() : Optional.ofNullable(inherited.fields.get(signature));
+    }
+
+    @Override
+    public Optional<FieldMapping> getFieldMapping(final String obfuscatedName) {
+        return Optional.ofNullable(find(this.fieldsByName, obfuscatedName));
+    }
+
+    @Override
+    public Optional<FieldMapping> computeFieldMapping(final FieldSignature signature) {
+        // If the field type is not provided, lookup up only the field name
+        if (!signature.getType().isPresent()) {
+            return this.getFieldMapping(signature.getName());
+        }
+
+        // Otherwise, look up the signature as-is, but fall back to a signature without type.
+        // Unlike the mutable implementation, the un-typed mapping is returned as-is - as
+        // we can't store a typed copy of it.
+        final String name = signature.getName();
+        FieldMapping untyped = null;
+        for (int i = lowerBound(this.fields, Mapping::getObfuscatedName, name); i < this.fields.length; i++) {
+            final FieldMapping mapping = this.fields[i];
+            if (!mapping.getObfuscatedName().equals(name)) break;
+            if (mapping.getSignature().equals(signature)) return Optional.of(mapping);
+            if (!mapping.getSignature().getType().isPresent()) untyped = mapping;
+        }
+
+        final Inherited inherited = this.inherited;
+        if (inherited != null) {
+            final FieldMapping mapping = inherited.fields.get(signature);
+            if (mapping != null) return Optional.of(mapping);
+            if (untyped == null) untyped = inherited.fields.get(new FieldSignature(name));
+        }
+        return Optional.ofNullable(untyped);
+    }
+
+    @Override
+    public FieldMapping createFieldMapping(final FieldSignature signature, final String deobfuscatedName) {
+        throw frozen();
+    }
+
+    @Override
+    public boolean hasFieldMapping(final FieldSignature signature) {
+        return this.getFieldMapping(signature).isPresent();
+    }
+
+    @Override
+    public boolean hasFieldMapping(final String obfuscatedName) {
+        return find(this.fieldsByName, obfuscatedName) != null;
+    }
+
+    @Override
+    public void removeFieldMapping(final FieldSignature signature) {
+        throw frozen();
+    }
+
+    @Override
+    public void removeFieldMapping(final FieldMapping mapping) {
+        throw frozen();
+    }
+
+    @Override
+    public void removeFieldMapping(final String obfuscatedName) {
+        throw frozen();
+    }
+
+    @Override
+    public Collection<MethodMapping> getMethodMappings() {
+        final Inherited inherited = this.inherited;
+        if (inherited == null || inherited.methods.isEmpty()) {
+            return Collections.unmodifiableList(Arrays.asList(this.methods));
+        }
+
+        final List<MethodMapping> methods = new ArrayList<>(this.methods.length + inherited.methods.size());
+        methods.addAll(Arrays.asList(this.methods));
+        methods.addAll(inherited.methods.values());
+        return Collections.unmodifiableList(methods);
+    }
+
+    @Override
+    public Optional<MethodMapping> getMethodMapping(final MethodSignature signature) {
+        final String name = signature.getName();
+        for (int i = lowerBound(this.methodSignatures, MethodSignature::getName, name); i < this.methodSignatures.length; i++) {
+            final MethodSignature key = this.methodSignatures[i];
+            if (!key.getName().equals(name)) break;
+            if (key.equals(signature)) return Optional.of(this.methods[i]);
+        }
+
+        final Inherited inherited = this.inherited;
+        return inherited == null ? Optional.empty() : Optional.ofNullable(inherited.methods.get(signature));
+    }
+
+    @Override
+    public MethodMapping createMethodMapping(final MethodSignature signature, final String deobfuscatedName) {
+        throw frozen();
+    }
+
+    @Override
+    public boolean hasMethodMapping(final MethodSignature signature) {
+        return this.getMethodMapping(signature).isPresent();
+    }
+
+    @Override
+    public void removeMethodMapping(final MethodSignature signature) {
+        throw frozen();
+    }
+
+    @Override
+    public void removeMethodMapping(final MethodMapping mapping) {
+        throw frozen();
+    }
+
+    @Override
+    public Collection<InnerClassMapping> getInnerClassMappings() {
+        return Collections.unmodifiableList(Arrays.asList(this.innerClasses));
+    }
+
+    @Override
+    public Optional<InnerClassMapping> getInnerClassMapping(final String obfuscatedName) {
+        return Optional.ofNullable(find(this.innerClasses, obfuscatedName));
+    }
+
+    @Override
+    public InnerClassMapping createInnerClassMapping(final String obfuscatedName, final String deobfuscatedName) {
+        throw frozen();
+    }
+
+    /**
+     * Gets the inner class mapping of the given obfuscated name, or
+     * a detached, un-mapped, inner class mapping should it not exist.
+     * <p>
+     * The detached mapping is <strong>not</strong> added to this class,
+     * but allows for consumers such as the remapper to work with frozen
+     * mappings. The same detached mapping is given for every call, so it
+     * need only be completed once.
+     *
+     * @param obfuscatedName The obfuscated name of the inner class mapping
+     * @return The inner class mapping
+     */
+    @Override
+    public InnerClassMapping getOrCreateInnerClassMapping(final String obfuscatedName) {
+        final InnerClassMapping mapping = find(this.innerClasses, obfuscatedName);
+        if (mapping != null) return mapping;
+
+        final FrozenInnerClassMappingImpl detached = new FrozenInnerClassMappingImpl(this, obfuscatedName, obfuscatedName);
+        return this.getMappings() instanceof FrozenMappingSet ?
+                ((FrozenMappingSet) this.getMappings()).detach(detached) :
+                detached;
+    }
+
+    @Override
+    public boolean hasInnerClassMapping(final String obfuscatedName) {
+        return find(this.innerClasses, obfuscatedName) != null;
+    }
+
+    @Override
+    public void removeInnerClassMapping(final String obfuscatedName) {
+        throw frozen();
+    }
+
+    @Override
+    public void removeInnerClassMapping(final ClassMapping<?, ?> mapping) {
+        throw frozen();
+    }
+
+    @Override
+    public boolean isComplete() {
+        return this.inherited != null;
+    }
+
+    @Override
+    public void complete(final InheritanceProvider provider, final InheritanceProvider.ClassInfo info) {
+        if (this.inherited != null) {
+            return;
+        }
+
+        // A class re-entered through a cyclic hierarchy is left for its
+        // outer completion to finish
+        if (!CompletionContext.enter(this)) {
+            return;
+        }
+
+        try {
+            final Map<InheritanceProvider.ClassInfo, ClassMapping<?, ?>> parents =
+                    CompletionContext.completeParents(this, provider, info);
+
+            // The members of a frozen class can't change, so those it inherits
+            // are kept to one side - and published once complete
+            synchronized (this.lock) {
+                if (this.inherited != null) {
+                    return;
+                }
+
+                this.inherited = this.inherit(provider, info, parents);
+            }
+        }
+        finally {
+            CompletionContext.exit(this);
+        }
+    }
+
+    private Inherited inherit(final InheritanceProvider provider, final InheritanceProvider.ClassInfo info,
+            final Map<InheritanceProvider.ClassInfo, ClassMapping<?, ?>> parents) {
+        final Map<FieldSignature, FieldMapping> fields = new HashMap<>();
+        final Map<MethodSignature, MethodMapping> methods = new HashMap<>();
+
+        final Map<String, Set<MethodSignature>> nameToMethods = new HashMap<>();
+        for (final Map.Entry<MethodSignature, InheritanceType> method : info.getMethods().entrySet()) {
+            final Set<MethodSignature> signatures = nameToMethods.computeIfAbsent(method.getKey().getName(), name -> new HashSet<>());
+            signatures.add(method.getKey());
+        }
+
+        for (final Map.Entry<InheritanceProvider.ClassInfo, ClassMapping<?, ?>> entry : parents.entrySet()) {
+            final InheritanceProvider.ClassInfo parent = entry.getKey();
+            final ClassMapping<?, ?> parentMappings = entry.getValue();
+
+            for (final FieldMapping mapping : parentMappings.getFieldMappings()) {
+                // If the class has its own field that satisfies the parent's signature,
+                // then we shouldn't inherit the mapping
+                if (this.computeFieldMapping(mapping.getSignature()).isPresent()) {
+                    continue;
+                }
+
+                if (parent.canInherit(info, mapping.getSignature())) {
+                    fields.putIfAbsent(mapping.getSignature(), mapping);
+                }
+            }
+
+            for (final MethodMapping mapping : parentMappings.getMethodMappings()) {
+                if (parent.canInherit(info, mapping.getSignature()) && !this.getMethodMapping(mapping.getSignature()).isPresent()) {
+                    methods.putIfAbsent(mapping.getSignature(), mapping);
+                }
+
+                // Check if there are any methods here that override the return type of a parent
+                // method.
+                if (nameToMethods.containsKey(mapping.getObfuscatedName())) {
+                    for (final MethodSignature methodSignature : nameToMethods.get(mapping.getObfuscatedName())) {
+                        final MethodDescriptor methodDescriptor = methodSignature.getDescriptor();
+                        final MethodDescriptor mappingDescriptor = mapping.getSignature().getDescriptor();
+
+                        // The method MUST have the same parameters
+                        if (!Objects.equals(methodDescriptor.getParamTypes(), mappingDescriptor.getParamTypes())) continue;
+                        if (this.getMethodMapping(methodSignature).isPresent()) continue;
+
+                        if (mappingDescriptor.getReturnType().isAssignableFrom(methodDescriptor.getReturnType(), provider)) {
+                            methods.putIfAbsent(this.getMappings().getInternPool().intern(methodSignature), mapping);
+                        }
+                    }
+                }
+            }
+        }
+
+        return fields.isEmpty() && methods.isEmpty() ? Inherited.NONE : new Inherited(fields, methods);
+    }
+
+    @Override
+    protected StringJoiner buildToString() {
+        return super.buildToString()
+                .add("fields=" + this.getFieldMappings())
+                .add("methods=" + this.getMethodMappings())
+                .add("innerClasses=" + this.getInnerClassMappings());
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) return true;
+        if (!super.equals(obj)) return false;
+        if (!(obj instanceof ClassMapping)) return false;
+
+        final ClassMapping that = (ClassMapping) obj;
+        return Objects.equals(this.getFieldMappings(), that.getFieldMappings()) &&
+                Objects.equals(this.getMethodMappings(), that.getMethodMappings()) &&
+                Objects.equals(this.getInnerClassMappings(), that.getInnerClassMappings());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(),
+                Arrays.hashCode(this.fields), Arrays.hashCode(this.methods), Arrays.hashCode(this.innerClasses));
+    }
+
+    /**
+     * An immutable {@link Map} view of field mappings, sorted by their
+     * obfuscated name.
+     */
+    private static final class FieldsByName extends AbstractMap<String, FieldMapping> {
+
+        private final FieldMapping[] fields;
+
+        FieldsByName(final FieldMapping[] fields) {
+            this.fields = fields;
+        }
+
+        @Override
+        public FieldMapping get(final Object key) {
+            return key instanceof String ? find(this.fields, (String) key) : null;
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return this.get(key) != null;
+        }
+
+        @Override
+        public int size() {
+            return this.fields.length;
+        }
+
+        @Override
+        public Set<Entry<String, FieldMapping>> entrySet() {
+            return new AbstractSet<Entry<String, FieldMapping>>() {
+                @Override
+                public Iterator<Entry<String, FieldMapping>> iterator() {
+                    return new Iterator<Entry<String, FieldMapping>>() {
+                        private int index;
+
+                        @Override
+                        public boolean hasNext() {
+                            return this.index < FieldsByName.this.fields.length;
+                        }
+
+                        @Override
+                        public Entry<String, FieldMapping> next() {
+                            if (!this.hasNext()) throw new NoSuchElementException();
+                            final FieldMapping field = FieldsByName.this.fields[this.index++];
+                            return new SimpleImmutableEntry<>(field.getObfuscatedName(), field);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return FieldsByName.this.fields.length;
+                }
+            };
+        }
+
+    }
+
+    /**
+     * The members a frozen class mapping inherits, through completion.
+     */
+    static final class Inherited {
+
+        static final Inherited NONE = new Inherited(Collections.emptyMap(), Collections.emptyMap());
+
+        final Map<FieldSignature, FieldMapping> fields;
+        final Map<MethodSignature, MethodMapping> methods;
+
+        Inherited(final Map<FieldSignature, FieldMapping> fields, final Map<MethodSignature, MethodMapping> methods) {
+            this.fields = fields;
+            this.methods = methods;
+        }
+
+    }
+
+}
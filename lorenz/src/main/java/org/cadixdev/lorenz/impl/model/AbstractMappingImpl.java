@@ -65,8 +65,8 @@ public abstract class AbstractMappingImpl<M extends Mapping<M, P>, P> implements
      */
     protected AbstractMappingImpl(final MappingSet mappings, final String obfuscatedName, final String deobfuscatedName) {
         this.mappings = mappings;
-        this.obfuscatedName = obfuscatedName;
-        this.deobfuscatedName = deobfuscatedName;
+        this.obfuscatedName = mappings.getInternPool().intern(obfuscatedName);
+        this.deobfuscatedName = mappings.getInternPool().intern(deobfuscatedName);
     }
 
     @Override
@@ -84,10 +84,21 @@ public abstract class AbstractMappingImpl<M extends Mapping<M, P>, P> implements
         for (final MappingChangedListener<M, P> listener : this.listeners) {
             listener.handle((M) this, deobfuscatedName);
         }
-        this.deobfuscatedName = deobfuscatedName;
+        this.deobfuscatedName = this.mappings.getInternPool().intern(deobfuscatedName);
+        this.invalidateFullDeobfuscatedName();
         return (M) this;
     }
 
+    /**
+     * Invoked whenever the de-obfuscated name of this mapping, or of any
+     * mapping it belongs to, changes - so that implementations caching their
+     * fully-qualified de-obfuscated name can discard it.
+     *
+     * @since 0.6.0
+     */
+    protected void invalidateFullDeobfuscatedName() {
+    }
+
     @Override
     public M addListener(final MappingChangedListener<M, P> listener) {
         this.listeners.add(listener);
@@ -63,6 +63,13 @@ public abstract class AbstractMemberMappingImpl<M extends MemberMapping<M, P>, P
         return this.parent;
     }
 
+    @Override
+    public M setDeobfuscatedName(final String deobfuscatedName) {
+        final M mapping = super.setDeobfuscatedName(deobfuscatedName);
+        this.getMappings().registerMemberMapping(this);
+        return mapping;
+    }
+
     @Override
     public boolean equals(final Object obj) {
         if (this == obj) return true;
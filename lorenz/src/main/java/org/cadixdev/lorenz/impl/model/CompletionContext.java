@@ -0,0 +1,100 @@
+/*
+ * This file is part of Lorenz, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamierocks.uk/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cadixdev.lorenz.impl.model;
+
+import org.cadixdev.bombe.analysis.InheritanceProvider;
+import org.cadixdev.lorenz.model.ClassMapping;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Completes the parents of class mappings, on behalf of the class mappings
+ * of the model implementations.
+ * <p>
+ * The parents of a class are completed before the class takes its own lock,
+ * so no thread ever waits on one class while holding another's lock - which
+ * in a cyclic hierarchy could deadlock. Each thread tracks the classes it is
+ * completing, so a class that it re-enters through a cycle is left for its
+ * outer completion to finish, rather than recursing without end.
+ *
+ * @author Jamie Mansfield
+ * @since 0.6.0
+ */
+final class CompletionContext {
+
+    private static final ThreadLocal<Set<ClassMapping<?, ?>>> COMPLETING =
+            ThreadLocal.withInitial(() -> Collections.newSetFromMap(new IdentityHashMap<>()));
+
+    /**
+     * Marks the given class as being completed by the current thread.
+     *
+     * @param klass The class mapping
+     * @return {@code true} should the class not already be being completed
+     *         by the current thread; {@code false} otherwise
+     */
+    static boolean enter(final ClassMapping<?, ?> klass) {
+        return COMPLETING.get().add(klass);
+    }
+
+    /**
+     * Marks the given class as no longer being completed by the current
+     * thread.
+     *
+     * @param klass The class mapping
+     */
+    static void exit(final ClassMapping<?, ?> klass) {
+        COMPLETING.get().remove(klass);
+    }
+
+    /**
+     * Completes the parents of the given class, creating mappings for them
+     * as required.
+     *
+     * @param klass The class mapping
+     * @param provider The inheritance provider
+     * @param info The class information of the class
+     * @return The mappings of the parents, by their class information - in
+     *         the order they are provided
+     */
+    static Map<InheritanceProvider.ClassInfo, ClassMapping<?, ?>> completeParents(final ClassMapping<?, ?> klass,
+            final InheritanceProvider provider, final InheritanceProvider.ClassInfo info) {
+        final Map<InheritanceProvider.ClassInfo, ClassMapping<?, ?>> parents = new LinkedHashMap<>();
+        for (final InheritanceProvider.ClassInfo parent : info.provideParents(provider)) {
+            final ClassMapping<?, ?> parentMappings = klass.getMappings().getOrCreateClassMapping(parent.getName());
+            parentMappings.complete(provider, parent);
+            parents.put(parent, parentMappings);
+        }
+        return parents;
+    }
+
+    private CompletionContext() {
+    }
+
+}
@@ -41,7 +41,13 @@ public class FieldMappingImpl
         extends AbstractMemberMappingImpl<FieldMapping, ClassMapping>
         implements FieldMapping {
 
-    private final FieldSignature signature;
+    // Upgraded to a typed signature, should the type of the field be resolved
+    private volatile FieldSignature signature;
+
+    // The full names are derived from those of the parent, so are cached - the
+    // de-obfuscated name being invalidated should it, or a parent's, change
+    private String fullObfuscatedName;
+    private String fullDeobfuscatedName;
 
     /**
      * Creates a new field mapping, from the given parameters.
@@ -60,6 +66,37 @@ public class FieldMappingImpl
         return this.signature;
     }
 
+    /**
+     * Sets the obfuscated signature of the field mapping.
+     *
+     * @param signature The obfuscated signature
+     * @see AbstractClassMappingImpl#resolveFieldTypes()
+     */
+    void setSignature(final FieldSignature signature) {
+        this.signature = signature;
+    }
+
+    @Override
+    public String getFullObfuscatedName() {
+        if (this.fullObfuscatedName == null) {
+            this.fullObfuscatedName = FieldMapping.super.getFullObfuscatedName();
+        }
+        return this.fullObfuscatedName;
+    }
+
+    @Override
+    public String getFullDeobfuscatedName() {
+        if (this.fullDeobfuscatedName == null) {
+            this.fullDeobfuscatedName = FieldMapping.super.getFullDeobfuscatedName();
+        }
+        return this.fullDeobfuscatedName;
+    }
+
+    @Override
+    protected void invalidateFullDeobfuscatedName() {
+        this.fullDeobfuscatedName = null;
+    }
+
     @Override
     public boolean equals(final Object obj) {
         if (this == obj) return true;
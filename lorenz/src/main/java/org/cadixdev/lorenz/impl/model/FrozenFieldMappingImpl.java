@@ -0,0 +1,91 @@
+/*
+ * This file is part of Lorenz, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamierocks.uk/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cadixdev.lorenz.impl.model;
+
+import org.cadixdev.bombe.type.signature.FieldSignature;
+import org.cadixdev.lorenz.model.ClassMapping;
+import org.cadixdev.lorenz.model.FieldMapping;
+
+import java.util.Objects;
+
+/**
+ * An immutable implementation of {@link FieldMapping}.
+ *
+ * @author Jamie Mansfield
+ * @since 0.6.0
+ */
+public class FrozenFieldMappingImpl
+        extends AbstractFrozenMemberMappingImpl<FieldMapping, ClassMapping>
+        implements FieldMapping {
+
+    private final FieldSignature signature;
+
+    // Frozen names never change, so the full names can be cached indefinitely
+    private String fullObfuscatedName;
+    private String fullDeobfuscatedName;
+
+    /**
+     * Creates a new frozen field mapping, from the given parameters.
+     *
+     * @param parentClass The class mapping, this mapping belongs to
+     * @param signature The obfuscated signature
+     * @param deobfuscatedName The de-obfuscated name
+     */
+    public FrozenFieldMappingImpl(final ClassMapping parentClass, final FieldSignature signature, final String deobfuscatedName) {
+        super(parentClass, signature.getName(), deobfuscatedName);
+        this.signature = signature;
+    }
+
+    @Override
+    public FieldSignature getSignature() {
+        return this.signature;
+    }
+
+    @Override
+    public String getFullObfuscatedName() {
+        if (this.fullObfuscatedName == null) {
+            this.fullObfuscatedName = FieldMapping.super.getFullObfuscatedName();
+        }
+        return this.fullObfuscatedName;
+    }
+
+    @Override
+    public String getFullDeobfuscatedName() {
+        if (this.fullDeobfuscatedName == null) {
+            this.fullDeobfuscatedName = FieldMapping.super.getFullDeobfuscatedName();
+        }
+        return this.fullDeobfuscatedName;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) return true;
+        if (!super.equals(obj) || !(obj instanceof FieldMapping)) return false;
+        final FieldMapping that = (FieldMapping) obj;
+        return Objects.equals(this.signature, that.getSignature());
+    }
+
+}
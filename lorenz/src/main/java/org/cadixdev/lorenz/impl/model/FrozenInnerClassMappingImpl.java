@@ -0,0 +1,118 @@
+/*
+ * This file is part of Lorenz, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamierocks.uk/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cadixdev.lorenz.impl.model;
+
+import org.cadixdev.lorenz.model.ClassMapping;
+import org.cadixdev.lorenz.model.InnerClassMapping;
+
+import java.util.Objects;
+
+/**
+ * An immutable implementation of {@link InnerClassMapping}.
+ *
+ * @author Jamie Mansfield
+ * @since 0.6.0
+ */
+public class FrozenInnerClassMappingImpl
+        extends AbstractFrozenClassMappingImpl<InnerClassMapping, ClassMapping>
+        implements InnerClassMapping {
+
+    private final ClassMapping parentClass;
+
+    // Frozen names never change, so the full names can be cached indefinitely
+    private String fullObfuscatedName;
+    private String fullDeobfuscatedName;
+
+    /**
+     * Creates a new frozen inner class mapping, from the given parameters.
+     *
+     * @param parentClass The class mapping, this mapping belongs to
+     * @param obfuscatedName The obfuscated name
+     * @param deobfuscatedName The de-obfuscated name
+     */
+    public FrozenInnerClassMappingImpl(final ClassMapping parentClass, final String obfuscatedName, final String deobfuscatedName) {
+        super(parentClass.getMappings(), obfuscatedName, deobfuscatedName);
+        this.parentClass = parentClass;
+    }
+
+    @Override
+    public ClassMapping getParent() {
+        return this.parentClass;
+    }
+
+    @Override
+    public InnerClassMapping setDeobfuscatedName(final String deobfuscatedName) {
+        throw frozen();
+    }
+
+    @Override
+    public String getFullObfuscatedName() {
+        if (this.fullObfuscatedName == null) {
+            this.fullObfuscatedName = InnerClassMapping.super.getFullObfuscatedName();
+        }
+        return this.fullObfuscatedName;
+    }
+
+    @Override
+    public String getFullDeobfuscatedName() {
+        if (this.fullDeobfuscatedName == null) {
+            this.fullDeobfuscatedName = InnerClassMapping.super.getFullDeobfuscatedName();
+        }
+        return this.fullDeobfuscatedName;
+    }
+
+    @Override
+    public String getSimpleObfuscatedName() {
+        return InnerClassMappingImpl.stripAsciiDigits(this.getObfuscatedName());
+    }
+
+    @Override
+    public String getSimpleDeobfuscatedName() {
+        return InnerClassMappingImpl.stripAsciiDigits(this.getDeobfuscatedName());
+    }
+
+    @Override
+    public boolean hasDeobfuscatedName() {
+        // If a parent class has a deobfuscated name, then we do too, since we inherit it
+        return this.getParent().hasDeobfuscatedName() || super.hasDeobfuscatedName();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) return true;
+        if (!super.equals(obj)) return false;
+        if (!(obj instanceof InnerClassMapping)) return false;
+
+        final InnerClassMapping that = (InnerClassMapping) obj;
+        return Objects.equals(this.parentClass, that.getParent());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), this.parentClass.getFullObfuscatedName(), this.parentClass.getFullDeobfuscatedName());
+    }
+
+}
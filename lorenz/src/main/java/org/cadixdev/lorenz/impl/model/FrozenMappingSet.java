@@ -0,0 +1,149 @@
+/*
+ * This file is part of Lorenz, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamierocks.uk/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cadixdev.lorenz.impl.model;
+
+import org.cadixdev.lorenz.MappingSet;
+import org.cadixdev.lorenz.model.ClassMapping;
+import org.cadixdev.lorenz.model.TopLevelClassMapping;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An immutable, compact snapshot of a {@link MappingSet}, as produced by
+ * {@link MappingSet#freeze()}.
+ * <p>
+ * All mappings are stored in arrays sorted by obfuscated name, rather than
+ * in concurrent maps - and carry no listeners or extension data. Any attempt
+ * to modify the set, or its mappings, will throw an
+ * {@link UnsupportedOperationException}, with the exception of the
+ * {@code getOrCreate} methods for classes - which will produce a detached,
+ * un-mapped, class mapping should the class not exist. Detached mappings are
+ * kept, by their full obfuscated name, so that what they inherit through
+ * completion is only resolved once.
+ * <p>
+ * Frozen sets are safe for concurrent reads, and produce mutable sets
+ * when {@link #copy() copied}, {@link #reverse() reversed} or
+ * {@link #merge(MappingSet) merged}.
+ *
+ * @author Jamie Mansfield
+ * @since 0.6.0
+ */
+public class FrozenMappingSet extends MappingSet {
+
+    private final TopLevelClassMapping[] topLevelClasses;
+    private final Map<String, ClassMapping<?, ?>> detached = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a frozen snapshot of the given mapping set.
+     * <p>
+     * The field type providers and intern pool of the original set
+     * remain in use by the frozen set.
+     *
+     * @param mappings The mapping set to freeze
+     */
+    public FrozenMappingSet(final MappingSet mappings) {
+        super(mappings.getModelFactory());
+        this.setInternPool(mappings.getInternPool());
+        this.getFieldTypeProvider().add(mappings.getFieldTypeProvider());
+        this.topLevelClasses = new MappingFreezer(this).freeze(mappings);
+    }
+
+    @Override
+    public Collection<TopLevelClassMapping> getTopLevelClassMappings() {
+        return Collections.unmodifiableList(Arrays.asList(this.topLevelClasses));
+    }
+
+    @Override
+    public TopLevelClassMapping createTopLevelClassMapping(final String obfuscatedName, final String deobfuscatedName) {
+        throw AbstractFrozenMappingImpl.frozen();
+    }
+
+    @Override
+    public Optional<TopLevelClassMapping> getTopLevelClassMapping(final String obfuscatedName) {
+        return Optional.ofNullable(AbstractFrozenClassMappingImpl.find(this.topLevelClasses, obfuscatedName.replace('.', '/')));
+    }
+
+    /**
+     * Gets the top-level class mapping of the given obfuscated name, or
+     * a detached, un-mapped, class mapping should it not exist.
+     * <p>
+     * The detached mapping is <strong>not</strong> added to the set.
+     *
+     * @param obfuscatedName The obfuscated name of the top-level class mapping
+     * @return The top-level class mapping
+     */
+    @Override
+    public TopLevelClassMapping getOrCreateTopLevelClassMapping(final String obfuscatedName) {
+        return this.getTopLevelClassMapping(obfuscatedName)
+                .orElseGet(() -> this.detach(new FrozenTopLevelClassMappingImpl(this, obfuscatedName, obfuscatedName)));
+    }
+
+    /**
+     * Gets the detached class mapping of the given mapping's full obfuscated
+     * name, keeping the given mapping should there not yet be one.
+     *
+     * @param mapping The detached class mapping
+     * @param <T> The type of the class mapping
+     * @return The detached class mapping
+     */
+    @SuppressWarnings("unchecked")
+    <T extends ClassMapping<?, ?>> T detach(final T mapping) {
+        final ClassMapping<?, ?> existing = this.detached.putIfAbsent(mapping.getFullObfuscatedName(), mapping);
+        return existing != null ? (T) existing : mapping;
+    }
+
+    @Override
+    public boolean hasTopLevelClassMapping(final String obfuscatedName) {
+        return this.getTopLevelClassMapping(obfuscatedName).isPresent();
+    }
+
+    @Override
+    public void removeClassMapping(final ClassMapping<?, ?> mapping) {
+        throw AbstractFrozenMappingImpl.frozen();
+    }
+
+    @Override
+    public MappingSet freeze() {
+        return this;
+    }
+
+    @Override
+    public Iterator<TopLevelClassMapping> iterator() {
+        return this.getTopLevelClassMappings().iterator();
+    }
+
+    @Override
+    protected MappingSet createMappingSet() {
+        return new MappingSet(this.getModelFactory()).setInternPool(this.getInternPool());
+    }
+
+}
@@ -0,0 +1,150 @@
+/*
+ * This file is part of Lorenz, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamierocks.uk/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cadixdev.lorenz.impl.model;
+
+import org.cadixdev.bombe.type.signature.MethodSignature;
+import org.cadixdev.lorenz.model.ClassMapping;
+import org.cadixdev.lorenz.model.MethodMapping;
+import org.cadixdev.lorenz.model.MethodParameterMapping;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.StringJoiner;
+
+/**
+ * An immutable implementation of {@link MethodMapping}, storing its
+ * parameters in an array sorted by index.
+ *
+ * @author Jamie Mansfield
+ * @since 0.6.0
+ */
+public class FrozenMethodMappingImpl
+        extends AbstractFrozenMemberMappingImpl<MethodMapping, ClassMapping>
+        implements MethodMapping {
+
+    static final MethodParameterMapping[] NO_PARAMETERS = new MethodParameterMapping[0];
+
+    private final MethodSignature signature;
+
+    // Populated once, while the mapping set is being frozen
+    MethodParameterMapping[] parameters = NO_PARAMETERS;
+
+    // Frozen names never change, so the full names can be cached indefinitely
+    private String fullObfuscatedName;
+    private String fullDeobfuscatedName;
+
+    /**
+     * Creates a new frozen method mapping, from the given parameters.
+     *
+     * @param parentClass The class mapping, this mapping belongs to
+     * @param signature The signature
+     * @param deobfuscatedName The de-obfuscated name
+     */
+    public FrozenMethodMappingImpl(final ClassMapping parentClass, final MethodSignature signature, final String deobfuscatedName) {
+        super(parentClass, signature.getName(), deobfuscatedName);
+        this.signature = signature;
+    }
+
+    @Override
+    public MethodSignature getSignature() {
+        return this.signature;
+    }
+
+    @Override
+    public Collection<MethodParameterMapping> getParameterMappings() {
+        return Collections.unmodifiableList(Arrays.asList(this.parameters));
+    }
+
+    @Override
+    public String getFullObfuscatedName() {
+        if (this.fullObfuscatedName == null) {
+            this.fullObfuscatedName = MethodMapping.super.getFullObfuscatedName();
+        }
+        return this.fullObfuscatedName;
+    }
+
+    @Override
+    public String getFullDeobfuscatedName() {
+        if (this.fullDeobfuscatedName == null) {
+            this.fullDeobfuscatedName = MethodMapping.super.getFullDeobfuscatedName();
+        }
+        return this.fullDeobfuscatedName;
+    }
+
+    @Override
+    public MethodParameterMapping createParameterMapping(final int index, final String deobfuscatedName) {
+        throw frozen();
+    }
+
+    @Override
+    public Optional<MethodParameterMapping> getParameterMapping(final int index) {
+        int low = 0;
+        int high = this.parameters.length - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int midIndex = this.parameters[mid].getIndex();
+            if (midIndex < index) {
+                low = mid + 1;
+            }
+            else if (midIndex > index) {
+                high = mid - 1;
+            }
+            else {
+                return Optional.of(this.parameters[mid]);
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public boolean hasParameterMapping(final int index) {
+        return this.getParameterMapping(index).isPresent();
+    }
+
+    @Override
+    protected StringJoiner buildToString() {
+        return super.buildToString()
+                .add("obfuscatedSignature=" + this.getObfuscatedDescriptor())
+                .add("deobfuscatedSignature=" + this.getDeobfuscatedDescriptor());
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) return true;
+        if (!super.equals(obj) || !(obj instanceof MethodMapping)) return false;
+        final MethodMapping that = (MethodMapping) obj;
+        return Objects.equals(this.signature, that.getSignature());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), this.signature);
+    }
+
+}
@@ -40,6 +40,11 @@ public class InnerClassMappingImpl extends AbstractClassMappingImpl<InnerClassMa
 
     private final ClassMapping parentClass;
 
+    // The full names are derived from those of the parent, so are cached - the
+    // de-obfuscated name being invalidated should it, or a parent's, change
+    private String fullObfuscatedName;
+    private String fullDeobfuscatedName;
+
     /**
      * Creates a new inner class mapping, from the given parameters.
      *
@@ -57,6 +62,28 @@ public class InnerClassMappingImpl extends AbstractClassMappingImpl<InnerClassMa
         return this.parentClass;
     }
 
+    @Override
+    public String getFullObfuscatedName() {
+        if (this.fullObfuscatedName == null) {
+            this.fullObfuscatedName = InnerClassMapping.super.getFullObfuscatedName();
+        }
+        return this.fullObfuscatedName;
+    }
+
+    @Override
+    public String getFullDeobfuscatedName() {
+        if (this.fullDeobfuscatedName == null) {
+            this.fullDeobfuscatedName = InnerClassMapping.super.getFullDeobfuscatedName();
+        }
+        return this.fullDeobfuscatedName;
+    }
+
+    @Override
+    protected void invalidateFullDeobfuscatedName() {
+        this.fullDeobfuscatedName = null;
+        super.invalidateFullDeobfuscatedName();
+    }
+
     @Override
     public String getSimpleObfuscatedName() {
         return stripAsciiDigits(this.getObfuscatedName());
@@ -73,7 +100,7 @@ public class InnerClassMappingImpl extends AbstractClassMappingImpl<InnerClassMa
         return this.getParent().hasDeobfuscatedName() || super.hasDeobfuscatedName();
     }
 
-    private static String stripAsciiDigits(final String name) {
+    static String stripAsciiDigits(final String name) {
         for (int pos = 0; pos < name.length(); pos++) {
             if (!isAsciiDigit(name.charAt(pos))) {
                 return name.substring(pos);
@@ -0,0 +1,170 @@
+/*
+ * This file is part of Lorenz, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamierocks.uk/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cadixdev.lorenz.impl.model;
+
+import org.cadixdev.bombe.type.signature.MethodSignature;
+import org.cadixdev.lorenz.MappingSet;
+import org.cadixdev.lorenz.model.ClassMapping;
+import org.cadixdev.lorenz.model.FieldMapping;
+import org.cadixdev.lorenz.model.InnerClassMapping;
+import org.cadixdev.lorenz.model.Mapping;
+import org.cadixdev.lorenz.model.MethodMapping;
+import org.cadixdev.lorenz.model.MethodParameterMapping;
+import org.cadixdev.lorenz.model.TopLevelClassMapping;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Produces the frozen model, for a {@link FrozenMappingSet}.
+ * <p>
+ * Freezing happens in two passes: first the class hierarchy is created,
+ * then the members of every class are frozen. Members are tracked by
+ * identity, so that members shared between classes through completion
+ * remain shared in the frozen model.
+ *
+ * @author Jamie Mansfield
+ * @since 0.6.0
+ */
+final class MappingFreezer {
+
+    private static final Comparator<Mapping<?, ?>> BY_OBFUSCATED_NAME = Comparator.comparing(Mapping::getObfuscatedName);
+
+    private final FrozenMappingSet mappings;
+    private final Map<ClassMapping<?, ?>, AbstractFrozenClassMappingImpl<?, ?>> classes = new IdentityHashMap<>();
+    private final Map<FieldMapping, FieldMapping> fields = new IdentityHashMap<>();
+    private final Map<MethodMapping, MethodMapping> methods = new IdentityHashMap<>();
+
+    MappingFreezer(final FrozenMappingSet mappings) {
+        this.mappings = mappings;
+    }
+
+    /**
+     * Freezes all of the class mappings of the given mapping set.
+     *
+     * @param source The mapping set to freeze
+     * @return The frozen top-level class mappings, sorted by obfuscated name
+     */
+    TopLevelClassMapping[] freeze(final MappingSet source) {
+        // Create the class hierarchy
+        final TopLevelClassMapping[] topLevelClasses = source.getTopLevelClassMappings().toArray(new TopLevelClassMapping[0]);
+        for (int i = 0; i < topLevelClasses.length; i++) {
+            final TopLevelClassMapping klass = topLevelClasses[i];
+            topLevelClasses[i] = this.freezeClass(klass,
+                    new FrozenTopLevelClassMappingImpl(this.mappings, klass.getObfuscatedName(), klass.getDeobfuscatedName()));
+        }
+        Arrays.sort(topLevelClasses, BY_OBFUSCATED_NAME);
+
+        // Populate the members, now that any class they could belong to exists
+        for (final Map.Entry<ClassMapping<?, ?>, AbstractFrozenClassMappingImpl<?, ?>> klass : this.classes.entrySet()) {
+            this.freezeMembers(klass.getKey(), klass.getValue());
+        }
+
+        return topLevelClasses;
+    }
+
+    private <T extends AbstractFrozenClassMappingImpl<?, ?>> T freezeClass(final ClassMapping<?, ?> source, final T frozen) {
+        this.classes.put(source, frozen);
+        this.mappings.registerClassMapping(frozen);
+
+        final InnerClassMapping[] innerClasses = source.getInnerClassMappings().toArray(AbstractFrozenClassMappingImpl.NO_INNER_CLASSES);
+        for (int i = 0; i < innerClasses.length; i++) {
+            final InnerClassMapping klass = innerClasses[i];
+            innerClasses[i] = this.freezeClass(klass,
+                    new FrozenInnerClassMappingImpl(frozen, klass.getObfuscatedName(), klass.getDeobfuscatedName()));
+        }
+        Arrays.sort(innerClasses, BY_OBFUSCATED_NAME);
+        frozen.innerClasses = innerClasses;
+
+        return frozen;
+    }
+
+    private void freezeMembers(final ClassMapping<?, ?> source, final AbstractFrozenClassMappingImpl<?, ?> frozen) {
+        // Classes that weren't complete may still be completed, once frozen
+        if (source.isComplete()) frozen.inherited = AbstractFrozenClassMappingImpl.Inherited.NONE;
+
+        frozen.fields = this.freezeFields(source.getFieldMappings().toArray(AbstractFrozenClassMappingImpl.NO_FIELDS), frozen);
+        frozen.fieldsByName = this.freezeFields(source.getFieldsByName().values().toArray(AbstractFrozenClassMappingImpl.NO_FIELDS), frozen);
+
+        final List<Map.Entry<MethodSignature, MethodMapping>> methods = new ArrayList<>();
+        if (source instanceof AbstractClassMappingImpl) {
+            // Completion may key a mapping by a signature other than its own (covariant
+            // return types), so we need the underlying table
+            methods.addAll(((AbstractClassMappingImpl<?, ?>) source).getMethodTable().entrySet());
+        }
+        else {
+            for (final MethodMapping method : source.getMethodMappings()) {
+                methods.add(new AbstractMap.SimpleImmutableEntry<>(method.getSignature(), method));
+            }
+        }
+        if (methods.isEmpty()) return;
+        methods.sort((a, b) -> a.getKey().getName().compareTo(b.getKey().getName()));
+
+        frozen.methodSignatures = new MethodSignature[methods.size()];
+        frozen.methods = new MethodMapping[methods.size()];
+        for (int i = 0; i < methods.size(); i++) {
+            final Map.Entry<MethodSignature, MethodMapping> method = methods.get(i);
+            frozen.methodSignatures[i] = method.getKey();
+            frozen.methods[i] = this.methods.computeIfAbsent(method.getValue(), mapping -> this.freezeMethod(mapping, frozen));
+        }
+    }
+
+    private FieldMapping[] freezeFields(final FieldMapping[] fields, final AbstractFrozenClassMappingImpl<?, ?> owner) {
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = this.fields.computeIfAbsent(fields[i], field ->
+                    new FrozenFieldMappingImpl(this.getParent(field.getParent(), owner), field.getSignature(), field.getDeobfuscatedName()));
+        }
+        Arrays.sort(fields, BY_OBFUSCATED_NAME);
+        return fields;
+    }
+
+    private MethodMapping freezeMethod(final MethodMapping method, final AbstractFrozenClassMappingImpl<?, ?> owner) {
+        final FrozenMethodMappingImpl frozen =
+                new FrozenMethodMappingImpl(this.getParent(method.getParent(), owner), method.getSignature(), method.getDeobfuscatedName());
+
+        final MethodParameterMapping[] parameters = method.getParameterMappings().toArray(FrozenMethodMappingImpl.NO_PARAMETERS);
+        for (int i = 0; i < parameters.length; i++) {
+            final MethodParameterMapping parameter = parameters[i];
+            parameters[i] = new FrozenMethodParameterMappingImpl(frozen, parameter.getIndex(), parameter.getDeobfuscatedName());
+        }
+        Arrays.sort(parameters, Comparator.comparingInt(MethodParameterMapping::getIndex));
+        frozen.parameters = parameters;
+
+        return frozen;
+    }
+
+    private ClassMapping<?, ?> getParent(final ClassMapping<?, ?> parent, final AbstractFrozenClassMappingImpl<?, ?> fallback) {
+        // Members are normally parented by a class of the set being frozen
+        final AbstractFrozenClassMappingImpl<?, ?> frozen = this.classes.get(parent);
+        return frozen != null ? frozen : fallback;
+    }
+
+}
@@ -30,13 +30,19 @@ import org.cadixdev.lorenz.model.ClassMapping;
 import org.cadixdev.lorenz.model.MethodMapping;
 import org.cadixdev.lorenz.model.MethodParameterMapping;
 
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Map;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.StringJoiner;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.TreeMap;
 
 /**
  * A basic implementation of {@link MethodMapping}.
@@ -48,8 +54,28 @@ public class MethodMappingImpl
         extends AbstractMemberMappingImpl<MethodMapping, ClassMapping>
         implements MethodMapping {
 
+    private static final MethodParameterMapping[] NO_PARAMETERS = new MethodParameterMapping[0];
+
+    /**
+     * The number of parameter slots a method may have, per the JVM
+     * specification - indices beyond which can't be addressed by the array.
+     */
+    private static final int MAX_PARAMETER_SLOTS = 255;
+
     private final MethodSignature signature;
-    private final Map<Integer, MethodParameterMapping> parameters = new ConcurrentHashMap<>();
+
+    // Parameter indices are small and dense, so the mappings are addressed by index - the
+    // array is replaced (never modified) on write, so it may be read without locking
+    private volatile MethodParameterMapping[] parameters = NO_PARAMETERS;
+
+    // Indices outside of the parameter slots of a method (which mappings files may still
+    // contain) are kept in a map - likewise replaced on write, and null until needed
+    private volatile NavigableMap<Integer, MethodParameterMapping> overflow;
+
+    // The full names are derived from those of the parent, so are cached - the
+    // de-obfuscated name being invalidated should it, or a parent's, change
+    private String fullObfuscatedName;
+    private String fullDeobfuscatedName;
 
     /**
      * Creates a new method mapping, from the given parameters.
@@ -68,27 +94,96 @@ public class MethodMappingImpl
         return this.signature;
     }
 
+    @Override
+    public String getFullObfuscatedName() {
+        if (this.fullObfuscatedName == null) {
+            this.fullObfuscatedName = MethodMapping.super.getFullObfuscatedName();
+        }
+        return this.fullObfuscatedName;
+    }
+
+    @Override
+    public String getFullDeobfuscatedName() {
+        if (this.fullDeobfuscatedName == null) {
+            this.fullDeobfuscatedName = MethodMapping.super.getFullDeobfuscatedName();
+        }
+        return this.fullDeobfuscatedName;
+    }
+
+    @Override
+    protected void invalidateFullDeobfuscatedName() {
+        this.fullDeobfuscatedName = null;
+    }
+
+    /**
+     * Establishes whether the parameters of this method mapping need to
+     * support concurrent modification, which is the case unless it was
+     * created by the {@link org.cadixdev.lorenz.impl.UnsynchronizedMappingSetModelFactory}.
+     *
+     * @return {@code true} if the parameters must be thread-safe
+     */
+    boolean isConcurrent() {
+        return true;
+    }
+
     @Override
     public Collection<MethodParameterMapping> getParameterMappings() {
-        return Collections.unmodifiableCollection(this.parameters.values());
+        return new ParameterMappings();
     }
 
     @Override
     public MethodParameterMapping createParameterMapping(final int index, final String deobfuscatedName) {
-        return this.parameters.compute(index, (i, mapping) -> {
-            if (mapping != null) return mapping.setDeobfuscatedName(deobfuscatedName);
-            return this.getMappings().getModelFactory().createMethodParameterMapping(this, i, deobfuscatedName);
-        });
+        if (!this.isConcurrent()) {
+            return this.putParameterMapping(index, deobfuscatedName);
+        }
+        synchronized (this) {
+            return this.putParameterMapping(index, deobfuscatedName);
+        }
+    }
+
+    private MethodParameterMapping putParameterMapping(final int index, final String deobfuscatedName) {
+        if (index < 0 || index >= MAX_PARAMETER_SLOTS) {
+            return this.putOverflowParameterMapping(index, deobfuscatedName);
+        }
+
+        final MethodParameterMapping[] parameters = this.parameters;
+        if (index < parameters.length && parameters[index] != null) {
+            return parameters[index].setDeobfuscatedName(deobfuscatedName);
+        }
+
+        final MethodParameterMapping mapping = this.getMappings().getModelFactory().createMethodParameterMapping(this, index, deobfuscatedName);
+        final MethodParameterMapping[] updated = Arrays.copyOf(parameters, Math.max(parameters.length, index + 1));
+        updated[index] = mapping;
+        this.parameters = updated;
+        return mapping;
+    }
+
+    private MethodParameterMapping putOverflowParameterMapping(final int index, final String deobfuscatedName) {
+        final NavigableMap<Integer, MethodParameterMapping> overflow = this.overflow;
+        final MethodParameterMapping existing = overflow == null ? null : overflow.get(index);
+        if (existing != null) {
+            return existing.setDeobfuscatedName(deobfuscatedName);
+        }
+
+        final MethodParameterMapping mapping = this.getMappings().getModelFactory().createMethodParameterMapping(this, index, deobfuscatedName);
+        final NavigableMap<Integer, MethodParameterMapping> updated = overflow == null ? new TreeMap<>() : new TreeMap<>(overflow);
+        updated.put(index, mapping);
+        this.overflow = updated;
+        return mapping;
     }
 
     @Override
     public Optional<MethodParameterMapping> getParameterMapping(final int index) {
-        return Optional.ofNullable(this.parameters.get(index));
+        final MethodParameterMapping[] parameters = this.parameters;
+        if (index >= 0 && index < parameters.length) return Optional.ofNullable(parameters[index]);
+
+        final NavigableMap<Integer, MethodParameterMapping> overflow = this.overflow;
+        return overflow == null ? Optional.empty() : Optional.ofNullable(overflow.get(index));
     }
 
     @Override
     public boolean hasParameterMapping(final int index) {
-        return this.parameters.containsKey(index);
+        return this.getParameterMapping(index).isPresent();
     }
 
     @Override
@@ -111,4 +206,59 @@ public class MethodMappingImpl
         return Objects.hash(super.hashCode(), this.signature);
     }
 
+    /**
+     * An unmodifiable view of the parameter mappings, in index order.
+     */
+    private final class ParameterMappings extends AbstractCollection<MethodParameterMapping> {
+
+        @Override
+        public Iterator<MethodParameterMapping> iterator() {
+            final MethodParameterMapping[] parameters = MethodMappingImpl.this.parameters;
+            final NavigableMap<Integer, MethodParameterMapping> overflow = MethodMappingImpl.this.overflow;
+            if (overflow != null) {
+                // Out of range indices fall either side of the array
+                final List<MethodParameterMapping> mappings = new ArrayList<>(overflow.headMap(0).values());
+                for (final MethodParameterMapping mapping : parameters) {
+                    if (mapping != null) mappings.add(mapping);
+                }
+                mappings.addAll(overflow.tailMap(0).values());
+                return Collections.unmodifiableList(mappings).iterator();
+            }
+
+            return new Iterator<MethodParameterMapping>() {
+                private int next = this.advance(0);
+
+                private int advance(int index) {
+                    while (index < parameters.length && parameters[index] == null) index++;
+                    return index;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return this.next < parameters.length;
+                }
+
+                @Override
+                public MethodParameterMapping next() {
+                    if (!this.hasNext()) throw new NoSuchElementException();
+                    final MethodParameterMapping mapping = parameters[this.next];
+                    this.next = this.advance(this.next + 1);
+                    return mapping;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+            for (final MethodParameterMapping mapping : MethodMappingImpl.this.parameters) {
+                if (mapping != null) size++;
+            }
+
+            final NavigableMap<Integer, MethodParameterMapping> overflow = MethodMappingImpl.this.overflow;
+            return overflow == null ? size : size + overflow.size();
+        }
+
+    }
+
 }
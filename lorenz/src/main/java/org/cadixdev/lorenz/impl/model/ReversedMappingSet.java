@@ -0,0 +1,230 @@
+/*
+ * This file is part of Lorenz, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamierocks.uk/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cadixdev.lorenz.impl.model;
+
+import org.cadixdev.bombe.type.FieldType;
+import org.cadixdev.bombe.type.MethodDescriptor;
+import org.cadixdev.bombe.type.signature.FieldSignature;
+import org.cadixdev.bombe.type.signature.MethodSignature;
+import org.cadixdev.lorenz.MappingSet;
+import org.cadixdev.lorenz.model.ClassMapping;
+import org.cadixdev.lorenz.model.FieldMapping;
+import org.cadixdev.lorenz.model.InnerClassMapping;
+import org.cadixdev.lorenz.model.MethodMapping;
+import org.cadixdev.lorenz.model.TopLevelClassMapping;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A lazily populated reverse of a {@link MappingSet}, as produced by
+ * {@link MappingSet#reversedView()}.
+ * <p>
+ * Rather than reversing the entire set up-front, top-level classes (along
+ * with their members and inner classes) are reversed from the original set
+ * the first time they are looked up - using the original set's
+ * {@link MappingSet#getClassMappingByDeobfuscatedName(String) de-obfuscated name index}.
+ * Types and descriptors are de-obfuscated by {@link MappingSet#obfuscate(FieldType) obfuscating}
+ * them with the original set, and so never require a class to be reversed.
+ * <p>
+ * Once a class has been reversed, it belongs to the view - later changes to
+ * the original set are not reflected in it, and changes made to it are not
+ * reflected in the original set. Operations over the whole set, such as
+ * iteration, will reverse all remaining classes.
+ *
+ * @author Jamie Mansfield
+ * @since 0.6.0
+ */
+public class ReversedMappingSet extends MappingSet {
+
+    private final MappingSet original;
+    private final Set<String> reversed = ConcurrentHashMap.newKeySet();
+    private final Set<String> reversing = new HashSet<>();
+    private volatile boolean complete;
+
+    /**
+     * Creates a reversed view of the given mapping set.
+     *
+     * @param original The mapping set to reverse
+     */
+    public ReversedMappingSet(final MappingSet original) {
+        super(original.getModelFactory());
+        this.setInternPool(original.getInternPool());
+        this.original = original;
+    }
+
+    /**
+     * Gets the mapping set that this view is the reverse of.
+     *
+     * @return The original mapping set
+     */
+    public MappingSet getOriginal() {
+        return this.original;
+    }
+
+    /**
+     * Reverses the top-level class, of the original set, of the given
+     * class mapping - should it not have already been reversed.
+     *
+     * @param mapping The class mapping, of the original set
+     */
+    private void reverseClass(final ClassMapping<?, ?> mapping) {
+        ClassMapping<?, ?> klass = mapping;
+        while (klass instanceof InnerClassMapping) {
+            klass = ((InnerClassMapping) klass).getParent();
+        }
+        final TopLevelClassMapping topLevel = (TopLevelClassMapping) klass;
+
+        final String name = topLevel.getFullObfuscatedName();
+        if (this.reversed.contains(name)) return;
+
+        // Reversing the class will re-enter this view to create it, so the
+        // class is marked as in progress before hand
+        synchronized (this.reversing) {
+            if (!this.reversing.add(name)) return;
+            topLevel.reverse(this);
+            this.reversed.add(name);
+        }
+    }
+
+    /**
+     * Reverses the class of the given name, within this view, should
+     * the original set contain a mapping for it.
+     *
+     * @param name The obfuscated name of the class, within this view
+     */
+    private void reverseClass(final String name) {
+        if (this.complete) return;
+        this.original.getClassMappingByDeobfuscatedName(name).ifPresent(this::reverseClass);
+    }
+
+    /**
+     * Reverses the class of the given de-obfuscated name, within this view,
+     * should the original set contain a mapping for it.
+     *
+     * @param name The de-obfuscated name of the class, within this view
+     */
+    private void reverseDeobfuscatedClass(final String name) {
+        if (this.complete) return;
+        this.original.getClassMapping(name).ifPresent(this::reverseClass);
+    }
+
+    private void reverseAll() {
+        if (this.complete) return;
+        this.original.getTopLevelClassMappings().forEach(this::reverseClass);
+        this.complete = true;
+    }
+
+    @Override
+    public Collection<TopLevelClassMapping> getTopLevelClassMappings() {
+        this.reverseAll();
+        return super.getTopLevelClassMappings();
+    }
+
+    @Override
+    public TopLevelClassMapping createTopLevelClassMapping(final String obfuscatedName, final String deobfuscatedName) {
+        this.reverseClass(obfuscatedName.replace('.', '/'));
+        return super.createTopLevelClassMapping(obfuscatedName, deobfuscatedName);
+    }
+
+    @Override
+    public Optional<TopLevelClassMapping> getTopLevelClassMapping(final String obfuscatedName) {
+        this.reverseClass(obfuscatedName.replace('.', '/'));
+        return super.getTopLevelClassMapping(obfuscatedName);
+    }
+
+    @Override
+    public boolean hasTopLevelClassMapping(final String obfuscatedName) {
+        this.reverseClass(obfuscatedName.replace('.', '/'));
+        return super.hasTopLevelClassMapping(obfuscatedName);
+    }
+
+    @Override
+    public Optional<? extends ClassMapping<?, ?>> getClassMapping(final String obfuscatedName) {
+        this.reverseClass(obfuscatedName.replace('.', '/'));
+        return super.getClassMapping(obfuscatedName);
+    }
+
+    @Override
+    public Optional<? extends ClassMapping<?, ?>> computeClassMapping(final String obfuscatedName) {
+        this.reverseClass(obfuscatedName.replace('.', '/'));
+        return super.computeClassMapping(obfuscatedName);
+    }
+
+    @Override
+    public ClassMapping<?, ?> getOrCreateClassMapping(final String obfuscatedName) {
+        this.reverseClass(obfuscatedName.replace('.', '/'));
+        return super.getOrCreateClassMapping(obfuscatedName);
+    }
+
+    @Override
+    public Optional<? extends ClassMapping<?, ?>> getClassMappingByDeobfuscatedName(final String deobfuscatedName) {
+        this.reverseDeobfuscatedClass(deobfuscatedName.replace('.', '/'));
+        return super.getClassMappingByDeobfuscatedName(deobfuscatedName);
+    }
+
+    @Override
+    public Optional<FieldMapping> getFieldMappingByDeobfuscatedSignature(final String owner, final FieldSignature signature) {
+        this.reverseDeobfuscatedClass(owner.replace('.', '/'));
+        return super.getFieldMappingByDeobfuscatedSignature(owner, signature);
+    }
+
+    @Override
+    public Optional<MethodMapping> getMethodMappingByDeobfuscatedSignature(final String owner, final MethodSignature signature) {
+        this.reverseDeobfuscatedClass(owner.replace('.', '/'));
+        return super.getMethodMappingByDeobfuscatedSignature(owner, signature);
+    }
+
+    @Override
+    public FieldType deobfuscate(final FieldType type) {
+        return this.original.obfuscate(type);
+    }
+
+    @Override
+    public MethodDescriptor deobfuscate(final MethodDescriptor descriptor) {
+        return this.original.obfuscate(descriptor);
+    }
+
+    @Override
+    public FieldType obfuscate(final FieldType type) {
+        return this.original.deobfuscate(type);
+    }
+
+    @Override
+    public MethodDescriptor obfuscate(final MethodDescriptor descriptor) {
+        return this.original.deobfuscate(descriptor);
+    }
+
+    @Override
+    public Iterator<TopLevelClassMapping> iterator() {
+        return this.getTopLevelClassMappings().iterator();
+    }
+
+}
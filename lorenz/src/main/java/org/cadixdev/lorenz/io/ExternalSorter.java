@@ -0,0 +1,163 @@
+/*
+ * This file is part of Lorenz, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamierocks.uk/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cadixdev.lorenz.io;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * Sorts lines of text that need not fit in memory, by spilling sorted
+ * runs of lines to temporary files and merging them.
+ *
+ * @see MappingConverter
+ *
+ * @author Jamie Mansfield
+ * @since 0.6.0
+ */
+final class ExternalSorter implements Closeable {
+
+    private final int threshold;
+    private final Path directory;
+    private final List<String> lines = new ArrayList<>();
+    private final List<Path> runs = new ArrayList<>();
+
+    /**
+     * Creates a new external sorter.
+     *
+     * @param threshold The number of lines held in memory, before they are
+     *                  spilled to disk
+     * @param directory The directory to spill to, or {@code null} for the
+     *                  default temporary-file directory
+     */
+    ExternalSorter(final int threshold, final Path directory) {
+        this.threshold = threshold;
+        this.directory = directory;
+    }
+
+    /**
+     * Adds the given line, which mustn't contain any line breaks.
+     *
+     * @param line The line
+     * @throws IOException Should an I/O issue occur while spilling
+     */
+    void add(final String line) throws IOException {
+        this.lines.add(line);
+        if (this.lines.size() >= this.threshold) this.spill();
+    }
+
+    /**
+     * Gives every line added to the given consumer, in order.
+     *
+     * @param consumer The consumer
+     * @throws IOException Should an I/O issue occur
+     */
+    void forEach(final Consumer<String> consumer) throws IOException {
+        // Everything fit in memory, so there is nothing to merge
+        if (this.runs.isEmpty()) {
+            Collections.sort(this.lines);
+            this.lines.forEach(consumer);
+            return;
+        }
+        if (!this.lines.isEmpty()) this.spill();
+
+        final List<BufferedReader> readers = new ArrayList<>(this.runs.size());
+        final PriorityQueue<Run> queue = new PriorityQueue<>(this.runs.size(), Comparator.comparing(run -> run.line));
+        try {
+            for (final Path path : this.runs) {
+                final BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+                readers.add(reader);
+
+                final String line = reader.readLine();
+                if (line != null) queue.add(new Run(reader, line));
+            }
+
+            Run run;
+            while ((run = queue.poll()) != null) {
+                consumer.accept(run.line);
+                run.line = run.reader.readLine();
+                if (run.line != null) queue.add(run);
+            }
+        } finally {
+            for (final BufferedReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    private void spill() throws IOException {
+        final Path path = this.directory == null ?
+                Files.createTempFile("lorenz", ".run") :
+                Files.createTempFile(this.directory, "lorenz", ".run");
+        this.runs.add(path);
+
+        Collections.sort(this.lines);
+        try (final BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            for (final String line : this.lines) {
+                writer.write(line);
+                writer.write('\n');
+            }
+        }
+        this.lines.clear();
+    }
+
+    /**
+     * Removes the lines held in memory, and deletes those spilled to disk.
+     *
+     * @throws IOException Should an I/O issue occur
+     */
+    @Override
+    public void close() throws IOException {
+        this.lines.clear();
+        for (final Path path : this.runs) {
+            Files.deleteIfExists(path);
+        }
+        this.runs.clear();
+    }
+
+    private static final class Run {
+
+        private final BufferedReader reader;
+        private String line;
+
+        Run(final BufferedReader reader, final String line) {
+            this.reader = reader;
+            this.line = line;
+        }
+
+    }
+
+}
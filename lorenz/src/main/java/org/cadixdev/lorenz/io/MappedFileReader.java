@@ -0,0 +1,209 @@
+/*
+ * This file is part of Lorenz, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamierocks.uk/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cadixdev.lorenz.io;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A {@link BufferedReader} for a UTF-8 encoded file, that memory-maps the
+ * file and reads its lines straight from the mapped bytes.
+ * <p>
+ * Lines that are entirely ASCII - as most lines of mapping files are -
+ * are copied into {@link String}s without passing through a decoder, with
+ * only other lines being decoded as UTF-8. Should characters be read other
+ * than by line, the remainder of the file is decoded as a stream. As with an
+ * {@link InputStreamReader}, malformed input is replaced rather than
+ * reported.
+ * <p>
+ * Note: Java provides no means of releasing a memory mapping, other than
+ * the garbage collection of its buffer - which closing the reader allows
+ * for. Until then the file remains mapped, and on some platforms, notably
+ * Windows, it can't be modified or deleted. Files that are to be written
+ * to shortly after being read should be read through another reader.
+ *
+ * @author Jamie Mansfield
+ * @since 0.6.0
+ */
+public class MappedFileReader extends BufferedReader {
+
+    private MappedByteBuffer buffer;
+    private int position;
+    private byte[] line = new byte[256];
+    private BufferedReader fallback;
+
+    /**
+     * Creates a reader, for the given file - which must be no larger
+     * than {@link Integer#MAX_VALUE} bytes.
+     *
+     * @param path The path of the file
+     * @throws IOException Should the file not be readable
+     */
+    public MappedFileReader(final Path path) throws IOException {
+        // All of the reading methods are overridden, so the underlying
+        // reader is never used
+        super(new StringReader(""), 1);
+
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) throw new IOException("The file is too large to be mapped!");
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    @Override
+    public String readLine() throws IOException {
+        if (this.fallback != null) return this.fallback.readLine();
+        final MappedByteBuffer buffer = this.ensureOpen();
+
+        final int limit = buffer.limit();
+        if (this.position >= limit) return null;
+
+        // Find the end of the line, noting whether it is all ASCII
+        final int start = this.position;
+        int end = start;
+        boolean ascii = true;
+        for (; end < limit; end++) {
+            final byte b = buffer.get(end);
+            if (b == '\n' || b == '\r') break;
+            if (b < 0) ascii = false;
+        }
+
+        // Consume the line terminator - being \n, \r, or \r\n
+        this.position = end;
+        if (end < limit) {
+            this.position += buffer.get(end) == '\r' && end + 1 < limit && buffer.get(end + 1) == '\n' ? 2 : 1;
+        }
+
+        final int length = end - start;
+        if (this.line.length < length) this.line = new byte[Math.max(length, this.line.length * 2)];
+        final ByteBuffer view = buffer.duplicate();
+        view.position(start);
+        view.get(this.line, 0, length);
+        return ascii ?
+                new String(this.line, 0, length, StandardCharsets.ISO_8859_1) :
+                decoder().decode(ByteBuffer.wrap(this.line, 0, length)).toString();
+    }
+
+    @Override
+    public int read() throws IOException {
+        return this.fallback().read();
+    }
+
+    @Override
+    public int read(final char[] cbuf, final int off, final int len) throws IOException {
+        return this.fallback().read(cbuf, off, len);
+    }
+
+    @Override
+    public long skip(final long n) throws IOException {
+        return this.fallback().skip(n);
+    }
+
+    @Override
+    public boolean ready() throws IOException {
+        if (this.fallback != null) return this.fallback.ready();
+        return this.position < this.ensureOpen().limit();
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void mark(final int readAheadLimit) throws IOException {
+        throw new IOException("mark() not supported!");
+    }
+
+    @Override
+    public void reset() throws IOException {
+        throw new IOException("reset() not supported!");
+    }
+
+    @Override
+    public void close() throws IOException {
+        // The mapping is released once the buffer is collected, so neither
+        // it nor the fallback reader reading from it may be retained
+        this.buffer = null;
+        if (this.fallback != null) {
+            this.fallback.close();
+            this.fallback = null;
+        }
+        super.close();
+    }
+
+    private static CharsetDecoder decoder() {
+        return StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    private MappedByteBuffer ensureOpen() throws IOException {
+        if (this.buffer == null) throw new IOException("Stream closed");
+        return this.buffer;
+    }
+
+    private BufferedReader fallback() throws IOException {
+        if (this.fallback == null) {
+            final MappedByteBuffer buffer = this.ensureOpen();
+            final InputStream remainder = new InputStream() {
+                @Override
+                public int read() {
+                    return MappedFileReader.this.position < buffer.limit() ?
+                            buffer.get(MappedFileReader.this.position++) & 0xFF :
+                            -1;
+                }
+
+                @Override
+                public int read(final byte[] b, final int off, final int len) {
+                    final int available = buffer.limit() - MappedFileReader.this.position;
+                    if (len == 0) return 0;
+                    if (available <= 0) return -1;
+                    final int read = Math.min(len, available);
+                    final ByteBuffer view = buffer.duplicate();
+                    view.position(MappedFileReader.this.position);
+                    view.get(b, off, read);
+                    MappedFileReader.this.position += read;
+                    return read;
+                }
+            };
+            this.fallback = new BufferedReader(new InputStreamReader(remainder, StandardCharsets.UTF_8));
+        }
+        return this.fallback;
+    }
+
+}
@@ -0,0 +1,260 @@
+/*
+ * This file is part of Lorenz, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamierocks.uk/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cadixdev.lorenz.io;
+
+import org.cadixdev.lorenz.MappingSet;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * Converts mappings files from one {@link MappingFormat format} to another.
+ * <p>
+ * Where the target format's writer {@link TextMappingsWriter#createVisitor() can write}
+ * mappings as they are read, and the source format's reader can
+ * {@link MappingsReader#accept(MappingVisitor) emit} them, mappings are piped
+ * from one to the other without a {@link MappingSet} being built. Formats that
+ * need mappings grouped by class have them sorted first - in memory, or
+ * should there be more than the {@link #setSpillThreshold(int) spill threshold},
+ * by spilling sorted runs to disk and merging them. Otherwise, the mappings
+ * are read into a {@link MappingSet}, and written from that.
+ *
+ * @author Jamie Mansfield
+ * @since 0.6.0
+ */
+public class MappingConverter {
+
+    private static final char SEPARATOR = '\t';
+
+    private final MappingFormat from;
+    private final MappingFormat to;
+    private int spillThreshold = 100_000;
+    private Path spillDirectory;
+
+    /**
+     * Creates a new mappings converter.
+     *
+     * @param from The format to convert from
+     * @param to The format to convert to
+     */
+    public MappingConverter(final MappingFormat from, final MappingFormat to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Gets the format being converted from.
+     *
+     * @return The source format
+     */
+    public MappingFormat getFrom() {
+        return this.from;
+    }
+
+    /**
+     * Gets the format being converted to.
+     *
+     * @return The target format
+     */
+    public MappingFormat getTo() {
+        return this.to;
+    }
+
+    /**
+     * Gets the number of mappings that are sorted in memory, before they
+     * are spilled to disk.
+     *
+     * @return The spill threshold
+     */
+    public int getSpillThreshold() {
+        return this.spillThreshold;
+    }
+
+    /**
+     * Sets the number of mappings that are sorted in memory, before they
+     * are spilled to disk.
+     *
+     * @param spillThreshold The spill threshold
+     * @return {@code this}, for chaining
+     * @throws IllegalArgumentException If the spill threshold isn't positive
+     */
+    public MappingConverter setSpillThreshold(final int spillThreshold) {
+        if (spillThreshold <= 0) throw new IllegalArgumentException("The spill threshold must be positive!");
+        this.spillThreshold = spillThreshold;
+        return this;
+    }
+
+    /**
+     * Sets the directory that sorted mappings are spilled to, or
+     * {@code null} to use the default temporary-file directory - as
+     * is the default.
+     *
+     * @param spillDirectory The spill directory
+     * @return {@code this}, for chaining
+     */
+    public MappingConverter setSpillDirectory(final Path spillDirectory) {
+        this.spillDirectory = spillDirectory;
+        return this;
+    }
+
+    /**
+     * Converts the given mappings file, writing it to the given path.
+     *
+     * @param input The path of the mappings file to convert
+     * @param output The path to write the converted mappings to
+     * @throws IOException Should an I/O issue occur
+     */
+    public void convert(final Path input, final Path output) throws IOException {
+        try (final MappingsReader reader = this.from.createReader(input);
+             final MappingsWriter writer = this.to.createWriter(output)) {
+            this.convert(reader, writer);
+        }
+    }
+
+    /**
+     * Converts the mappings from the given reader, writing them to the
+     * given writer.
+     *
+     * @param reader The reader, of the source format
+     * @param writer The writer, of the target format
+     * @throws IOException Should an I/O issue occur
+     */
+    public void convert(final MappingsReader reader, final MappingsWriter writer) throws IOException {
+        final MappingVisitor visitor = writer instanceof TextMappingsWriter ?
+                ((TextMappingsWriter) writer).createVisitor() :
+                null;
+
+        // The target format needs a complete mapping set
+        if (visitor == null) {
+            writer.write(reader.read());
+            return;
+        }
+
+        // The target format can write mappings in any order
+        if (!((TextMappingsWriter) writer).isGroupedByClass()) {
+            reader.accept(visitor);
+            return;
+        }
+
+        try (final ExternalSorter sorter = new ExternalSorter(this.spillThreshold, this.spillDirectory)) {
+            try {
+                reader.accept(new SortingVisitor(sorter));
+                sorter.forEach(line -> replay(line, visitor));
+            } catch (final UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+            visitor.visitEnd();
+        }
+    }
+
+    private static void replay(final String line, final MappingVisitor visitor) {
+        final String[] values = line.split(String.valueOf(SEPARATOR), -1);
+        switch (values[1]) {
+            case "0":
+                visitor.visitClass(values[0], orNull(values[2]));
+                break;
+            case "1":
+                visitor.visitField(values[0], values[2], orNull(values[3]), orNull(values[4]));
+                break;
+            case "2":
+                if (values[4].isEmpty()) {
+                    visitor.visitMethod(values[0], values[2], values[3], orNull(values[5]));
+                } else {
+                    visitor.visitParameter(values[0], values[2], values[3], Integer.parseInt(values[4]), orNull(values[5]));
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unknown mapping rank: " + values[1] + "!");
+        }
+    }
+
+    private static String orNull(final String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String join(final String... values) {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) builder.append(SEPARATOR);
+            if (values[i] != null) builder.append(values[i]);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * A {@link MappingVisitor} that adds every event to an
+     * {@link ExternalSorter}, as a line.
+     * <p>
+     * Lines are tab-separated values, beginning with the class they belong
+     * to - followed by a rank that places the class before its fields, and
+     * its fields before its methods. The tab sorts before any character of
+     * a class name, so a class's lines are never split by those of its
+     * inner classes. A parameter's line begins with that of its method, so
+     * follows it.
+     */
+    private static class SortingVisitor implements MappingVisitor {
+
+        private final ExternalSorter sorter;
+
+        SortingVisitor(final ExternalSorter sorter) {
+            this.sorter = sorter;
+        }
+
+        @Override
+        public void visitClass(final String obfuscatedName, final String deobfuscatedName) {
+            this.add(join(obfuscatedName, "0", deobfuscatedName));
+        }
+
+        @Override
+        public void visitField(final String owner, final String obfuscatedName, final String obfuscatedType,
+                final String deobfuscatedName) {
+            this.add(join(owner, "1", obfuscatedName, obfuscatedType, deobfuscatedName));
+        }
+
+        @Override
+        public void visitMethod(final String owner, final String obfuscatedName, final String obfuscatedDescriptor,
+                final String deobfuscatedName) {
+            this.add(join(owner, "2", obfuscatedName, obfuscatedDescriptor, null, deobfuscatedName));
+        }
+
+        @Override
+        public void visitParameter(final String owner, final String methodName, final String methodDescriptor,
+                final int index, final String deobfuscatedName) {
+            this.add(join(owner, "2", methodName, methodDescriptor, String.valueOf(index), deobfuscatedName));
+        }
+
+        private void add(final String line) {
+            try {
+                this.sorter.add(line);
+            } catch (final IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+    }
+
+}
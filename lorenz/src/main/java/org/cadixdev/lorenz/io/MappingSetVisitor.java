@@ -0,0 +1,108 @@
+/*
+ * This file is part of Lorenz, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamierocks.uk/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cadixdev.lorenz.io;
+
+import org.cadixdev.lorenz.MappingSet;
+import org.cadixdev.lorenz.model.ClassMapping;
+import org.cadixdev.lorenz.model.FieldMapping;
+import org.cadixdev.lorenz.model.MethodMapping;
+
+/**
+ * A {@link MappingVisitor} that builds a {@link MappingSet} from the
+ * events it visits.
+ *
+ * @author Jamie Mansfield
+ * @since 0.6.0
+ */
+public class MappingSetVisitor implements MappingVisitor {
+
+    private final MappingSet mappings;
+
+    // Members are typically visited alongside those of the same class, so
+    // the last class is kept - saving looking it up again
+    private String lastOwner;
+    private ClassMapping<?, ?> lastClass;
+
+    /**
+     * Creates a visitor, that will build mappings into the given
+     * {@link MappingSet}.
+     *
+     * @param mappings The mapping set
+     */
+    public MappingSetVisitor(final MappingSet mappings) {
+        this.mappings = mappings;
+    }
+
+    /**
+     * Gets the mapping set being built by the visitor.
+     *
+     * @return The mappings
+     */
+    public MappingSet getMappings() {
+        return this.mappings;
+    }
+
+    @Override
+    public void visitClass(final String obfuscatedName, final String deobfuscatedName) {
+        final ClassMapping<?, ?> klass = this.getClass(obfuscatedName);
+        if (deobfuscatedName != null) klass.setDeobfuscatedName(deobfuscatedName);
+    }
+
+    @Override
+    public void visitField(final String owner, final String obfuscatedName, final String obfuscatedType,
+            final String deobfuscatedName) {
+        final ClassMapping<?, ?> klass = this.getClass(owner);
+        final FieldMapping field = obfuscatedType == null ?
+                klass.getOrCreateFieldMapping(obfuscatedName) :
+                klass.getOrCreateFieldMapping(obfuscatedName, obfuscatedType);
+        if (deobfuscatedName != null) field.setDeobfuscatedName(deobfuscatedName);
+    }
+
+    @Override
+    public void visitMethod(final String owner, final String obfuscatedName, final String obfuscatedDescriptor,
+            final String deobfuscatedName) {
+        final MethodMapping method = this.getClass(owner).getOrCreateMethodMapping(obfuscatedName, obfuscatedDescriptor);
+        if (deobfuscatedName != null) method.setDeobfuscatedName(deobfuscatedName);
+    }
+
+    @Override
+    public void visitParameter(final String owner, final String methodName, final String methodDescriptor,
+            final int index, final String deobfuscatedName) {
+        this.getClass(owner)
+                .getOrCreateMethodMapping(methodName, methodDescriptor)
+                .getOrCreateParameterMapping(index)
+                .setDeobfuscatedName(deobfuscatedName);
+    }
+
+    private ClassMapping<?, ?> getClass(final String name) {
+        if (!name.equals(this.lastOwner)) {
+            this.lastClass = this.mappings.getOrCreateClassMapping(name);
+            this.lastOwner = name;
+        }
+        return this.lastClass;
+    }
+
+}
@@ -0,0 +1,107 @@
+/*
+ * This file is part of Lorenz, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamierocks.uk/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cadixdev.lorenz.io;
+
+import org.cadixdev.lorenz.MappingSet;
+
+/**
+ * A visitor of the mappings within a mappings file, or {@link MappingSet},
+ * as a stream of events - allowing mappings to be filtered, counted or
+ * converted without building a {@link MappingSet} of them.
+ * <p>
+ * Every event names the class it belongs to, by its full obfuscated name,
+ * so events need not be emitted in any particular order. De-obfuscated
+ * names may be {@code null}, where an element has no de-obfuscated name.
+ * All of the events do nothing by default.
+ *
+ * @see MappingsReader#accept(MappingVisitor)
+ * @see MappingSet#accept(MappingVisitor)
+ * @see MappingSetVisitor
+ *
+ * @author Jamie Mansfield
+ * @since 0.6.0
+ */
+public interface MappingVisitor {
+
+    /**
+     * Visits a class mapping.
+     *
+     * @param obfuscatedName The full obfuscated name of the class
+     * @param deobfuscatedName The full de-obfuscated name of the class,
+     *                         or {@code null}
+     */
+    default void visitClass(final String obfuscatedName, final String deobfuscatedName) {
+    }
+
+    /**
+     * Visits a field mapping.
+     *
+     * @param owner The full obfuscated name of the owning class
+     * @param obfuscatedName The obfuscated name of the field
+     * @param obfuscatedType The obfuscated type of the field, as a
+     *                       descriptor - or {@code null}, should it
+     *                       not be known
+     * @param deobfuscatedName The de-obfuscated name of the field,
+     *                         or {@code null}
+     */
+    default void visitField(final String owner, final String obfuscatedName, final String obfuscatedType,
+            final String deobfuscatedName) {
+    }
+
+    /**
+     * Visits a method mapping.
+     *
+     * @param owner The full obfuscated name of the owning class
+     * @param obfuscatedName The obfuscated name of the method
+     * @param obfuscatedDescriptor The obfuscated descriptor of the method
+     * @param deobfuscatedName The de-obfuscated name of the method,
+     *                         or {@code null}
+     */
+    default void visitMethod(final String owner, final String obfuscatedName, final String obfuscatedDescriptor,
+            final String deobfuscatedName) {
+    }
+
+    /**
+     * Visits a method parameter mapping.
+     *
+     * @param owner The full obfuscated name of the owning class
+     * @param methodName The obfuscated name of the owning method
+     * @param methodDescriptor The obfuscated descriptor of the owning method
+     * @param index The index of the parameter
+     * @param deobfuscatedName The de-obfuscated name of the parameter
+     */
+    default void visitParameter(final String owner, final String methodName, final String methodDescriptor,
+            final int index, final String deobfuscatedName) {
+    }
+
+    /**
+     * Visits the end of the mappings, after which no further events
+     * will be emitted.
+     */
+    default void visitEnd() {
+    }
+
+}
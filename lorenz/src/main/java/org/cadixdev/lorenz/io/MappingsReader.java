@@ -63,4 +63,19 @@ public abstract class MappingsReader implements Closeable {
      */
     public abstract MappingSet read(final MappingSet mappings) throws IOException;
 
+    /**
+     * Reads mappings from the previously given {@link InputStream}, emitting
+     * them to the given {@link MappingVisitor}.
+     * <p>
+     * Readers that can't emit mappings as they read them will read them
+     * into a {@link MappingSet}, that is then visited.
+     *
+     * @param visitor The visitor
+     * @throws IOException Should an I/O issue occur
+     * @since 0.6.0
+     */
+    public void accept(final MappingVisitor visitor) throws IOException {
+        this.read().accept(visitor);
+    }
+
 }
@@ -60,8 +60,18 @@ public interface TextMappingFormat extends MappingFormat {
         return this.createReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Files no larger than {@link Integer#MAX_VALUE} bytes are memory-mapped,
+     * and read through a {@link MappedFileReader} - which, on some platforms,
+     * keeps the file locked until the mapping is garbage collected.
+     */
     @Override
     default MappingsReader createReader(final Path path) throws IOException {
+        if (Files.size(path) <= Integer.MAX_VALUE) {
+            return this.createReader(new MappedFileReader(path));
+        }
         return this.createReader(Files.newBufferedReader(path));
     }
 
@@ -26,6 +26,7 @@
 package org.cadixdev.lorenz.io;
 
 import org.cadixdev.lorenz.MappingSet;
+import org.cadixdev.lorenz.impl.UnsynchronizedMappingSetModelFactory;
 import org.cadixdev.lorenz.io.srg.SrgReader;
 import org.cadixdev.lorenz.io.srg.csrg.CSrgReader;
 import org.cadixdev.lorenz.io.srg.tsrg.TSrgReader;
@@ -33,6 +34,13 @@ import org.cadixdev.lorenz.io.srg.tsrg.TSrgReader;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.regex.Pattern;
@@ -41,6 +49,11 @@ import java.util.regex.Pattern;
  * An implementation of {@link MappingsReader} designed to aid
  * with the implementation of mapping readers for text-based
  * mapping formats.
+ * <p>
+ * The lines of formats in which every line stands alone - naming the
+ * class it belongs to - may be read in {@link #setParallelism(int) parallel},
+ * by splitting the input into chunks of lines that are processed on a
+ * fork-join pool.
  *
  * @see SrgReader
  * @see CSrgReader
@@ -51,8 +64,14 @@ import java.util.regex.Pattern;
  */
 public abstract class TextMappingsReader extends MappingsReader {
 
+    /**
+     * The number of lines processed together, when reading in parallel.
+     */
+    private static final int CHUNK_SIZE = 4096;
+
     protected final BufferedReader reader;
     protected final Function<MappingSet, Processor> processor;
+    private int parallelism = 1;
 
     /**
      * Creates a new mappings reader, for the given {@link Reader}.
@@ -65,8 +84,59 @@ public abstract class TextMappingsReader extends MappingsReader {
         this.processor = processor;
     }
 
+    /**
+     * Gets the number of threads, that lines will be processed on.
+     *
+     * @return The parallelism
+     * @since 0.6.0
+     */
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
+    /**
+     * Sets the number of threads, that lines will be processed on - by
+     * default {@code 1}, reading the lines sequentially.
+     * <p>
+     * Lines are only processed in parallel for formats that
+     * {@link #isLineIndependent() allow it}, and when reading into a mapping
+     * set whose models are safe for concurrent modification - those of the
+     * {@link UnsynchronizedMappingSetModelFactory} never being. The mappings
+     * read are the same as those of a sequential read, though should the
+     * input map the same member more than once, which of its mappings is kept
+     * is undefined.
+     *
+     * @param parallelism The parallelism
+     * @return {@code this}, for chaining
+     * @throws IllegalArgumentException If the parallelism isn't positive
+     * @since 0.6.0
+     */
+    public TextMappingsReader setParallelism(final int parallelism) {
+        if (parallelism <= 0) throw new IllegalArgumentException("The parallelism must be positive!");
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Establishes whether every line of the format can be processed on its
+     * own, independent of those before it - allowing the lines to be
+     * processed in parallel.
+     *
+     * @return {@code true} if the lines are independent;
+     *         {@code false} otherwise
+     * @since 0.6.0
+     */
+    protected boolean isLineIndependent() {
+        return false;
+    }
+
     @Override
     public MappingSet read(final MappingSet mappings) {
+        if (this.parallelism > 1 && this.isLineIndependent() &&
+                !(mappings.getModelFactory() instanceof UnsynchronizedMappingSetModelFactory)) {
+            return this.readParallel(mappings);
+        }
+
         final Processor processor = this.processor.apply(mappings);
         this.reader.lines()
                 // Process line
@@ -74,6 +144,78 @@ public abstract class TextMappingsReader extends MappingsReader {
         return mappings;
     }
 
+    private MappingSet readParallel(final MappingSet mappings) {
+        final ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+        try {
+            // Only a bounded number of chunks are read ahead of those being
+            // processed, so the whole input is never held in memory
+            final int window = this.parallelism * 4;
+            final Deque<ForkJoinTask<?>> pending = new ArrayDeque<>(window);
+
+            List<String> chunk = new ArrayList<>(CHUNK_SIZE);
+            String line;
+            while ((line = this.reader.readLine()) != null) {
+                chunk.add(line);
+                if (chunk.size() < CHUNK_SIZE) continue;
+
+                pending.add(pool.submit(this.process(mappings, chunk)));
+                chunk = new ArrayList<>(CHUNK_SIZE);
+                while (pending.size() >= window) {
+                    pending.poll().join();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                pending.add(pool.submit(this.process(mappings, chunk)));
+            }
+            while (!pending.isEmpty()) {
+                pending.poll().join();
+            }
+        }
+        catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        finally {
+            pool.shutdownNow();
+        }
+        return mappings;
+    }
+
+    private Runnable process(final MappingSet mappings, final List<String> lines) {
+        return () -> lines.forEach(this.processor.apply(mappings));
+    }
+
+    /**
+     * Creates a processor for the format, that emits the mappings it reads
+     * to the given visitor - allowing the lines to be streamed through
+     * {@link #accept(MappingVisitor)}, without a {@link MappingSet} being
+     * built.
+     * <p>
+     * Formats that don't support this needn't override the method, as they
+     * will be read into a {@link MappingSet} that is then visited.
+     *
+     * @param visitor The visitor
+     * @return The processor, or {@code null} should the format not support
+     *         emitting to a visitor
+     * @since 0.6.0
+     */
+    protected Processor createProcessor(final MappingVisitor visitor) {
+        return null;
+    }
+
+    @Override
+    public void accept(final MappingVisitor visitor) throws IOException {
+        final Processor processor = this.createProcessor(visitor);
+        if (processor == null) {
+            super.accept(visitor);
+            return;
+        }
+
+        this.reader.lines()
+                // Process line
+                .forEach(processor);
+        visitor.visitEnd();
+    }
+
     @Override
     public void close() throws IOException {
         this.reader.close();
@@ -95,8 +237,22 @@ public abstract class TextMappingsReader extends MappingsReader {
          */
         protected static final Pattern SPACE = Pattern.compile(" ", Pattern.LITERAL);
 
+        /**
+         * The mapping set being read into - which is {@code null} for
+         * processors emitting mappings to a visitor that doesn't build a set.
+         * Such processors must instead emit mappings to the {@link #visitor},
+         * and {@link #getMappings()} throws for them.
+         */
         protected final MappingSet mappings;
 
+        /**
+         * The visitor that mappings are emitted to - which, for processors
+         * reading into a {@link MappingSet}, builds them into it.
+         *
+         * @since 0.6.0
+         */
+        protected final MappingVisitor visitor;
+
         /**
          * Creates a mappings parser, to process the lines in a
          * mappings file.
@@ -105,15 +261,33 @@ public abstract class TextMappingsReader extends MappingsReader {
          */
         protected Processor(final MappingSet mappings) {
             this.mappings = mappings;
+            this.visitor = new MappingSetVisitor(mappings);
+        }
+
+        /**
+         * Creates a mappings parser, to process the lines in a mappings
+         * file - emitting the mappings to the given visitor.
+         *
+         * @param visitor The visitor
+         * @since 0.6.0
+         */
+        protected Processor(final MappingVisitor visitor) {
+            this.mappings = visitor instanceof MappingSetVisitor ? ((MappingSetVisitor) visitor).getMappings() : null;
+            this.visitor = visitor;
         }
 
         /**
          * Gets the mapping set being read into by the processor.
          *
          * @return The mappings
+         * @throws IllegalStateException Should the processor emit mappings
+         *                               to a visitor that doesn't build a set
          * @since 0.5.7
          */
         public MappingSet getMappings() {
+            if (this.mappings == null) {
+                throw new IllegalStateException("The processor emits mappings to a visitor, rather than a mapping set!");
+            }
             return this.mappings;
         }
 
@@ -37,6 +37,10 @@ import java.io.Writer;
  * An implementation of {@link MappingsWriter} designed to aid
  * with the implementation of mapping writers for text-based
  * mapping formats.
+ * <p>
+ * Formats whose lines can be written from a single {@link MappingVisitor}
+ * event may {@link #createVisitor() provide a visitor}, allowing a
+ * {@link MappingConverter} to write mappings as they are read.
  *
  * @see SrgWriter
  * @see CSrgWriter
@@ -62,6 +66,35 @@ public abstract class TextMappingsWriter extends MappingsWriter {
         }
     }
 
+    /**
+     * Creates a visitor that writes the events it is given straight to
+     * the output, or {@code null} should the format need a complete
+     * {@link org.cadixdev.lorenz.MappingSet} to be written - as is the
+     * default.
+     * <p>
+     * Mappings written through the visitor are written in the order they
+     * are given, rather than that of the {@link #getConfig() configuration}.
+     *
+     * @return The visitor, or {@code null}
+     * @see #isGroupedByClass()
+     * @since 0.6.0
+     */
+    protected MappingVisitor createVisitor() {
+        return null;
+    }
+
+    /**
+     * Determines whether the events given to the {@link #createVisitor() visitor}
+     * must be grouped by class, with classes in the order of their obfuscated
+     * names - and each class's own event coming before those of its members.
+     *
+     * @return {@code true} if the events must be grouped; {@code false} otherwise
+     * @since 0.6.0
+     */
+    protected boolean isGroupedByClass() {
+        return false;
+    }
+
     @Override
     public void close() throws IOException {
         this.writer.flush();
@@ -0,0 +1,204 @@
+/*
+ * This file is part of Lorenz, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamierocks.uk/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cadixdev.lorenz.io.srg;
+
+/**
+ * A tokenizer for the lines of the SRG mapping format, and its variants.
+ * <p>
+ * Each line is scanned once - stopping at any {@code #} comment - and the
+ * bounds of its whitespace-separated tokens recorded, so tokens can be
+ * compared and sliced without the line first being copied or split. A
+ * tokenizer is reused for every line it is given, so isn't thread-safe.
+ *
+ * @author Jamie Mansfield
+ * @since 0.6.0
+ */
+public final class SrgTokenizer {
+
+    private String line = "";
+    private int[] starts = new int[8];
+    private int[] ends = new int[8];
+    private int count;
+    private boolean indented;
+
+    /**
+     * Tokenizes the given line, replacing the tokens of the previous line.
+     *
+     * @param line The line
+     * @return The number of tokens within the line
+     */
+    public int tokenize(final String line) {
+        this.line = line;
+        this.count = 0;
+        this.indented = !line.isEmpty() && line.charAt(0) == '\t';
+
+        int start = -1;
+        int i = 0;
+        for (final int length = line.length(); i < length; i++) {
+            final char c = line.charAt(i);
+            if (c == '#') break;
+            if (c <= ' ') {
+                if (start >= 0) {
+                    this.add(start, i);
+                    start = -1;
+                }
+            }
+            else if (start < 0) {
+                start = i;
+            }
+        }
+        if (start >= 0) this.add(start, i);
+        return this.count;
+    }
+
+    private void add(final int start, final int end) {
+        if (this.count == this.starts.length) {
+            final int[] starts = new int[this.count * 2];
+            final int[] ends = new int[this.count * 2];
+            System.arraycopy(this.starts, 0, starts, 0, this.count);
+            System.arraycopy(this.ends, 0, ends, 0, this.count);
+            this.starts = starts;
+            this.ends = ends;
+        }
+        this.starts[this.count] = start;
+        this.ends[this.count] = end;
+        this.count++;
+    }
+
+    /**
+     * Gets the number of tokens within the current line.
+     *
+     * @return The number of tokens
+     */
+    public int count() {
+        return this.count;
+    }
+
+    /**
+     * Establishes whether the current line begins with a tab, as the
+     * members of classes do in the TSRG format.
+     *
+     * @return {@code true} if the line is indented;
+     *         {@code false} otherwise
+     */
+    public boolean isIndented() {
+        return this.indented;
+    }
+
+    /**
+     * Gets the length of the current line, excluding any comment and
+     * surrounding whitespace.
+     *
+     * @return The length of the line's content
+     */
+    public int length() {
+        return this.count == 0 ? 0 : this.ends[this.count - 1] - this.starts[0];
+    }
+
+    /**
+     * Gets the content of the current line, excluding any comment and
+     * surrounding whitespace.
+     *
+     * @return The line's content
+     */
+    public String getContent() {
+        return this.count == 0 ? "" : this.line.substring(this.starts[0], this.ends[this.count - 1]);
+    }
+
+    /**
+     * Gets the token at the given index.
+     *
+     * @param index The index of the token
+     * @return The token
+     */
+    public String get(final int index) {
+        return this.line.substring(this.starts[index], this.ends[index]);
+    }
+
+    /**
+     * Gets the given portion of the token at the given index.
+     *
+     * @param index The index of the token
+     * @param beginIndex The index within the token to begin at, inclusive
+     * @param endIndex The index within the token to end at, exclusive
+     * @return The portion of the token
+     */
+    public String get(final int index, final int beginIndex, final int endIndex) {
+        return this.line.substring(this.starts[index] + beginIndex, this.starts[index] + endIndex);
+    }
+
+    /**
+     * Gets the length of the token at the given index.
+     *
+     * @param index The index of the token
+     * @return The length of the token
+     */
+    public int length(final int index) {
+        return this.ends[index] - this.starts[index];
+    }
+
+    /**
+     * Establishes whether the token at the given index is equal to the
+     * given value.
+     *
+     * @param index The index of the token
+     * @param value The value
+     * @return {@code true} if the token is equal to the value;
+     *         {@code false} otherwise
+     */
+    public boolean is(final int index, final String value) {
+        return this.length(index) == value.length() &&
+                this.line.regionMatches(this.starts[index], value, 0, value.length());
+    }
+
+    /**
+     * Establishes whether the token at the given index ends with the
+     * given character.
+     *
+     * @param index The index of the token
+     * @param c The character
+     * @return {@code true} if the token ends with the character;
+     *         {@code false} otherwise
+     */
+    public boolean endsWith(final int index, final char c) {
+        return this.line.charAt(this.ends[index] - 1) == c;
+    }
+
+    /**
+     * Gets the index within the token at the given index, of the last
+     * occurrence of the given character.
+     *
+     * @param index The index of the token
+     * @param c The character
+     * @return The index of the character within the token, or {@code -1}
+     *         should the token not contain it
+     */
+    public int lastIndexOf(final int index, final char c) {
+        final int i = this.line.lastIndexOf(c, this.ends[index] - 1);
+        return i < this.starts[index] ? -1 : i - this.starts[index];
+    }
+
+}
@@ -26,9 +26,10 @@
 package org.cadixdev.lorenz.io.srg.csrg;
 
 import org.cadixdev.lorenz.MappingSet;
+import org.cadixdev.lorenz.io.MappingVisitor;
 import org.cadixdev.lorenz.io.MappingsReader;
 import org.cadixdev.lorenz.io.TextMappingsReader;
-import org.cadixdev.lorenz.io.srg.SrgConstants;
+import org.cadixdev.lorenz.io.srg.SrgTokenizer;
 
 import java.io.Reader;
 
@@ -49,6 +50,17 @@ public class CSrgReader extends TextMappingsReader {
         super(reader, Processor::new);
     }
 
+    @Override
+    protected boolean isLineIndependent() {
+        // Every line of the CSRG format names the class it belongs to
+        return true;
+    }
+
+    @Override
+    protected Processor createProcessor(final MappingVisitor visitor) {
+        return new Processor(visitor);
+    }
+
     /**
      * The mappings processor for the CSRG format.
      */
@@ -58,6 +70,8 @@ public class CSrgReader extends TextMappingsReader {
         private static final int FIELD_MAPPING_ELEMENT_COUNT = 3;
         private static final int METHOD_MAPPING_ELEMENT_COUNT = 4;
 
+        private final SrgTokenizer tokenizer = new SrgTokenizer();
+
         /**
          * Creates a mappings parser for the CSRG format, with the provided {@link MappingSet}.
          *
@@ -67,6 +81,17 @@ public class CSrgReader extends TextMappingsReader {
             super(mappings);
         }
 
+        /**
+         * Creates a mappings parser for the CSRG format, emitting mappings to the
+         * provided {@link MappingVisitor}.
+         *
+         * @param visitor The visitor
+         * @since 0.6.0
+         */
+        public Processor(final MappingVisitor visitor) {
+            super(visitor);
+        }
+
         /**
          * Creates a mappings parser for the CSRG format.
          */
@@ -76,59 +101,49 @@ public class CSrgReader extends TextMappingsReader {
 
         @Override
         public void accept(final String rawLine) {
-            final String line = SrgConstants.removeComments(rawLine).trim();
-            if (line.isEmpty()) return;
+            // Split up the line, for further processing
+            final SrgTokenizer tokens = this.tokenizer;
+            final int len = tokens.tokenize(rawLine);
+            if (len == 0) return;
 
-            if (line.length() < 4) {
-                throw new IllegalArgumentException("Faulty CSRG mapping encountered: `" + line + "`!");
+            if (tokens.length() < 4) {
+                throw new IllegalArgumentException("Faulty CSRG mapping encountered: `" + tokens.getContent() + "`!");
             }
 
-            // Split up the line, for further processing
-            final String[] split = SPACE.split(line);
-            final int len = split.length;
-
             // Process class/package mappings
             if (len == CLASS_MAPPING_ELEMENT_COUNT) {
-                final String obfuscatedName = split[0];
-                final String deobfuscatedName = split[1];
-
                 // Package mappings
-                if (obfuscatedName.endsWith("/")) {
+                if (tokens.endsWith(0, '/')) {
                     // Lorenz doesn't currently support package mappings, though they are an SRG feature.
                     // For now, Lorenz will just silently ignore those mappings.
                 }
                 // Class mappings
                 else {
-                    // Get mapping, and set de-obfuscated name
-                    this.mappings.getOrCreateClassMapping(obfuscatedName)
-                            .setDeobfuscatedName(deobfuscatedName);
+                    final String obfuscatedName = tokens.get(0);
+                    final String deobfuscatedName = tokens.get(1);
+
+                    this.visitor.visitClass(obfuscatedName, deobfuscatedName);
                 }
             }
             // Process field mapping
             else if (len == FIELD_MAPPING_ELEMENT_COUNT) {
-                final String parentClass = split[0];
-                final String obfuscatedName = split[1];
-                final String deobfuscatedName = split[2];
-
-                // Get mapping, and set de-obfuscated name
-                this.mappings.getOrCreateClassMapping(parentClass)
-                        .getOrCreateFieldMapping(obfuscatedName)
-                        .setDeobfuscatedName(deobfuscatedName);
+                final String parentClass = tokens.get(0);
+                final String obfuscatedName = tokens.get(1);
+                final String deobfuscatedName = tokens.get(2);
+
+                this.visitor.visitField(parentClass, obfuscatedName, null, deobfuscatedName);
             }
             // Process method mapping
             else if (len == METHOD_MAPPING_ELEMENT_COUNT) {
-                final String parentClass = split[0];
-                final String obfuscatedName = split[1];
-                final String obfuscatedSignature = split[2];
-                final String deobfuscatedName = split[3];
-
-                // Get mapping, and set de-obfuscated name
-                this.mappings.getOrCreateClassMapping(parentClass)
-                        .getOrCreateMethodMapping(obfuscatedName, obfuscatedSignature)
-                        .setDeobfuscatedName(deobfuscatedName);
+                final String parentClass = tokens.get(0);
+                final String obfuscatedName = tokens.get(1);
+                final String obfuscatedSignature = tokens.get(2);
+                final String deobfuscatedName = tokens.get(3);
+
+                this.visitor.visitMethod(parentClass, obfuscatedName, obfuscatedSignature, deobfuscatedName);
             }
             else {
-                throw new IllegalArgumentException("Failed to process line: `" + line + "`!");
+                throw new IllegalArgumentException("Failed to process line: `" + tokens.getContent() + "`!");
             }
         }
 
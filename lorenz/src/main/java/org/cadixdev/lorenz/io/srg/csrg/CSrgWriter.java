@@ -26,6 +26,7 @@
 package org.cadixdev.lorenz.io.srg.csrg;
 
 import org.cadixdev.lorenz.MappingSet;
+import org.cadixdev.lorenz.io.MappingVisitor;
 import org.cadixdev.lorenz.io.MappingsWriter;
 import org.cadixdev.lorenz.io.TextMappingsWriter;
 import org.cadixdev.lorenz.model.ClassMapping;
@@ -77,6 +78,12 @@ public class CSrgWriter extends TextMappingsWriter {
         this.methods.clear();
     }
 
+    @Override
+    protected MappingVisitor createVisitor() {
+        // Every line of the CSRG format names the class it belongs to
+        return new Visitor();
+    }
+
     /**
      * Writes the given {@link ClassMapping}, alongside its member mappings.
      *
@@ -135,4 +142,33 @@ public class CSrgWriter extends TextMappingsWriter {
         ));
     }
 
+    /**
+     * A {@link MappingVisitor} that writes each event, with a
+     * de-obfuscated name, as a line of the CSRG format.
+     */
+    private class Visitor implements MappingVisitor {
+
+        @Override
+        public void visitClass(final String obfuscatedName, final String deobfuscatedName) {
+            if (deobfuscatedName == null) return;
+            CSrgWriter.this.writer.println(String.format("%s %s", obfuscatedName, deobfuscatedName));
+        }
+
+        @Override
+        public void visitField(final String owner, final String obfuscatedName, final String obfuscatedType,
+                final String deobfuscatedName) {
+            if (deobfuscatedName == null) return;
+            CSrgWriter.this.writer.println(String.format("%s %s %s", owner, obfuscatedName, deobfuscatedName));
+        }
+
+        @Override
+        public void visitMethod(final String owner, final String obfuscatedName, final String obfuscatedDescriptor,
+                final String deobfuscatedName) {
+            if (deobfuscatedName == null) return;
+            CSrgWriter.this.writer.println(String.format("%s %s %s %s",
+                    owner, obfuscatedName, obfuscatedDescriptor, deobfuscatedName));
+        }
+
+    }
+
 }
@@ -26,10 +26,10 @@
 package org.cadixdev.lorenz.io.srg.tsrg;
 
 import org.cadixdev.lorenz.MappingSet;
+import org.cadixdev.lorenz.io.MappingVisitor;
 import org.cadixdev.lorenz.io.MappingsReader;
 import org.cadixdev.lorenz.io.TextMappingsReader;
-import org.cadixdev.lorenz.io.srg.SrgConstants;
-import org.cadixdev.lorenz.model.ClassMapping;
+import org.cadixdev.lorenz.io.srg.SrgTokenizer;
 
 import java.io.Reader;
 
@@ -50,6 +50,11 @@ public class TSrgReader extends TextMappingsReader {
         super(reader, TSrgReader.Processor::new);
     }
 
+    @Override
+    protected Processor createProcessor(final MappingVisitor visitor) {
+        return new Processor(visitor);
+    }
+
     /**
      * The mappings processor for the TSRG format.
      */
@@ -59,7 +64,8 @@ public class TSrgReader extends TextMappingsReader {
         private static final int FIELD_MAPPING_ELEMENT_COUNT = 2;
         private static final int METHOD_MAPPING_ELEMENT_COUNT = 3;
 
-        private ClassMapping currentClass;
+        private final SrgTokenizer tokenizer = new SrgTokenizer();
+        private String currentClass;
 
         /**
          * Creates a mappings parser for the TSRG format, with the provided {@link MappingSet}.
@@ -70,6 +76,17 @@ public class TSrgReader extends TextMappingsReader {
             super(mappings);
         }
 
+        /**
+         * Creates a mappings parser for the TSRG format, emitting mappings to the
+         * provided {@link MappingVisitor}.
+         *
+         * @param visitor The visitor
+         * @since 0.6.0
+         */
+        public Processor(final MappingVisitor visitor) {
+            super(visitor);
+        }
+
         /**
          * Creates a mappings parser for the TSRG format.
          */
@@ -79,58 +96,50 @@ public class TSrgReader extends TextMappingsReader {
 
         @Override
         public void accept(final String rawLine) {
-            final String line = SrgConstants.removeComments(rawLine);
-            if (line.isEmpty()) return;
-
-            if (line.length() < 3) {
-                throw new IllegalArgumentException("Faulty TSRG mapping encountered: `" + line + "`!");
+            // Split up the line, for further processing - members being
+            // indented with a tab, which isn't part of their first token
+            final SrgTokenizer tokens = this.tokenizer;
+            final int len = tokens.tokenize(rawLine);
+            if (len == 0) return;
+
+            if (tokens.length() < 3) {
+                throw new IllegalArgumentException("Faulty TSRG mapping encountered: `" + tokens.getContent() + "`!");
             }
 
-            // Split up the line, for further processing
-            final String[] split = SPACE.split(line);
-            final int len = split.length;
-
             // Process class/package mappings
-            if (!split[0].startsWith("\t") && len == CLASS_MAPPING_ELEMENT_COUNT) {
-                final String obfuscatedName = split[0];
-                final String deobfuscatedName = split[1];
-
+            if (!tokens.isIndented() && len == CLASS_MAPPING_ELEMENT_COUNT) {
                 // Package mappings
-                if (obfuscatedName.endsWith("/")) {
+                if (tokens.endsWith(0, '/')) {
                     // Lorenz doesn't currently support package mappings, though they are an SRG feature.
                     // For now, Lorenz will just silently ignore those mappings.
                 }
                 // Class mappings
                 else {
-                    // Get mapping, and set de-obfuscated name
-                    this.currentClass = this.mappings.getOrCreateClassMapping(obfuscatedName);
-                    this.currentClass.setDeobfuscatedName(deobfuscatedName);
+                    final String obfuscatedName = tokens.get(0);
+                    final String deobfuscatedName = tokens.get(1);
+
+                    this.currentClass = obfuscatedName;
+                    this.visitor.visitClass(obfuscatedName, deobfuscatedName);
                 }
             }
-            else if (split[0].startsWith("\t") && this.currentClass != null) {
-                final String obfuscatedName = split[0].replace("\t", "");
+            else if (tokens.isIndented() && this.currentClass != null) {
+                final String obfuscatedName = tokens.get(0);
 
                 // Process field mapping
                 if (len == FIELD_MAPPING_ELEMENT_COUNT) {
-                    final String deobfuscatedName = split[1];
+                    final String deobfuscatedName = tokens.get(1);
 
-                    // Get mapping, and set de-obfuscated name
-                    this.currentClass
-                            .getOrCreateFieldMapping(obfuscatedName)
-                            .setDeobfuscatedName(deobfuscatedName);
+                    this.visitor.visitField(this.currentClass, obfuscatedName, null, deobfuscatedName);
                 }
                 // Process method mapping
                 else if (len == METHOD_MAPPING_ELEMENT_COUNT) {
-                    final String obfuscatedSignature = split[1];
-                    final String deobfuscatedName = split[2];
+                    final String obfuscatedSignature = tokens.get(1);
+                    final String deobfuscatedName = tokens.get(2);
 
-                    // Get mapping, and set de-obfuscated name
-                    this.currentClass
-                            .getOrCreateMethodMapping(obfuscatedName, obfuscatedSignature)
-                            .setDeobfuscatedName(deobfuscatedName);
+                    this.visitor.visitMethod(this.currentClass, obfuscatedName, obfuscatedSignature, deobfuscatedName);
                 }
             } else {
-                throw new IllegalArgumentException("Failed to process line: `" + line + "`!");
+                throw new IllegalArgumentException("Failed to process line: `" + tokens.getContent() + "`!");
             }
         }
 
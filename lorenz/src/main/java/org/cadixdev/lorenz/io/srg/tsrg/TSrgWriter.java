@@ -26,6 +26,7 @@
 package org.cadixdev.lorenz.io.srg.tsrg;
 
 import org.cadixdev.lorenz.MappingSet;
+import org.cadixdev.lorenz.io.MappingVisitor;
 import org.cadixdev.lorenz.io.MappingsWriter;
 import org.cadixdev.lorenz.io.TextMappingsWriter;
 import org.cadixdev.lorenz.model.ClassMapping;
@@ -34,6 +35,8 @@ import org.cadixdev.lorenz.model.Mapping;
 import org.cadixdev.lorenz.model.MethodMapping;
 
 import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
 
 /**
  * An implementation of {@link MappingsWriter} for the TSRG format.
@@ -61,6 +64,17 @@ public class TSrgWriter extends TextMappingsWriter {
                 .forEach(this::writeClassMapping);
     }
 
+    @Override
+    protected MappingVisitor createVisitor() {
+        return new Visitor();
+    }
+
+    @Override
+    protected boolean isGroupedByClass() {
+        // Members are written beneath the last class line
+        return true;
+    }
+
     /**
      * Writes the given {@link ClassMapping}, alongside its member mappings.
      *
@@ -115,4 +129,74 @@ public class TSrgWriter extends TextMappingsWriter {
                 mapping.getDeobfuscatedName()));
     }
 
+    /**
+     * A {@link MappingVisitor} that writes events, grouped by class, in
+     * the TSRG format.
+     * <p>
+     * The classes enclosing the current class are kept, so that inner
+     * classes without a de-obfuscated name of their own are written with
+     * that of their outer class - much as {@link ClassMapping#getFullDeobfuscatedName()}.
+     */
+    private class Visitor implements MappingVisitor {
+
+        private final Deque<String[]> classes = new ArrayDeque<>();
+        private boolean written;
+
+        @Override
+        public void visitClass(final String obfuscatedName, final String deobfuscatedName) {
+            this.enter(obfuscatedName, deobfuscatedName);
+            if (deobfuscatedName != null) this.writeClass();
+        }
+
+        @Override
+        public void visitField(final String owner, final String obfuscatedName, final String obfuscatedType,
+                final String deobfuscatedName) {
+            if (deobfuscatedName == null) return;
+            this.enter(owner, null);
+            this.writeClass();
+            TSrgWriter.this.writer.println(String.format("\t%s %s", obfuscatedName, deobfuscatedName));
+        }
+
+        @Override
+        public void visitMethod(final String owner, final String obfuscatedName, final String obfuscatedDescriptor,
+                final String deobfuscatedName) {
+            if (deobfuscatedName == null) return;
+            this.enter(owner, null);
+            this.writeClass();
+            TSrgWriter.this.writer.println(String.format("\t%s %s %s",
+                    obfuscatedName, obfuscatedDescriptor, deobfuscatedName));
+        }
+
+        private void enter(final String obfuscatedName, final String deobfuscatedName) {
+            final String[] current = this.classes.peek();
+            if (current != null && current[0].equals(obfuscatedName)) return;
+
+            // Leave the classes that don't enclose this one
+            while (!this.classes.isEmpty() && !obfuscatedName.startsWith(this.classes.peek()[0] + '$')) {
+                this.classes.pop();
+            }
+
+            final String[] outer = this.classes.peek();
+            final String fullDeobfuscatedName;
+            if (deobfuscatedName != null) {
+                fullDeobfuscatedName = deobfuscatedName;
+            } else if (outer != null) {
+                fullDeobfuscatedName = outer[1] + obfuscatedName.substring(outer[0].length());
+            } else {
+                fullDeobfuscatedName = obfuscatedName;
+            }
+
+            this.classes.push(new String[]{ obfuscatedName, fullDeobfuscatedName });
+            this.written = false;
+        }
+
+        private void writeClass() {
+            if (this.written) return;
+            final String[] current = this.classes.peek();
+            TSrgWriter.this.writer.println(String.format("%s %s", current[0], current[1]));
+            this.written = true;
+        }
+
+    }
+
 }
@@ -26,9 +26,10 @@
 package org.cadixdev.lorenz.io.srg.xsrg;
 
 import org.cadixdev.lorenz.MappingSet;
+import org.cadixdev.lorenz.io.MappingVisitor;
 import org.cadixdev.lorenz.io.MappingsReader;
 import org.cadixdev.lorenz.io.TextMappingsReader;
-import org.cadixdev.lorenz.io.srg.SrgConstants;
+import org.cadixdev.lorenz.io.srg.SrgTokenizer;
 
 import java.io.Reader;
 
@@ -49,6 +50,17 @@ public class XSrgReader extends TextMappingsReader {
         super(reader, Processor::new);
     }
 
+    @Override
+    protected boolean isLineIndependent() {
+        // Every line of the XSRG format names the class it belongs to
+        return true;
+    }
+
+    @Override
+    protected Processor createProcessor(final MappingVisitor visitor) {
+        return new Processor(visitor);
+    }
+
     /**
      * The mappings processor for the XSRG format.
      */
@@ -64,6 +76,8 @@ public class XSrgReader extends TextMappingsReader {
         private static final int FIELD_MAPPING_ELEMENT_COUNT = 5;
         private static final int METHOD_MAPPING_ELEMENT_COUNT = 5;
 
+        private final SrgTokenizer tokenizer = new SrgTokenizer();
+
         /**
          * Creates a mappings parser for the SRG format, with the provided {@link MappingSet}.
          *
@@ -73,6 +87,17 @@ public class XSrgReader extends TextMappingsReader {
             super(mappings);
         }
 
+        /**
+         * Creates a mappings parser for the XSRG format, emitting mappings to the
+         * provided {@link MappingVisitor}.
+         *
+         * @param visitor The visitor
+         * @since 0.6.0
+         */
+        public Processor(final MappingVisitor visitor) {
+            super(visitor);
+        }
+
         /**
          * Creates a mappings parser for the SRG format.
          */
@@ -82,63 +107,46 @@ public class XSrgReader extends TextMappingsReader {
 
         @Override
         public void accept(final String rawLine) {
-            final String line = SrgConstants.removeComments(rawLine).trim();
-            if (line.isEmpty()) return;
+            // Split up the line, for further processing
+            final SrgTokenizer tokens = this.tokenizer;
+            final int len = tokens.tokenize(rawLine);
+            if (len == 0) return;
 
-            if (line.length() < 4) {
-                throw new IllegalArgumentException("Faulty XSRG mapping encountered: `" + line + "`!");
+            if (tokens.length() < 4) {
+                throw new IllegalArgumentException("Faulty XSRG mapping encountered: `" + tokens.getContent() + "`!");
             }
 
-            // Split up the line, for further processing
-            final String[] split = SPACE.split(line);
-            final int len = split.length;
-
             // Establish the type of mapping
-            final String key = split[0];
-            if (key.equals(CLASS_MAPPING_KEY) && len == CLASS_MAPPING_ELEMENT_COUNT) {
-                final String obfuscatedName = split[1];
-                final String deobfuscatedName = split[2];
-
-                // Get mapping, and set de-obfuscated name
-                this.mappings.getOrCreateClassMapping(obfuscatedName)
-                        .setDeobfuscatedName(deobfuscatedName);
+            if (tokens.is(0, CLASS_MAPPING_KEY) && len == CLASS_MAPPING_ELEMENT_COUNT) {
+                final String obfuscatedName = tokens.get(1);
+                final String deobfuscatedName = tokens.get(2);
+
+                this.visitor.visitClass(obfuscatedName, deobfuscatedName);
             }
-            else if (key.equals(FIELD_MAPPING_KEY) && len == FIELD_MAPPING_ELEMENT_COUNT) {
-                final String fullObfuscatedName = split[1];
-                final String obfuscatedType = split[2];
-                final String fullDeobfuscatedName = split[3];
-                final String deobfuscatedType = split[4];
-                final int lastIndex = fullObfuscatedName.lastIndexOf('/');
-                final String owningClass = fullObfuscatedName.substring(0, lastIndex);
-                final String obfuscatedName = fullObfuscatedName.substring(lastIndex + 1);
-                final String deobfuscatedName = fullDeobfuscatedName.substring(fullDeobfuscatedName.lastIndexOf('/') + 1);
-
-                // Get mapping, and set de-obfuscated name
-                this.mappings.getOrCreateClassMapping(owningClass)
-                        .getOrCreateFieldMapping(obfuscatedName, obfuscatedType)
-                        .setDeobfuscatedName(deobfuscatedName);
+            else if (tokens.is(0, FIELD_MAPPING_KEY) && len == FIELD_MAPPING_ELEMENT_COUNT) {
+                final int lastIndex = tokens.lastIndexOf(1, '/');
+                final String owningClass = tokens.get(1, 0, lastIndex);
+                final String obfuscatedName = tokens.get(1, lastIndex + 1, tokens.length(1));
+                final String obfuscatedType = tokens.get(2);
+                final String deobfuscatedName = tokens.get(3, tokens.lastIndexOf(3, '/') + 1, tokens.length(3));
+
+                this.visitor.visitField(owningClass, obfuscatedName, obfuscatedType, deobfuscatedName);
             }
-            else if (key.equals(METHOD_MAPPING_KEY) && len == METHOD_MAPPING_ELEMENT_COUNT) {
-                final String fullObfuscatedName = split[1];
-                final String obfuscatedSignature = split[2];
-                final String fullDeobfuscatedName = split[3];
-                final String deobfuscatedSignature = split[4];
-                final int lastIndex = fullObfuscatedName.lastIndexOf('/');
-                final String owningClass = fullObfuscatedName.substring(0, lastIndex);
-                final String obfuscatedName = fullObfuscatedName.substring(lastIndex + 1);
-                final String deobfuscatedName = fullDeobfuscatedName.substring(fullDeobfuscatedName.lastIndexOf('/') + 1);
-
-                // Get mapping, and set de-obfuscated name
-                this.mappings.getOrCreateClassMapping(owningClass)
-                        .getOrCreateMethodMapping(obfuscatedName, obfuscatedSignature)
-                        .setDeobfuscatedName(deobfuscatedName);
+            else if (tokens.is(0, METHOD_MAPPING_KEY) && len == METHOD_MAPPING_ELEMENT_COUNT) {
+                final int lastIndex = tokens.lastIndexOf(1, '/');
+                final String owningClass = tokens.get(1, 0, lastIndex);
+                final String obfuscatedName = tokens.get(1, lastIndex + 1, tokens.length(1));
+                final String obfuscatedSignature = tokens.get(2);
+                final String deobfuscatedName = tokens.get(3, tokens.lastIndexOf(3, '/') + 1, tokens.length(3));
+
+                this.visitor.visitMethod(owningClass, obfuscatedName, obfuscatedSignature, deobfuscatedName);
             }
-            else if (key.equals(PACKAGE_MAPPING_KEY) && len == PACKAGE_MAPPING_ELEMENT_COUNT) {
+            else if (tokens.is(0, PACKAGE_MAPPING_KEY) && len == PACKAGE_MAPPING_ELEMENT_COUNT) {
                 // Lorenz doesn't currently support package mappings, though they are an SRG feature.
                 // For now, Lorenz will just silently ignore those mappings.
             }
             else {
-                throw new IllegalArgumentException("Failed to process line: `" + line + "`!");
+                throw new IllegalArgumentException("Failed to process line: `" + tokens.getContent() + "`!");
             }
         }
 
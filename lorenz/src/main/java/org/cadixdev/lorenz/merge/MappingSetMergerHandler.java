@@ -428,7 +428,7 @@ public interface MappingSetMergerHandler {
      * @return The new field mapping. Return {@code null} if the mapping wasn't merged and should be removed.
      */
     default FieldMapping addRightFieldMapping(final FieldMapping right, final ClassMapping<?, ?> target, final MergeContext context) {
-        final FieldType obfuscatedType = context.getLeftReversed().deobfuscate(right.getType().orElse(null));
+        final FieldType obfuscatedType = right.getType().map(context.getLeft()::obfuscate).orElse(null);
         return target.createFieldMapping(new FieldSignature(right.getObfuscatedName(), obfuscatedType), right.getDeobfuscatedName());
     }
 
@@ -614,7 +614,7 @@ public interface MappingSetMergerHandler {
      */
     default MergeResult<MethodMapping> addRightMethodMapping(final MethodMapping right, final ClassMapping<?, ?> target, final MergeContext context) {
         // We need to make sure the method obfuscated descriptor is mapped to the left side's obfuscated types
-        final MethodDescriptor obfuscatedDescriptor = context.getLeftReversed().deobfuscate(right.getDescriptor());
+        final MethodDescriptor obfuscatedDescriptor = context.getLeft().obfuscate(right.getDescriptor());
         return new MergeResult<>(
             target.createMethodMapping(new MethodSignature(right.getObfuscatedName(), obfuscatedDescriptor), right.getDeobfuscatedName()),
             right
@@ -88,8 +88,8 @@ public class MergeContext {
 
     /**
      * @return The {@link #getRight() right} {@link MappingSet} for the merge operation, but reversed. Never
-     *         {@code null}. This method computes the value on first query and caches the result, making it more
-     *         efficient than calling {@link MappingSet#reverse()} yourself.
+     *         {@code null}. This method creates a {@link MappingSet#reversedView() reversed view} on first query and
+     *         caches it, so classes are only reversed as they are looked up.
      */
     public MappingSet getLeftReversed() {
         MappingSet ctx = this.leftReversed;
@@ -102,7 +102,7 @@ public class MergeContext {
             if (ctx != null) {
                 return ctx;
             }
-            this.leftReversed = this.left.reverse();
+            this.leftReversed = this.left.reversedView();
             ctx = this.leftReversed;
         }
 
@@ -111,8 +111,8 @@ public class MergeContext {
 
     /**
      * @return The {@link #getRight() right} {@link MappingSet} for the merge operation, but reversed. Never
-     *         {@code null}. This method computes the value on first query and caches the result, making it more
-     *         efficient than calling {@link MappingSet#reverse()} yourself.
+     *         {@code null}. This method creates a {@link MappingSet#reversedView() reversed view} on first query and
+     *         caches it, so classes are only reversed as they are looked up.
      */
     public MappingSet getRightReversed() {
         MappingSet ctx = this.rightReversed;
@@ -125,7 +125,7 @@ public class MergeContext {
             if (ctx != null) {
                 return ctx;
             }
-            this.rightReversed = this.right.reverse();
+            this.rightReversed = this.right.reversedView();
             ctx = this.rightReversed;
         }
 
@@ -528,6 +528,21 @@ public interface ClassMapping<M extends ClassMapping<M, P>, P> extends Mapping<M
                 this.getInnerClassMappings().stream().anyMatch(ClassMapping::hasMappings);
     }
 
+    /**
+     * Resolves the types of the field mappings of the class mapping that
+     * don't have one, using the set's
+     * {@link org.cadixdev.lorenz.model.jar.FieldTypeProvider}, and upgrades
+     * them to typed signatures - so {@link FieldMapping#getType()} needn't
+     * consult the provider for them again.
+     * <p>
+     * Implementations whose field signatures are fixed needn't do anything.
+     *
+     * @see org.cadixdev.lorenz.MappingSet#resolveFieldTypes(java.util.concurrent.Executor)
+     * @since 0.6.0
+     */
+    default void resolveFieldTypes() {
+    }
+
     @Override
     default Optional<InheritanceProvider.ClassInfo> provideInheritance(final InheritanceProvider provider, final Object context) {
         return provider.provide(this.getFullObfuscatedName(), context);
@@ -78,12 +78,12 @@ public interface FieldMapping extends MemberMapping<FieldMapping, ClassMapping>
 
     @Override
     default String getFullObfuscatedName() {
-        return String.format("%s/%s", this.getParent().getFullObfuscatedName(), this.getObfuscatedName());
+        return this.getParent().getFullObfuscatedName() + '/' + this.getObfuscatedName();
     }
 
     @Override
     default String getFullDeobfuscatedName() {
-        return String.format("%s/%s", this.getParent().getFullDeobfuscatedName(), this.getDeobfuscatedName());
+        return this.getParent().getFullDeobfuscatedName() + '/' + this.getDeobfuscatedName();
     }
 
     @Override
@@ -67,12 +67,12 @@ public interface InnerClassMapping extends ClassMapping<InnerClassMapping, Class
 
     @Override
     default String getFullObfuscatedName() {
-        return String.format("%s$%s", this.getParent().getFullObfuscatedName(), this.getObfuscatedName());
+        return this.getParent().getFullObfuscatedName() + '$' + this.getObfuscatedName();
     }
 
     @Override
     default String getFullDeobfuscatedName() {
-        return String.format("%s$%s", this.getParent().getFullDeobfuscatedName(), this.getDeobfuscatedName());
+        return this.getParent().getFullDeobfuscatedName() + '$' + this.getDeobfuscatedName();
     }
 
     @Override
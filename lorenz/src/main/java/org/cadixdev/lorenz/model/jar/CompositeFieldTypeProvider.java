@@ -26,6 +26,7 @@
 package org.cadixdev.lorenz.model.jar;
 
 import org.cadixdev.lorenz.model.FieldMapping;
+import org.cadixdev.lorenz.util.BoundedCache;
 import org.cadixdev.bombe.type.FieldType;
 
 import java.util.ArrayList;
@@ -35,6 +36,10 @@ import java.util.Optional;
 /**
  * An implementation of {@link FieldTypeProvider} that is backed by
  * many - allowing multiples sources to be used.
+ * <p>
+ * The provider can {@link #setCacheSize(int) cache} the types it provides,
+ * including the absence of one, by the field's owner and name - so a field
+ * needn't be looked up from every source each time its type is requested.
  *
  * @author Jamie Mansfield
  * @since 0.4.0
@@ -42,6 +47,7 @@ import java.util.Optional;
 public class CompositeFieldTypeProvider implements FieldTypeProvider {
 
     private final List<FieldTypeProvider> providers = new ArrayList<>();
+    private volatile BoundedCache<String, Optional<FieldType>> cache;
 
     /**
      * Adds a {@link FieldTypeProvider} to the provider.
@@ -51,6 +57,7 @@ public class CompositeFieldTypeProvider implements FieldTypeProvider {
      */
     public CompositeFieldTypeProvider add(final FieldTypeProvider provider) {
         this.providers.add(provider);
+        this.invalidateCache();
         return this;
     }
 
@@ -62,11 +69,91 @@ public class CompositeFieldTypeProvider implements FieldTypeProvider {
      */
     public CompositeFieldTypeProvider remove(final FieldTypeProvider provider) {
         this.providers.remove(provider);
+        this.invalidateCache();
         return this;
     }
 
+    /**
+     * Sets the maximum number of fields, whose type (or lack of one) will be
+     * cached - a size of {@code 0}, the default, disabling the cache entirely.
+     * <p>
+     * The cache is discarded whenever a provider is added or removed.
+     *
+     * @param size The maximum size of the cache
+     * @return {@code this}, for chaining
+     * @since 0.6.0
+     */
+    public CompositeFieldTypeProvider setCacheSize(final int size) {
+        if (size < 0) throw new IllegalArgumentException("The size of the field type cache cannot be negative!");
+        this.cache = size == 0 ? null : new BoundedCache<>(size);
+        return this;
+    }
+
+    /**
+     * Gets the maximum number of fields, whose type (or lack of one) will
+     * be cached.
+     *
+     * @return The maximum size of the cache, or {@code 0} should caching be
+     *         disabled
+     * @since 0.6.0
+     */
+    public int getCacheSize() {
+        final BoundedCache<String, Optional<FieldType>> cache = this.cache;
+        return cache == null ? 0 : cache.getMaximumSize();
+    }
+
+    /**
+     * Gets the number of field types that have been provided from the cache,
+     * since it was last {@link #invalidateCache() invalidated}.
+     *
+     * @return The number of cache hits
+     * @since 0.6.0
+     */
+    public long getCacheHitCount() {
+        final BoundedCache<String, Optional<FieldType>> cache = this.cache;
+        return cache == null ? 0 : cache.getHitCount();
+    }
+
+    /**
+     * Gets the number of field types that have been looked up from the
+     * providers, as they weren't cached, since the cache was last
+     * {@link #invalidateCache() invalidated}.
+     *
+     * @return The number of cache misses
+     * @since 0.6.0
+     */
+    public long getCacheMissCount() {
+        final BoundedCache<String, Optional<FieldType>> cache = this.cache;
+        return cache == null ? 0 : cache.getMissCount();
+    }
+
+    /**
+     * Discards all of the cached field types.
+     * <p>
+     * This is done automatically as providers are added and removed, though
+     * should be done manually should the types a provider gives change.
+     *
+     * @since 0.6.0
+     */
+    public void invalidateCache() {
+        // The cache is replaced, rather than cleared, so that a lookup racing
+        // with the invalidation can't repopulate it with a stale result
+        final BoundedCache<String, Optional<FieldType>> cache = this.cache;
+        if (cache != null) this.cache = new BoundedCache<>(cache.getMaximumSize());
+    }
+
     @Override
     public Optional<FieldType> provide(final FieldMapping mapping) {
+        final BoundedCache<String, Optional<FieldType>> cache = this.cache;
+        if (cache == null) return this.lookup(mapping);
+
+        final String key = mapping.getFullObfuscatedName();
+        final Optional<FieldType> cachedType = cache.get(key);
+        if (cachedType != null) return cachedType;
+        return cache.put(key, this.lookup(mapping));
+    }
+
+    private Optional<FieldType> lookup(final FieldMapping mapping) {
         for (final FieldTypeProvider provider : this.providers) {
             final Optional<FieldType> type = provider.provide(mapping);
             if (type.isPresent()) return type;
@@ -0,0 +1,147 @@
+/*
+ * This file is part of Lorenz, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamierocks.uk/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cadixdev.lorenz.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe cache, that holds at most a given number of entries.
+ * <p>
+ * Eviction is deliberately simple: should the cache be full when a new
+ * entry is added, all of the existing entries are discarded. This keeps
+ * lookups to a single hash probe, which is what matters for the
+ * caches within Lorenz - that are queried far more often than they
+ * are populated.
+ *
+ * @param <K> The type of the keys
+ * @param <V> The type of the values
+ *
+ * @author Jamie Mansfield
+ * @since 0.6.0
+ */
+public class BoundedCache<K, V> {
+
+    private final int maximumSize;
+    private volatile Map<K, V> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a cache, that will hold at most the given number of entries.
+     *
+     * @param maximumSize The maximum number of entries
+     * @throws IllegalArgumentException If the maximum size isn't positive
+     */
+    public BoundedCache(final int maximumSize) {
+        if (maximumSize <= 0) throw new IllegalArgumentException("The maximum size of a cache must be positive!");
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Gets the maximum number of entries, the cache will hold.
+     *
+     * @return The maximum size
+     */
+    public int getMaximumSize() {
+        return this.maximumSize;
+    }
+
+    /**
+     * Gets the value cached for the given key.
+     *
+     * @param key The key
+     * @return The cached value, or {@code null} should there not be one
+     */
+    public V get(final K key) {
+        final V value = this.entries.get(key);
+        if (value != null) {
+            this.hits.increment();
+        }
+        else {
+            this.misses.increment();
+        }
+        return value;
+    }
+
+    /**
+     * Caches the given value, for the given key.
+     *
+     * @param key The key
+     * @param value The value
+     * @return The value, for convenience
+     */
+    public V put(final K key, final V value) {
+        Map<K, V> entries = this.entries;
+        if (entries.size() >= this.maximumSize) {
+            this.entries = entries = new ConcurrentHashMap<>();
+        }
+        entries.put(key, value);
+        return value;
+    }
+
+    /**
+     * Gets the number of entries currently cached.
+     *
+     * @return The size of the cache
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Gets the number of lookups that have found a cached value, since
+     * the cache was created.
+     *
+     * @return The number of hits
+     */
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Gets the number of lookups that have not found a cached value, since
+     * the cache was created.
+     *
+     * @return The number of misses
+     */
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Discards all of the cached entries.
+     */
+    public void clear() {
+        // Replacing, rather than clearing, the map avoids walking its table -
+        // and skipping empty caches makes this cheap to call very frequently
+        if (!this.entries.isEmpty()) {
+            this.entries = new ConcurrentHashMap<>();
+        }
+    }
+
+}
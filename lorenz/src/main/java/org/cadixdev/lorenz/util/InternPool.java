@@ -0,0 +1,196 @@
+/*
+ * This file is part of Lorenz, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamierocks.uk/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cadixdev.lorenz.util;
+
+import org.cadixdev.bombe.type.ArrayType;
+import org.cadixdev.bombe.type.FieldType;
+import org.cadixdev.bombe.type.MethodDescriptor;
+import org.cadixdev.bombe.type.ObjectType;
+import org.cadixdev.bombe.type.Type;
+import org.cadixdev.bombe.type.signature.FieldSignature;
+import org.cadixdev.bombe.type.signature.MethodSignature;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A thread-safe pool of canonical names, types and signatures, that may be
+ * shared between {@link org.cadixdev.lorenz.MappingSet mapping sets}.
+ * <p>
+ * Interning a value gives back the first equal value that was interned,
+ * so that equal values share one instance - which can greatly reduce
+ * the memory used when holding many similar mapping sets at once, such as
+ * those for different versions of a program. Types and signatures are
+ * interned deeply, so the names and types they are made of are shared too.
+ * <p>
+ * Values are held for as long as the pool is, or until it is
+ * {@link #clear() cleared}.
+ *
+ * @author Jamie Mansfield
+ * @since 0.6.0
+ */
+public class InternPool {
+
+    /**
+     * A pool that interns nothing, giving back all values as they are.
+     */
+    public static final InternPool NONE = new InternPool(null);
+
+    private final Map<Object, Object> values;
+
+    /**
+     * Creates an empty pool.
+     */
+    public InternPool() {
+        this(new ConcurrentHashMap<>());
+    }
+
+    private InternPool(final Map<Object, Object> values) {
+        this.values = values;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T canonicalise(final T value) {
+        final Object existing = this.values.putIfAbsent(value, value);
+        return existing != null ? (T) existing : value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T lookup(final T value) {
+        return (T) this.values.get(value);
+    }
+
+    /**
+     * Interns the given name.
+     *
+     * @param name The name, may be {@code null}
+     * @return The canonical name
+     */
+    public String intern(final String name) {
+        if (this.values == null || name == null) return name;
+        return this.canonicalise(name);
+    }
+
+    /**
+     * Interns the given field type.
+     *
+     * @param type The field type, may be {@code null}
+     * @return The canonical field type
+     */
+    public FieldType intern(final FieldType type) {
+        // Primitive types are already singletons
+        if (this.values == null || !(type instanceof ArrayType || type instanceof ObjectType)) return type;
+
+        final FieldType existing = this.lookup(type);
+        if (existing != null) return existing;
+
+        if (type instanceof ArrayType) {
+            final ArrayType arr = (ArrayType) type;
+            return this.canonicalise(new ArrayType(arr.getDimCount(), this.intern(arr.getComponent())));
+        }
+        return this.canonicalise(new ObjectType(this.intern(((ObjectType) type).getClassName())));
+    }
+
+    /**
+     * Interns the given method descriptor.
+     *
+     * @param descriptor The method descriptor, may be {@code null}
+     * @return The canonical method descriptor
+     */
+    public MethodDescriptor intern(final MethodDescriptor descriptor) {
+        if (this.values == null || descriptor == null) return descriptor;
+
+        final MethodDescriptor existing = this.lookup(descriptor);
+        if (existing != null) return existing;
+
+        final List<FieldType> params = new ArrayList<>(descriptor.getParamTypes().size());
+        for (final FieldType param : descriptor.getParamTypes()) {
+            params.add(this.intern(param));
+        }
+        final Type returnType = descriptor.getReturnType() instanceof FieldType ?
+                this.intern((FieldType) descriptor.getReturnType()) :
+                descriptor.getReturnType();
+        return this.canonicalise(new MethodDescriptor(params, returnType));
+    }
+
+    /**
+     * Interns the given field signature.
+     *
+     * @param signature The field signature, may be {@code null}
+     * @return The canonical field signature
+     */
+    public FieldSignature intern(final FieldSignature signature) {
+        if (this.values == null || signature == null) return signature;
+
+        final FieldSignature existing = this.lookup(signature);
+        if (existing != null) return existing;
+
+        return this.canonicalise(new FieldSignature(
+                this.intern(signature.getName()),
+                this.intern(signature.getType().orElse(null))
+        ));
+    }
+
+    /**
+     * Interns the given method signature.
+     *
+     * @param signature The method signature, may be {@code null}
+     * @return The canonical method signature
+     */
+    public MethodSignature intern(final MethodSignature signature) {
+        if (this.values == null || signature == null) return signature;
+
+        final MethodSignature existing = this.lookup(signature);
+        if (existing != null) return existing;
+
+        return this.canonicalise(new MethodSignature(
+                this.intern(signature.getName()),
+                this.intern(signature.getDescriptor())
+        ));
+    }
+
+    /**
+     * Gets the number of values held by the pool.
+     *
+     * @return The size of the pool
+     */
+    public int size() {
+        return this.values == null ? 0 : this.values.size();
+    }
+
+    /**
+     * Discards all of the values held by the pool.
+     * <p>
+     * Values already interned remain valid, but will no longer be
+     * given back for equal values interned from now on.
+     */
+    public void clear() {
+        if (this.values != null) this.values.clear();
+    }
+
+}
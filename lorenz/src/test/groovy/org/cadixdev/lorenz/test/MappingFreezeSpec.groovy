@@ -0,0 +1,121 @@
+/*
+ * This file is part of Lorenz, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamierocks.uk/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cadixdev.lorenz.test
+
+import org.cadixdev.bombe.type.signature.FieldSignature
+import org.cadixdev.bombe.type.signature.MethodSignature
+import org.cadixdev.lorenz.MappingSet
+import spock.lang.Specification
+
+class MappingFreezeSpec extends Specification {
+
+    private static final MappingSet MAPPINGS = new MappingSet().with {
+        it.getOrCreateTopLevelClassMapping('ab').with {
+            it.setDeobfuscatedName('Demo')
+            it.getOrCreateFieldMapping('ui').setDeobfuscatedName('log')
+            it.getOrCreateFieldMapping('uj', 'I').setDeobfuscatedName('count')
+            it.getOrCreateMethodMapping('hhyg', '(Lab;)V').with {
+                it.setDeobfuscatedName('accept')
+                it.getOrCreateParameterMapping(0).setDeobfuscatedName('demo')
+            }
+            it.getOrCreateInnerClassMapping('gh').setDeobfuscatedName('Inner')
+            return it
+        }
+        it.getOrCreateTopLevelClassMapping('cd').setDeobfuscatedName('Other')
+        return it
+    }
+
+    def 'freezes class mappings'() {
+        when:
+        def frozen = MAPPINGS.freeze()
+
+        then:
+        frozen.getTopLevelClassMappings().size() == 2
+        frozen.getClassMapping('ab').get().fullDeobfuscatedName == 'Demo'
+        frozen.getClassMapping('ab$gh').get().fullDeobfuscatedName == 'Demo$Inner'
+        frozen.getClassMapping('cd').get().fullDeobfuscatedName == 'Other'
+        !frozen.getClassMapping('ef').isPresent()
+    }
+
+    def 'freezes member mappings'() {
+        given:
+        def klass = MAPPINGS.freeze().getClassMapping('ab').get()
+
+        expect:
+        klass.getFieldMapping('ui').get().deobfuscatedName == 'log'
+        klass.getFieldMapping(FieldSignature.of('uj', 'I')).get().deobfuscatedName == 'count'
+        klass.computeFieldMapping(FieldSignature.of('ui', 'Z')).get().deobfuscatedName == 'log'
+        klass.getFieldsByName().keySet() == ['ui', 'uj'] as Set
+        def method = klass.getMethodMapping(MethodSignature.of('hhyg', '(Lab;)V')).get()
+        method.deobfuscatedName == 'accept'
+        method.deobfuscatedDescriptor == '(LDemo;)V'
+        method.getParameterMapping(0).get().deobfuscatedName == 'demo'
+        !method.getParameterMapping(1).isPresent()
+    }
+
+    def 'computes detached inner classes'() {
+        given:
+        def frozen = MAPPINGS.freeze()
+
+        when:
+        def inner = frozen.computeClassMapping('ab$ij')
+
+        then:
+        inner.isPresent()
+        inner.get().fullDeobfuscatedName == 'Demo$ij'
+        !frozen.getClassMapping('ab$ij').isPresent()
+    }
+
+    def 'cannot modify frozen mappings'() {
+        given:
+        def frozen = MAPPINGS.freeze()
+
+        when:
+        modification(frozen)
+
+        then:
+        thrown(UnsupportedOperationException)
+
+        where:
+        modification << [
+                { it.createTopLevelClassMapping('ef', 'Demo2') },
+                { it.getClassMapping('ab').get().setDeobfuscatedName('Demo2') },
+                { it.getClassMapping('ab').get().createFieldMapping('uk') },
+                { it.removeClassMapping('cd') }
+        ]
+    }
+
+    def 'copies to a mutable set'() {
+        when:
+        def copy = MAPPINGS.freeze().copy()
+        copy.getOrCreateClassMapping('ab').setDeobfuscatedName('Demo2')
+
+        then:
+        copy.getClassMapping('ab').get().deobfuscatedName == 'Demo2'
+        copy.getClassMapping('ab').get().getFieldMapping('ui').get().deobfuscatedName == 'log'
+    }
+
+}
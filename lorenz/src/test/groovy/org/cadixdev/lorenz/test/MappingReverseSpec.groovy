@@ -25,6 +25,7 @@
 
 package org.cadixdev.lorenz.test
 
+import org.cadixdev.bombe.type.MethodDescriptor
 import org.cadixdev.lorenz.MappingSet
 import spock.lang.Specification
 
@@ -93,4 +94,39 @@ class MappingReverseSpec extends Specification {
         copiedClass.get().deobfuscatedName == 'gh'
     }
 
+    def 'reversed view only reverses classes as they are looked up'() {
+        given:
+        def original = new MappingSet()
+        original.getOrCreateTopLevelClassMapping('ab').setDeobfuscatedName('Demo')
+                .getOrCreateInnerClassMapping('gh').setDeobfuscatedName('Boop')
+        def other = original.getOrCreateTopLevelClassMapping('cd').setDeobfuscatedName('Other')
+        def view = original.reversedView()
+
+        when:
+        def inner = view.getClassMapping('Demo$Boop')
+        other.deobfuscatedName = 'Renamed'
+
+        then:
+        inner.isPresent()
+        inner.get().fullDeobfuscatedName == 'ab$gh'
+        view.hasTopLevelClassMapping('Renamed')
+        !view.hasTopLevelClassMapping('Other')
+        view.getTopLevelClassMappings().size() == 2
+    }
+
+    def 'reversed view reverses members and descriptors'() {
+        given:
+        def original = new MappingSet()
+        def klass = original.getOrCreateTopLevelClassMapping('ab').setDeobfuscatedName('Demo')
+        klass.getOrCreateMethodMapping('hhyg', '(Lab;)V').setDeobfuscatedName('main')
+        klass.getOrCreateFieldMapping('ui').setDeobfuscatedName('log')
+        def view = original.reversedView()
+
+        expect:
+        view.getOrCreateClassMapping('Demo').getMethodMapping('main', '(LDemo;)V').get().deobfuscatedName == 'hhyg'
+        view.getOrCreateClassMapping('Demo').getFieldMapping('log').get().deobfuscatedName == 'ui'
+        view.deobfuscate(MethodDescriptor.of('(LDemo;)LDemo$Boop;')) == MethodDescriptor.of('(Lab;)Lab$Boop;')
+        !view.getClassMapping('Unknown').isPresent()
+    }
+
 }
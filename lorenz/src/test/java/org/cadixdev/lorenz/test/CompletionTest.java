@@ -26,21 +26,36 @@
 package org.cadixdev.lorenz.test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.cadixdev.bombe.analysis.InheritanceProvider;
 import org.cadixdev.bombe.analysis.InheritanceType;
 import org.cadixdev.bombe.type.BaseType;
 import org.cadixdev.bombe.type.signature.FieldSignature;
+import org.cadixdev.lorenz.CompletionCache;
+import org.cadixdev.lorenz.CompletionTable;
 import org.cadixdev.lorenz.MappingSet;
+import org.cadixdev.lorenz.impl.UnsynchronizedMappingSetModelFactory;
 import org.cadixdev.lorenz.model.FieldMapping;
 import org.cadixdev.lorenz.model.TopLevelClassMapping;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public final class CompletionTest {
 
@@ -92,6 +107,276 @@ public final class CompletionTest {
         assertEquals("childField", mapping.get().getDeobfuscatedName());
     }
 
+    @Test
+    @DisplayName("completes class once when called concurrently")
+    public void completesOnceConcurrently() throws InterruptedException {
+        // given:
+        final MappingSet mappings = mappings();
+        final TopLevelClassMapping Child2 = mappings.getOrCreateTopLevelClassMapping("Child2");
+        final InheritanceProvider delegate = inheritanceProvider();
+        final AtomicInteger parentLookups = new AtomicInteger();
+        final InheritanceProvider inheritanceProvider = klass -> {
+            if (klass.equals("Parent")) parentLookups.incrementAndGet();
+            return delegate.provide(klass);
+        };
+        final CountDownLatch start = new CountDownLatch(1);
+
+        // when:
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            // Each caller has its own class info, so the parents would be provided for each walk
+            final InheritanceProvider.ClassInfo info = delegate.provide("Child2").get();
+            final Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                }
+                catch (final InterruptedException ignored) {
+                }
+                Child2.complete(inheritanceProvider, info);
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        // then:
+        assertTrue(Child2.isComplete());
+        assertEquals(1, parentLookups.get());
+        assertEquals("parentField", Child2.computeFieldMapping(new FieldSignature("a", BaseType.INT)).get().getDeobfuscatedName());
+    }
+
+    @Test
+    @DisplayName("completes all classes ahead of time")
+    public void completesAll() {
+        // given:
+        final MappingSet mappings = mappings();
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // when:
+        try {
+            mappings.completeAll(inheritanceProvider(), Arrays.asList("Child1", "Child2"), executor);
+        }
+        finally {
+            executor.shutdown();
+        }
+
+        // then:
+        assertTrue(mappings.getOrCreateTopLevelClassMapping("Parent").isComplete());
+        assertTrue(mappings.getOrCreateTopLevelClassMapping("Child1").isComplete());
+        final TopLevelClassMapping Child2 = mappings.getOrCreateTopLevelClassMapping("Child2");
+        assertTrue(Child2.isComplete());
+        assertEquals("parentField", Child2.computeFieldMapping(new FieldSignature("a", BaseType.INT)).get().getDeobfuscatedName());
+        assertFalse(mappings.hasTopLevelClassMapping("java/lang/Object"));
+    }
+
+    @Test
+    @DisplayName("completes all classes of unsynchronized mappings on the calling thread")
+    public void completesAllUnsynchronized() {
+        // given:
+        final MappingSet mappings = mappings(new MappingSet(UnsynchronizedMappingSetModelFactory.INSTANCE));
+
+        // when:
+        mappings.completeAll(inheritanceProvider(), Arrays.asList("Child1", "Child2"), task -> {
+            throw new AssertionError("The executor was used!");
+        });
+
+        // then:
+        assertTrue(mappings.getOrCreateTopLevelClassMapping("Parent").isComplete());
+        assertTrue(mappings.getOrCreateTopLevelClassMapping("Child1").isComplete());
+        final TopLevelClassMapping Child2 = mappings.getOrCreateTopLevelClassMapping("Child2");
+        assertTrue(Child2.isComplete());
+        assertEquals("parentField", Child2.computeFieldMapping(new FieldSignature("a", BaseType.INT)).get().getDeobfuscatedName());
+    }
+
+    @Test
+    @DisplayName("reads completion from cache")
+    public void readsCompletionFromCache() throws IOException {
+        final Path cache = Files.createTempFile("lorenz", ".completion");
+        try {
+            // given:
+            final MappingSet cold = mappings();
+            final String key = CompletionCache.computeKey(cold, Collections.emptyList());
+            cold.getOrCreateTopLevelClassMapping("Child2").complete(inheritanceProvider());
+            CompletionCache.write(cold, key, cache);
+
+            // when:
+            final MappingSet warm = mappings();
+            final boolean read = CompletionCache.read(warm, CompletionCache.computeKey(warm, Collections.emptyList()), cache);
+
+            // then:
+            assertTrue(read);
+            final TopLevelClassMapping Child2 = warm.getOrCreateTopLevelClassMapping("Child2");
+            assertTrue(Child2.isComplete());
+            assertEquals("parentField", Child2.computeFieldMapping(new FieldSignature("a", BaseType.INT)).get().getDeobfuscatedName());
+            assertSame(warm.getOrCreateTopLevelClassMapping("Parent"), Child2.computeFieldMapping(new FieldSignature("a", BaseType.INT)).get().getParent());
+
+            // A changed mapping set doesn't use the cache
+            final MappingSet changed = mappings();
+            changed.getOrCreateTopLevelClassMapping("Child2").setDeobfuscatedName("Renamed");
+            assertFalse(CompletionCache.read(changed, CompletionCache.computeKey(changed, Collections.emptyList()), cache));
+            assertFalse(changed.getOrCreateTopLevelClassMapping("Child2").isComplete());
+        }
+        finally {
+            Files.deleteIfExists(cache);
+        }
+    }
+
+    @Test
+    @DisplayName("treats truncated cache as miss")
+    public void treatsTruncatedCacheAsMiss() throws IOException {
+        final Path cache = Files.createTempFile("lorenz", ".completion");
+        try {
+            // given:
+            final MappingSet cold = mappings();
+            final String key = CompletionCache.computeKey(cold, Collections.emptyList());
+            cold.getOrCreateTopLevelClassMapping("Child2").complete(inheritanceProvider());
+            CompletionCache.write(cold, key, cache);
+            final byte[] bytes = Files.readAllBytes(cache);
+            Files.write(cache, Arrays.copyOf(bytes, bytes.length - 2));
+
+            // when:
+            final MappingSet warm = mappings();
+            final boolean read = CompletionCache.read(warm, key, cache);
+
+            // then:
+            assertFalse(read);
+            assertFalse(warm.getOrCreateTopLevelClassMapping("Child2").isComplete());
+        }
+        finally {
+            Files.deleteIfExists(cache);
+        }
+    }
+
+    @Test
+    @DisplayName("doesn't read cache into unsupported model")
+    public void doesntReadCacheIntoUnsupportedModel() throws IOException {
+        final Path cache = Files.createTempFile("lorenz", ".completion");
+        try {
+            // given:
+            final MappingSet cold = mappings();
+            final String key = CompletionCache.computeKey(cold, Collections.emptyList());
+            cold.getOrCreateTopLevelClassMapping("Child2").complete(inheritanceProvider());
+            CompletionCache.write(cold, key, cache);
+
+            // when:
+            final MappingSet frozen = mappings().freeze();
+            final boolean read = CompletionCache.read(frozen, CompletionCache.computeKey(frozen, Collections.emptyList()), cache);
+
+            // then:
+            assertFalse(read);
+            assertFalse(frozen.getOrCreateTopLevelClassMapping("Child2").isComplete());
+        }
+        finally {
+            Files.deleteIfExists(cache);
+        }
+    }
+
+    @Test
+    @DisplayName("completion table inherits field mapping")
+    public void completionTableInheritsFieldMapping() {
+        // given:
+        final MappingSet mappings = mappings();
+        final CompletionTable table = new CompletionTable(mappings, inheritanceProvider());
+
+        // when:
+        final Optional<FieldMapping> inherited = table.getFieldMapping("Child2", new FieldSignature("a", BaseType.INT));
+        final Optional<FieldMapping> own = table.getFieldMapping("Child1", new FieldSignature("a", BaseType.INT));
+
+        // then:
+        assertTrue(inherited.isPresent(), "Child2 hasn't inherited Parent/a");
+        assertEquals("parentField", inherited.get().getDeobfuscatedName());
+        assertTrue(own.isPresent());
+        assertEquals("childField", own.get().getDeobfuscatedName());
+        assertFalse(mappings.getOrCreateTopLevelClassMapping("Child2").isComplete());
+        assertFalse(mappings.hasTopLevelClassMapping("java/lang/Object"));
+    }
+
+    @Test
+    @DisplayName("completion table tolerates cyclic hierarchies")
+    public void completionTableToleratesCycles() {
+        // given:
+        final MappingSet mappings = new MappingSet();
+        mappings.getOrCreateTopLevelClassMapping("B").createFieldMapping(new FieldSignature("a", BaseType.INT), "cyclicField");
+        final Map<FieldSignature, InheritanceType> fields = Collections.singletonMap(
+                new FieldSignature("a", BaseType.INT), InheritanceType.PUBLIC
+        );
+        final Map<String, InheritanceType> fieldsByName = Collections.singletonMap(
+                "a", InheritanceType.PUBLIC
+        );
+        final InheritanceProvider inheritanceProvider = klass -> Optional.of(new InheritanceProvider.ClassInfo.Impl(
+                klass, false,
+                klass.equals("A") ? "B" : "A", Collections.emptyList(),
+                klass.equals("B") ? fields : Collections.emptyMap(), klass.equals("B") ? fieldsByName : Collections.emptyMap(),
+                Collections.emptyMap()
+        ));
+        final CompletionTable table = new CompletionTable(mappings, inheritanceProvider);
+
+        // when:
+        final Optional<FieldMapping> inherited = table.getFieldMapping("A", new FieldSignature("a", BaseType.INT));
+
+        // then:
+        assertTrue(inherited.isPresent(), "A hasn't inherited B/a");
+        assertEquals("cyclicField", inherited.get().getDeobfuscatedName());
+        assertEquals(2, table.size());
+    }
+
+    @Test
+    @DisplayName("completes cyclic hierarchy concurrently")
+    public void completesCyclesConcurrently() throws InterruptedException {
+        // given:
+        final InheritanceProvider inheritanceProvider = klass -> Optional.of(new InheritanceProvider.ClassInfo.Impl(
+                klass, false,
+                klass.equals("A") ? "B" : "A", Collections.emptyList(),
+                Collections.singletonMap(new FieldSignature(klass.equals("A") ? "b" : "a", BaseType.INT), InheritanceType.PUBLIC),
+                Collections.singletonMap(klass.equals("A") ? "b" : "a", InheritanceType.PUBLIC),
+                Collections.emptyMap()
+        ));
+
+        for (int attempt = 0; attempt < 50; attempt++) {
+            final MappingSet mappings = new MappingSet();
+            final TopLevelClassMapping A = mappings.getOrCreateTopLevelClassMapping("A");
+            final TopLevelClassMapping B = mappings.getOrCreateTopLevelClassMapping("B");
+            A.createFieldMapping(new FieldSignature("b", BaseType.INT), "aField");
+            B.createFieldMapping(new FieldSignature("a", BaseType.INT), "bField");
+            final CountDownLatch start = new CountDownLatch(1);
+
+            // when:
+            final List<Thread> threads = new ArrayList<>();
+            for (final TopLevelClassMapping klass : Arrays.asList(A, B)) {
+                final Thread thread = new Thread(() -> {
+                    try {
+                        start.await();
+                    }
+                    catch (final InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                    klass.complete(inheritanceProvider);
+                });
+                thread.setDaemon(true);
+                thread.start();
+                threads.add(thread);
+            }
+            // Code outside of Lorenz holding the monitor of a mapping mustn't
+            // stall its completion
+            synchronized (A) {
+                start.countDown();
+                for (final Thread thread : threads) {
+                    thread.join(10000);
+                    assertFalse(thread.isAlive(), "Completion deadlocked");
+                }
+            }
+
+            // then:
+            assertTrue(A.isComplete());
+            assertTrue(B.isComplete());
+            assertEquals("bField", A.computeFieldMapping(new FieldSignature("a", BaseType.INT)).get().getDeobfuscatedName());
+            assertEquals("aField", B.computeFieldMapping(new FieldSignature("b", BaseType.INT)).get().getDeobfuscatedName());
+        }
+    }
+
     /*
     This is representing the following:
 
@@ -102,8 +387,10 @@ public final class CompletionTest {
         a childField
      */
     private static MappingSet mappings() {
-        final MappingSet mappings = MappingSet.create();
+        return mappings(MappingSet.create());
+    }
 
+    private static MappingSet mappings(final MappingSet mappings) {
         final TopLevelClassMapping Parent =
                 mappings.getOrCreateTopLevelClassMapping("Parent");
         Parent.getOrCreateFieldMapping("a")
@@ -26,15 +26,36 @@
 package org.cadixdev.lorenz.test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.cadixdev.bombe.type.ArrayType;
+import org.cadixdev.bombe.type.BaseType;
 import org.cadixdev.bombe.type.MethodDescriptor;
 import org.cadixdev.bombe.type.ObjectType;
+import org.cadixdev.bombe.type.signature.FieldSignature;
+import org.cadixdev.bombe.type.signature.MethodSignature;
 import org.cadixdev.lorenz.MappingSet;
+import org.cadixdev.lorenz.impl.MappingSetModelFactoryImpl;
+import org.cadixdev.lorenz.impl.model.InnerClassMappingImpl;
+import org.cadixdev.lorenz.impl.model.TopLevelClassMappingImpl;
+import org.cadixdev.lorenz.model.ClassMapping;
+import org.cadixdev.lorenz.model.FieldMapping;
+import org.cadixdev.lorenz.model.InnerClassMapping;
+import org.cadixdev.lorenz.model.MethodMapping;
 import org.cadixdev.lorenz.model.TopLevelClassMapping;
+import org.cadixdev.lorenz.util.InternPool;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
 public final class MappingSetTest {
 
     @Test
@@ -153,6 +174,277 @@ public final class MappingSetTest {
         assertEquals(deobf, mappings.deobfuscate(obf));
     }
 
+    @Test
+    @DisplayName("de-obfuscate after renaming class")
+    public void deobfAfterRenamingClass() {
+        final MappingSet mappings = mappings();
+        assertEquals(new ObjectType("Demo"), mappings.deobfuscate(new ObjectType("a")));
+        assertEquals(MethodDescriptor.of("(LDemo;)V"), mappings.deobfuscate(MethodDescriptor.of("(La;)V")));
+
+        mappings.getOrCreateTopLevelClassMapping("a").setDeobfuscatedName("Renamed");
+
+        assertEquals(new ObjectType("Renamed"), mappings.deobfuscate(new ObjectType("a")));
+        assertEquals(MethodDescriptor.of("(LRenamed;)V"), mappings.deobfuscate(MethodDescriptor.of("(La;)V")));
+    }
+
+    @Test
+    @DisplayName("get inner class mapping by full name")
+    public void getInnerClassMappingByFullName() {
+        final MappingSet mappings = mappings();
+        final ClassMapping<?, ?> inner = mappings.getOrCreateClassMapping("a$a$b");
+
+        assertSame(inner, mappings.getClassMapping("a$a$b").orElse(null));
+        assertEquals("Demo$Inner$b", inner.getFullDeobfuscatedName());
+    }
+
+    @Test
+    @DisplayName("get inner class mapping of a model that doesn't use the index")
+    public void getInnerClassMappingOfCustomModel() {
+        final MappingSet mappings = new MappingSet(new MappingSetModelFactoryImpl() {
+            @Override
+            public TopLevelClassMapping createTopLevelClassMapping(final MappingSet parent, final String obfuscatedName,
+                    final String deobfuscatedName) {
+                return new TopLevelClassMappingImpl(parent, obfuscatedName, deobfuscatedName) {
+                    private final Map<String, InnerClassMapping> innerClasses = new HashMap<>();
+
+                    @Override
+                    public Optional<InnerClassMapping> getInnerClassMapping(final String obfuscatedName) {
+                        return Optional.of(this.innerClasses.computeIfAbsent(obfuscatedName,
+                                name -> new InnerClassMappingImpl(this, name, "Inner")));
+                    }
+                };
+            }
+        });
+        mappings.createTopLevelClassMapping("a", "Demo");
+
+        final ClassMapping<?, ?> inner = mappings.getClassMapping("a$b").orElse(null);
+        assertEquals("Demo$Inner", inner.getFullDeobfuscatedName());
+        assertSame(inner, mappings.getClassMapping("a$b").orElse(null));
+        assertEquals(new ObjectType("Demo$Inner"), mappings.deobfuscate(new ObjectType("a$b")));
+    }
+
+    @Test
+    @DisplayName("removing a class mapping removes it and its inner classes from the index")
+    public void removeClassMappingUpdatesIndex() {
+        final MappingSet mappings = mappings();
+        mappings.getOrCreateClassMapping("a$a$b");
+
+        mappings.removeClassMapping(mappings.getClassMapping("a$a").orElseThrow(IllegalStateException::new));
+        assertFalse(mappings.getClassMapping("a$a").isPresent());
+        assertFalse(mappings.getClassMapping("a$a$b").isPresent());
+        assertEquals(new ObjectType("Demo$a$b"), mappings.deobfuscate(new ObjectType("a$a$b")));
+
+        mappings.removeClassMapping(mappings.getClassMapping("a").orElseThrow(IllegalStateException::new));
+        assertFalse(mappings.getClassMapping("a").isPresent());
+    }
+
+    @Test
+    @DisplayName("full names follow renames of parent classes")
+    public void fullNamesFollowParentRenames() {
+        final MappingSet mappings = mappings();
+        final ClassMapping<?, ?> inner = mappings.getOrCreateClassMapping("a$a$b");
+        final FieldMapping field = inner.getOrCreateFieldMapping("c");
+        final MethodMapping method = inner.getOrCreateMethodMapping("d", "()V");
+
+        assertEquals("Demo$Inner$b/c", field.getFullDeobfuscatedName());
+        assertEquals("Demo$Inner$b/d", method.getFullDeobfuscatedName());
+
+        mappings.getOrCreateTopLevelClassMapping("a").setDeobfuscatedName("Example");
+        assertEquals("Example$Inner$b", inner.getFullDeobfuscatedName());
+        assertEquals("Example$Inner$b/c", field.getFullDeobfuscatedName());
+        assertEquals("Example$Inner$b/d", method.getFullDeobfuscatedName());
+        assertEquals("a$a$b/c", field.getFullObfuscatedName());
+    }
+
+    @Test
+    @DisplayName("de-obfuscation cache follows class changes")
+    public void deobfCacheFollowsClassChanges() {
+        final MappingSet mappings = mappings();
+        final MethodDescriptor obf = MethodDescriptor.of("(La$a;[Lb;)La;");
+
+        assertEquals(MethodDescriptor.of("(LDemo$Inner;[Lb;)LDemo;"), mappings.deobfuscate(obf));
+
+        mappings.getOrCreateClassMapping("a$a").setDeobfuscatedName("Renamed");
+        assertEquals(MethodDescriptor.of("(LDemo$Renamed;[Lb;)LDemo;"), mappings.deobfuscate(obf));
+
+        mappings.getOrCreateTopLevelClassMapping("b").setDeobfuscatedName("Other");
+        assertEquals(MethodDescriptor.of("(LDemo$Renamed;[LOther;)LDemo;"), mappings.deobfuscate(obf));
+
+        mappings.removeClassMapping("b");
+        assertEquals(MethodDescriptor.of("(LDemo$Renamed;[Lb;)LDemo;"), mappings.deobfuscate(obf));
+    }
+
+    @Test
+    @DisplayName("get class mapping by de-obfuscated name")
+    public void getClassMappingByDeobfName() {
+        final MappingSet mappings = mappings();
+        final ClassMapping<?, ?> inner = mappings.getOrCreateClassMapping("a$a");
+
+        assertSame(inner, mappings.getClassMappingByDeobfuscatedName("Demo$Inner").orElse(null));
+
+        mappings.getOrCreateTopLevelClassMapping("a").setDeobfuscatedName("Example");
+        assertFalse(mappings.getClassMappingByDeobfuscatedName("Demo$Inner").isPresent());
+        assertSame(inner, mappings.getClassMappingByDeobfuscatedName("Example$Inner").orElse(null));
+
+        final ClassMapping<?, ?> created = mappings.getOrCreateTopLevelClassMapping("b").setDeobfuscatedName("Other");
+        assertSame(created, mappings.getClassMappingByDeobfuscatedName("Other").orElse(null));
+
+        mappings.removeClassMapping(created);
+        assertFalse(mappings.getClassMappingByDeobfuscatedName("Other").isPresent());
+    }
+
+    @Test
+    @DisplayName("get class mapping by de-obfuscated name, once another class has used the name")
+    public void getClassMappingByReusedDeobfName() {
+        final MappingSet mappings = new MappingSet();
+        final ClassMapping<?, ?> first = mappings.createTopLevelClassMapping("a", "Demo");
+        assertSame(first, mappings.getClassMappingByDeobfuscatedName("Demo").orElse(null));
+
+        // Both classes share the name, before the second is renamed again
+        final ClassMapping<?, ?> second = mappings.createTopLevelClassMapping("b", "Demo");
+        second.setDeobfuscatedName("Other");
+        assertSame(first, mappings.getClassMappingByDeobfuscatedName("Demo").orElse(null));
+        assertSame(second, mappings.getClassMappingByDeobfuscatedName("Other").orElse(null));
+    }
+
+    @Test
+    @DisplayName("get member mappings by de-obfuscated signature, while creating classes")
+    public void getMemberMappingsWhileCreatingClasses() {
+        final MappingSet mappings = new MappingSet();
+        final MethodMapping method = mappings.createTopLevelClassMapping("a", "Demo")
+                .getOrCreateMethodMapping("b", "(Lc;)V").setDeobfuscatedName("run");
+        assertSame(method, mappings.getMethodMappingByDeobfuscatedSignature("Demo", MethodSignature.of("run", "(Lc;)V")).orElse(null));
+
+        for (int i = 0; i < 100; i++) {
+            final ClassMapping<?, ?> klass = mappings.createTopLevelClassMapping("d" + i, "Example" + i);
+            final FieldMapping field = klass.getOrCreateFieldMapping("e").setDeobfuscatedName("name");
+            assertSame(field, mappings.getFieldMappingByDeobfuscatedSignature("Example" + i, new FieldSignature("name")).orElse(null));
+        }
+
+        mappings.createTopLevelClassMapping("c", "Target");
+        assertSame(method, mappings.getMethodMappingByDeobfuscatedSignature("Demo", MethodSignature.of("run", "(LTarget;)V")).orElse(null));
+        assertFalse(mappings.getMethodMappingByDeobfuscatedSignature("Demo", MethodSignature.of("run", "(Lc;)V")).isPresent());
+    }
+
+    @Test
+    @DisplayName("get class mappings by de-obfuscated name, created while the index is built")
+    public void getClassMappingsCreatedWhileIndexing() throws InterruptedException {
+        for (int attempt = 0; attempt < 10; attempt++) {
+            final MappingSet mappings = new MappingSet();
+            for (int i = 0; i < 5000; i++) {
+                mappings.createTopLevelClassMapping("a" + i, "Existing" + i);
+            }
+
+            final Thread writer = new Thread(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    mappings.createTopLevelClassMapping("b" + i, "Created" + i)
+                            .getOrCreateFieldMapping("c").setDeobfuscatedName("name");
+                }
+            });
+            writer.start();
+            mappings.getClassMappingByDeobfuscatedName("Existing0");
+            writer.join();
+
+            for (int i = 0; i < 5000; i++) {
+                assertSame(mappings.getClassMapping("b" + i).orElse(null),
+                        mappings.getClassMappingByDeobfuscatedName("Created" + i).orElse(null));
+                assertTrue(mappings.getFieldMappingByDeobfuscatedSignature("Created" + i, new FieldSignature("name")).isPresent());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("get member mappings by de-obfuscated signature")
+    public void getMemberMappingsByDeobfSignature() {
+        final MappingSet mappings = mappings();
+        final ClassMapping<?, ?> klass = mappings.getOrCreateClassMapping("a");
+        final MethodMapping method = klass.getOrCreateMethodMapping("b", "(La$a;)V").setDeobfuscatedName("run");
+        final FieldMapping field = klass.getOrCreateFieldMapping("c").setDeobfuscatedName("name");
+
+        assertSame(method, mappings.getMethodMappingByDeobfuscatedSignature("Demo", MethodSignature.of("run", "(LDemo$Inner;)V")).orElse(null));
+        assertSame(field, mappings.getFieldMappingByDeobfuscatedSignature("Demo", new FieldSignature("name")).orElse(null));
+
+        method.setDeobfuscatedName("execute");
+        assertFalse(mappings.getMethodMappingByDeobfuscatedSignature("Demo", MethodSignature.of("run", "(LDemo$Inner;)V")).isPresent());
+        assertSame(method, mappings.getMethodMappingByDeobfuscatedSignature("Demo", MethodSignature.of("execute", "(LDemo$Inner;)V")).orElse(null));
+
+        // Renaming a class changes the de-obfuscated descriptors referencing it
+        mappings.getOrCreateClassMapping("a$a").setDeobfuscatedName("Renamed");
+        assertSame(method, mappings.getMethodMappingByDeobfuscatedSignature("Demo", MethodSignature.of("execute", "(LDemo$Renamed;)V")).orElse(null));
+
+        klass.removeFieldMapping("c");
+        assertFalse(mappings.getFieldMappingByDeobfuscatedSignature("Demo", new FieldSignature("name")).isPresent());
+    }
+
+    @Test
+    @DisplayName("obfuscate method descriptor")
+    public void obfMethodDescriptor() {
+        final MappingSet mappings = mappings();
+
+        assertEquals(MethodDescriptor.of("(La$a;[La$b;I)La;"), mappings.obfuscate(MethodDescriptor.of("(LDemo$Inner;[LDemo$b;I)LDemo;")));
+        assertEquals(MethodDescriptor.of("(LUnknown;)V"), mappings.obfuscate(MethodDescriptor.of("(LUnknown;)V")));
+    }
+
+    @Test
+    @DisplayName("intern pool shared between sets")
+    public void internPoolSharedBetweenSets() {
+        final InternPool pool = new InternPool();
+        final MappingSet first = new MappingSet().setInternPool(pool);
+        final MappingSet second = new MappingSet().setInternPool(pool);
+
+        final MethodMapping firstMethod = first.getOrCreateClassMapping(new String("a"))
+                .getOrCreateMethodMapping(new String("b"), "(La;)V")
+                .setDeobfuscatedName(new String("run"));
+        final MethodMapping secondMethod = second.getOrCreateClassMapping(new String("a"))
+                .getOrCreateMethodMapping(new String("b"), "(La;)V")
+                .setDeobfuscatedName(new String("run"));
+
+        assertSame(firstMethod.getParent().getObfuscatedName(), secondMethod.getParent().getObfuscatedName());
+        assertSame(firstMethod.getSignature(), secondMethod.getSignature());
+        assertSame(firstMethod.getDescriptor(), secondMethod.getDescriptor());
+        assertSame(firstMethod.getDeobfuscatedName(), secondMethod.getDeobfuscatedName());
+        assertSame(firstMethod.getParent().getObfuscatedName(), ((ObjectType) firstMethod.getDescriptor().getParamTypes().get(0)).getClassName());
+
+        // Sets produced from a set share its pool
+        assertSame(pool, first.copy().getInternPool());
+        assertSame(InternPool.NONE, new MappingSet().getInternPool());
+    }
+
+    @Test
+    @DisplayName("resolves field types once")
+    public void resolvesFieldTypes() {
+        final AtomicInteger provided = new AtomicInteger();
+        final MappingSet mappings = new MappingSet().addFieldTypeProvider(mapping -> {
+            provided.incrementAndGet();
+            return "b".equals(mapping.getObfuscatedName()) ? Optional.of(BaseType.INT) : Optional.empty();
+        });
+        final TopLevelClassMapping a = mappings.getOrCreateTopLevelClassMapping("a");
+        final FieldMapping b = a.getOrCreateFieldMapping("b").setDeobfuscatedName("count");
+        final FieldMapping c = a.getOrCreateFieldMapping("c").setDeobfuscatedName("name");
+        final FieldMapping d = a.getOrCreateInnerClassMapping("1").getOrCreateFieldMapping("b").setDeobfuscatedName("size");
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            mappings.resolveFieldTypes(executor);
+        }
+        finally {
+            executor.shutdown();
+        }
+
+        assertEquals(3, provided.get());
+        assertEquals(new FieldSignature("b", BaseType.INT), b.getSignature());
+        assertEquals(new FieldSignature("b", BaseType.INT), d.getSignature());
+        assertEquals(new FieldSignature("c"), c.getSignature());
+        assertSame(b, a.getFieldMapping(new FieldSignature("b", BaseType.INT)).get());
+        assertSame(b, a.getFieldMapping("b").get());
+        assertFalse(a.getFieldMapping(new FieldSignature("b")).isPresent());
+        assertEquals(2, a.getFieldMappings().size());
+
+        // Resolved types no longer reach the providers
+        assertEquals(Optional.of(BaseType.INT), b.getType());
+        assertEquals(3, provided.get());
+    }
+
     private static MappingSet mappings() {
         final MappingSet mappings = MappingSet.create();
 
@@ -26,11 +26,13 @@
 package org.cadixdev.lorenz.test.asm;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.cadixdev.lorenz.MappingSet;
 import org.cadixdev.lorenz.asm.AsmFieldTypeProvider;
 import org.cadixdev.lorenz.model.FieldMapping;
+import org.cadixdev.bombe.type.BaseType;
 import org.cadixdev.bombe.type.FieldType;
 import org.cadixdev.bombe.type.ObjectType;
 import org.junit.jupiter.api.Test;
@@ -39,6 +41,7 @@ import org.objectweb.asm.Opcodes;
 
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public final class AsmFieldTypeProviderTest {
 
@@ -63,4 +66,32 @@ public final class AsmFieldTypeProviderTest {
         assertEquals("java/util/logging/Logger", ((ObjectType) type.get()).getClassName());
     }
 
+    @Test
+    public void readsClassOnce() {
+        final MappingSet mappings = new MappingSet();
+        final FieldMapping first = mappings.getOrCreateTopLevelClassMapping("ght")
+                .getOrCreateFieldMapping("op");
+        final FieldMapping second = mappings.getOrCreateTopLevelClassMapping("ght")
+                .getOrCreateFieldMapping("oq");
+        final FieldMapping missing = mappings.getOrCreateTopLevelClassMapping("ght")
+                .getOrCreateFieldMapping("or");
+
+        final ClassWriter writer = new ClassWriter(0);
+        writer.visit(Opcodes.V1_5, Opcodes.ACC_PUBLIC, "ght", null, "java/lang/Object", null);
+        writer.visitField(Opcodes.ACC_PUBLIC, "op", "Ljava/util/logging/Logger;", null, null);
+        writer.visitField(Opcodes.ACC_PUBLIC, "oq", "I", null, null);
+
+        final AtomicInteger reads = new AtomicInteger();
+        final AsmFieldTypeProvider provider = new AsmFieldTypeProvider(klass -> {
+            reads.incrementAndGet();
+            if (Objects.equals("ght", klass)) return writer.toByteArray();
+            return null;
+        });
+
+        assertEquals(FieldType.of("Ljava/util/logging/Logger;"), provider.provide(first).orElse(null));
+        assertEquals(BaseType.INT, provider.provide(second).orElse(null));
+        assertFalse(provider.provide(missing).isPresent());
+        assertEquals(1, reads.get());
+    }
+
 }
@@ -0,0 +1,167 @@
+/*
+ * This file is part of Lorenz, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamierocks.uk/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cadixdev.lorenz.test.asm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.cadixdev.bombe.type.BaseType;
+import org.cadixdev.bombe.type.FieldType;
+import org.cadixdev.lorenz.MappingSet;
+import org.cadixdev.lorenz.asm.JarFieldTypeProvider;
+import org.cadixdev.lorenz.model.TopLevelClassMapping;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+public final class JarFieldTypeProviderTest {
+
+    @Test
+    public void indexesJar() throws IOException {
+        final Path jar = Files.createTempFile("lorenz", ".jar");
+        try {
+            try (final ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(jar))) {
+                write(zip, "a.class", createClass("a"), ZipEntry.DEFLATED);
+                write(zip, "pkg/b.class", createClass("pkg/b"), ZipEntry.STORED);
+                write(zip, "c.txt", "Hello, World!".getBytes(StandardCharsets.UTF_8), ZipEntry.DEFLATED);
+            }
+
+            final JarFieldTypeProvider provider = new JarFieldTypeProvider(jar);
+            final MappingSet mappings = new MappingSet().addFieldTypeProvider(provider);
+            final TopLevelClassMapping a = mappings.getOrCreateTopLevelClassMapping("a");
+            final TopLevelClassMapping b = mappings.getOrCreateTopLevelClassMapping("pkg/b");
+
+            assertEquals(2, provider.getClassCount());
+            assertEquals(BaseType.INT, a.getOrCreateFieldMapping("x").getType().orElse(null));
+            assertEquals(FieldType.of("Ljava/lang/String;"), a.getOrCreateFieldMapping("y").getType().orElse(null));
+            assertEquals(FieldType.of("Ljava/lang/String;"), b.getOrCreateFieldMapping("y").getType().orElse(null));
+            assertFalse(a.getOrCreateFieldMapping("z").getType().isPresent());
+            assertFalse(mappings.getOrCreateTopLevelClassMapping("c").getOrCreateFieldMapping("x").getType().isPresent());
+        }
+        finally {
+            Files.delete(jar);
+        }
+    }
+
+    @Test
+    public void indexesJarWithPrependedData() throws IOException {
+        final Path jar = Files.createTempFile("lorenz", ".jar");
+        try {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            bytes.write("#!/bin/sh\nexec java -jar \"$0\" \"$@\"\n".getBytes(StandardCharsets.UTF_8));
+            try (final ZipOutputStream zip = new ZipOutputStream(bytes)) {
+                write(zip, "a.class", createClass("a"), ZipEntry.DEFLATED);
+                write(zip, "pkg/b.class", createClass("pkg/b"), ZipEntry.STORED);
+            }
+            Files.write(jar, bytes.toByteArray());
+
+            final JarFieldTypeProvider provider = new JarFieldTypeProvider(jar);
+            final MappingSet mappings = new MappingSet().addFieldTypeProvider(provider);
+
+            assertEquals(2, provider.getClassCount());
+            assertEquals(BaseType.INT, mappings.getOrCreateTopLevelClassMapping("a").getOrCreateFieldMapping("x").getType().orElse(null));
+            assertEquals(BaseType.INT, mappings.getOrCreateTopLevelClassMapping("pkg/b").getOrCreateFieldMapping("x").getType().orElse(null));
+        }
+        finally {
+            Files.delete(jar);
+        }
+    }
+
+    @Test
+    public void rejectsUnsupportedSizes() throws IOException {
+        // Sizes of 2GB, or more, must not be read as negative
+        final IOException large = assertThrows(IOException.class, () -> index(withCompressedSize(0x80000000)));
+        assertTrue(large.getMessage().contains("malformed"), large.getMessage());
+
+        final IOException zip64 = assertThrows(IOException.class, () -> index(withCompressedSize(0xFFFFFFFF)));
+        assertTrue(zip64.getMessage().contains("Zip64"), zip64.getMessage());
+    }
+
+    private static byte[] withCompressedSize(final int compressedSize) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            write(zip, "a.class", createClass("a"), ZipEntry.DEFLATED);
+        }
+
+        // Patch the compressed size within the entry's central directory header
+        final ByteBuffer jar = ByteBuffer.wrap(bytes.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = jar.limit() - 4; i >= 0; i--) {
+            if (jar.getInt(i) == 0x02014b50) {
+                jar.putInt(i + 20, compressedSize);
+                break;
+            }
+        }
+        return jar.array();
+    }
+
+    private static void index(final byte[] bytes) throws IOException {
+        final Path jar = Files.createTempFile("lorenz", ".jar");
+        try {
+            Files.write(jar, bytes);
+            new JarFieldTypeProvider(jar);
+        }
+        finally {
+            Files.delete(jar);
+        }
+    }
+
+    private static byte[] createClass(final String name) {
+        final ClassWriter writer = new ClassWriter(0);
+        writer.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC, name, null, "java/lang/Object", null);
+        writer.visitField(Opcodes.ACC_PUBLIC, "x", "I", null, null);
+        writer.visitField(Opcodes.ACC_PUBLIC, "y", "Ljava/lang/String;", null, null);
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+
+    private static void write(final ZipOutputStream zip, final String name, final byte[] bytes, final int method) throws IOException {
+        final ZipEntry entry = new ZipEntry(name);
+        entry.setMethod(method);
+        if (method == ZipEntry.STORED) {
+            final CRC32 crc = new CRC32();
+            crc.update(bytes);
+            entry.setSize(bytes.length);
+            entry.setCrc(crc.getValue());
+        }
+        zip.putNextEntry(entry);
+        zip.write(bytes);
+        zip.closeEntry();
+    }
+
+}
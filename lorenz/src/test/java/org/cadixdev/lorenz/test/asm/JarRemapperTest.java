@@ -0,0 +1,181 @@
+/*
+ * This file is part of Lorenz, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamierocks.uk/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cadixdev.lorenz.test.asm;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.cadixdev.bombe.analysis.CompositeInheritanceProvider;
+import org.cadixdev.lorenz.CompletionTable;
+import org.cadixdev.lorenz.MappingSet;
+import org.cadixdev.lorenz.asm.JarRemapper;
+import org.cadixdev.lorenz.asm.LorenzRemapper;
+import org.cadixdev.lorenz.impl.UnsynchronizedMappingSetModelFactory;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.ClassNode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+public final class JarRemapperTest {
+
+    private static final byte[] RESOURCE = "Hello, World!".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void remapsJar() throws IOException {
+        final MappingSet mappings = new MappingSet();
+        mappings.getOrCreateTopLevelClassMapping("a").setDeobfuscatedName("pkg/Demo")
+                .getOrCreateFieldMapping("b").setDeobfuscatedName("name");
+        final JarRemapper remapper = new JarRemapper(new LorenzRemapper(new CompletionTable(mappings, new CompositeInheritanceProvider())))
+                .setParallelism(2);
+
+        final Path input = Files.createTempFile("lorenz", ".jar");
+        final Path output = Files.createTempFile("lorenz", ".jar");
+        try {
+            try (final ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(input))) {
+                for (int i = 0; i < 20; i++) {
+                    write(zip, "c" + i + ".class", createClass("c" + i), ZipEntry.DEFLATED);
+                }
+                write(zip, "a.class", createClass("a"), ZipEntry.DEFLATED);
+                write(zip, "stored.txt", RESOURCE, ZipEntry.STORED);
+                write(zip, "deflated.txt", RESOURCE, ZipEntry.DEFLATED);
+            }
+
+            remapper.remap(input, output);
+
+            try (final ZipFile zip = new ZipFile(output.toFile())) {
+                final List<String> names = new ArrayList<>();
+                Collections.list(zip.entries()).forEach(entry -> names.add(entry.getName()));
+                assertEquals(23, names.size());
+                assertEquals("c19.class", names.get(19));
+                assertEquals("pkg/Demo.class", names.get(20));
+                assertEquals("stored.txt", names.get(21));
+                assertEquals("deflated.txt", names.get(22));
+
+                final ClassNode node = new ClassNode();
+                new ClassReader(read(zip, zip.getEntry("pkg/Demo.class"))).accept(node, 0);
+                assertEquals("pkg/Demo", node.name);
+                assertEquals("name", node.fields.get(0).name);
+
+                assertEquals(ZipEntry.STORED, zip.getEntry("stored.txt").getMethod());
+                assertArrayEquals(RESOURCE, read(zip, zip.getEntry("stored.txt")));
+                assertArrayEquals(RESOURCE, read(zip, zip.getEntry("deflated.txt")));
+            }
+        }
+        finally {
+            Files.deleteIfExists(input);
+            Files.deleteIfExists(output);
+        }
+    }
+
+    @Test
+    public void remapsUnsynchronizedMappingsOnOneThread() throws IOException {
+        final MappingSet mappings = new MappingSet(UnsynchronizedMappingSetModelFactory.INSTANCE);
+        mappings.getOrCreateTopLevelClassMapping("a").setDeobfuscatedName("pkg/Demo");
+        final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        final JarRemapper remapper = new JarRemapper(new LorenzRemapper(mappings, new CompositeInheritanceProvider()) {
+            @Override
+            public String map(final String typeName) {
+                threads.add(Thread.currentThread());
+                return super.map(typeName);
+            }
+        }).setParallelism(4);
+
+        final Path input = Files.createTempFile("lorenz", ".jar");
+        final Path output = Files.createTempFile("lorenz", ".jar");
+        try {
+            try (final ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(input))) {
+                for (int i = 0; i < 20; i++) {
+                    write(zip, "c" + i + ".class", createClass("c" + i), ZipEntry.DEFLATED);
+                }
+                write(zip, "a.class", createClass("a"), ZipEntry.DEFLATED);
+            }
+
+            remapper.remap(input, output);
+
+            try (final ZipFile zip = new ZipFile(output.toFile())) {
+                assertEquals(21, zip.size());
+                assertEquals("pkg/Demo.class", zip.getEntry("pkg/Demo.class").getName());
+            }
+            assertEquals(1, threads.size());
+        }
+        finally {
+            Files.deleteIfExists(input);
+            Files.deleteIfExists(output);
+        }
+    }
+
+    private static byte[] createClass(final String name) {
+        final ClassWriter writer = new ClassWriter(0);
+        writer.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC, name, null, "java/lang/Object", null);
+        writer.visitField(Opcodes.ACC_PUBLIC, "b", "I", null, null).visitEnd();
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+
+    private static void write(final ZipOutputStream zip, final String name, final byte[] bytes, final int method) throws IOException {
+        final ZipEntry entry = new ZipEntry(name);
+        entry.setMethod(method);
+        if (method == ZipEntry.STORED) {
+            final CRC32 crc = new CRC32();
+            crc.update(bytes);
+            entry.setSize(bytes.length);
+            entry.setCrc(crc.getValue());
+        }
+        zip.putNextEntry(entry);
+        zip.write(bytes);
+        zip.closeEntry();
+    }
+
+    private static byte[] read(final ZipFile zip, final ZipEntry entry) throws IOException {
+        try (final InputStream in = zip.getInputStream(entry)) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+}
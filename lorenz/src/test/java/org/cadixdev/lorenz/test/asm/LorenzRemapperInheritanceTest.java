@@ -26,7 +26,10 @@
 package org.cadixdev.lorenz.test.asm;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import org.cadixdev.lorenz.CompletionTable;
 import org.cadixdev.lorenz.MappingSet;
 import org.cadixdev.lorenz.asm.LorenzRemapper;
 import org.cadixdev.lorenz.model.TopLevelClassMapping;
@@ -60,4 +63,37 @@ public class LorenzRemapperInheritanceTest {
         assertEquals("bye", node.methods.get(1).name);
     }
 
+    @Test
+    public void testRemapFrozenMappingsResolvesInheritedMembers() throws IOException {
+        final MappingSet mappings = new MappingSet();
+        mappings.getOrCreateTopLevelClassMapping("test/inheritance/a/BaseClass")
+                .createMethodMapping(MethodSignature.of("helloWorld()V"), "bye");
+        final MappingSet frozen = mappings.freeze();
+
+        ClassReader reader = new ClassReader("test.inheritance.TestClass");
+        ClassNode node = new ClassNode();
+        reader.accept(new ClassRemapper(node, new LorenzRemapper(frozen, INHERITANCE)), 0);
+
+        assertEquals("bye", node.methods.get(1).name);
+        assertTrue(frozen.getOrCreateClassMapping("test/inheritance/TestClass").isComplete());
+        assertFalse(frozen.hasTopLevelClassMapping("test/inheritance/TestClass"));
+    }
+
+    @Test
+    public void testRemapWithCompletionTableLeavesMappingsUnchanged() throws IOException {
+        final MappingSet mappings = new MappingSet();
+        mappings.getOrCreateTopLevelClassMapping("test/inheritance/a/BaseClass")
+                .createMethodMapping(MethodSignature.of("helloWorld()V"), "bye");
+        final CompletionTable table = new CompletionTable(mappings, INHERITANCE);
+
+        ClassReader reader = new ClassReader("test.inheritance.TestClass");
+        ClassNode node = new ClassNode();
+        reader.accept(new ClassRemapper(node, new LorenzRemapper(table)), 0);
+
+        assertEquals("bye", node.methods.get(1).name);
+        assertEquals(1, mappings.getTopLevelClassMappings().size());
+        assertFalse(mappings.getTopLevelClassMappings().iterator().next().isComplete());
+        assertTrue(table.size() > 1);
+    }
+
 }
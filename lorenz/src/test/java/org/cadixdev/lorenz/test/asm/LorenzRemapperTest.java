@@ -141,4 +141,33 @@ public final class LorenzRemapperTest {
         assertEquals("getName", node.methods.get(0).name);
     }
 
+    @Test
+    public void cachesClassNames() {
+        final LorenzRemapper remapper = new LorenzRemapper(MAPPINGS, INHERITANCE);
+
+        assertEquals("Demo$Inner", remapper.map("ght$hy"));
+        assertEquals("Demo$Inner", remapper.map("ght$hy"));
+        assertEquals(1, remapper.getClassNameCacheHits());
+        assertEquals(1, remapper.getClassNameCacheMisses());
+
+        // Un-mapped inner classes of mapped classes aren't added to the mappings
+        assertEquals("Demo$ab", remapper.map("ght$ab"));
+        assertEquals("ab", remapper.mapInnerClassName("ght$ab", "ght", "ab"));
+        assertFalse(MAPPINGS.getClassMapping("ght$ab").isPresent());
+        assertEquals(1, remapper.getInnerClassNameCacheMisses());
+    }
+
+    @Test
+    public void remapsUnmappedInnerClassesOfAnyDepth() {
+        final LorenzRemapper remapper = new LorenzRemapper(MAPPINGS, INHERITANCE);
+
+        // Every enclosing class is un-mapped, up to the innermost mapped one
+        assertEquals("Demo$ab$cd", remapper.map("ght$ab$cd"));
+        assertEquals("Demo$Inner$ab$cd", remapper.map("ght$hy$ab$cd"));
+        assertEquals("cd", remapper.mapInnerClassName("ght$ab$cd", "ght$ab", "cd"));
+        assertEquals("uvw$ab$cd", remapper.map("uvw$ab$cd"));
+        assertEquals("cd", remapper.mapInnerClassName("uvw$ab$cd", "uvw$ab", "cd"));
+        assertFalse(MAPPINGS.getClassMapping("ght$ab").isPresent());
+    }
+
 }
@@ -0,0 +1,117 @@
+/*
+ * This file is part of Lorenz, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamierocks.uk/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cadixdev.lorenz.test.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.cadixdev.lorenz.MappingSet;
+import org.cadixdev.lorenz.io.MappedFileReader;
+import org.cadixdev.lorenz.io.MappingFormats;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public final class MappedFileReaderTest {
+
+    @Test
+    public void readsLines() throws IOException {
+        final Path file = Files.createTempFile("lorenz", ".txt");
+        try {
+            Files.write(file, "a b\r\nc\u00e9 d\r\n\ne f\rg".getBytes(StandardCharsets.UTF_8));
+
+            try (final MappedFileReader reader = new MappedFileReader(file)) {
+                assertEquals("a b", reader.readLine());
+                assertEquals("c\u00e9 d", reader.readLine());
+                assertEquals("", reader.readLine());
+                assertEquals("e f", reader.readLine());
+
+                // Reading characters decodes the remainder of the file
+                assertEquals('g', reader.read());
+                assertNull(reader.readLine());
+            }
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void replacesMalformedInput() throws IOException {
+        final Path file = Files.createTempFile("lorenz", ".txt");
+        try {
+            Files.write(file, new byte[]{ 'a', ' ', (byte) 0xC3, (byte) 0x28, '\n', 'b', '\n' });
+
+            try (final MappedFileReader reader = new MappedFileReader(file)) {
+                assertEquals("a \uFFFD(", reader.readLine());
+                assertEquals("b", reader.readLine());
+            }
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void releasesFileOnClose() throws IOException {
+        final Path file = Files.createTempFile("lorenz", ".txt");
+        try {
+            Files.write(file, "a b\nc d\n".getBytes(StandardCharsets.UTF_8));
+
+            final MappedFileReader reader = new MappedFileReader(file);
+            assertEquals('a', reader.read());
+            reader.close();
+
+            // Neither the mapping, nor the reader decoding from it, are kept
+            assertThrows(IOException.class, reader::readLine);
+            assertThrows(IOException.class, reader::read);
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void readsMappings() throws IOException {
+        final Path file = Files.createTempFile("lorenz", ".tsrg");
+        try {
+            Files.write(file, "a Demo\n\tb name\n\tc ()V run\n".getBytes(StandardCharsets.UTF_8));
+
+            final MappingSet mappings = MappingFormats.TSRG.read(file);
+            assertEquals("Demo", mappings.getClassMapping("a").get().getDeobfuscatedName());
+            assertEquals("name", mappings.getClassMapping("a").get().getFieldMapping("b").get().getDeobfuscatedName());
+            assertEquals("run", mappings.getClassMapping("a").get().getMethodMapping("c", "()V").get().getDeobfuscatedName());
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * This file is part of Lorenz, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamierocks.uk/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cadixdev.lorenz.test.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import org.cadixdev.lorenz.MappingSet;
+import org.cadixdev.lorenz.io.MappingConverter;
+import org.cadixdev.lorenz.io.MappingFormats;
+import org.cadixdev.lorenz.io.srg.csrg.CSrgReader;
+import org.cadixdev.lorenz.io.srg.csrg.CSrgWriter;
+import org.cadixdev.lorenz.io.srg.tsrg.TSrgReader;
+import org.cadixdev.lorenz.io.srg.tsrg.TSrgWriter;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+public final class MappingConverterTest {
+
+    // Members come before their classes, and inner classes before their outer classes
+    private static final String MAPPINGS = "a$c$d e count\n" +
+            "a b name\n" +
+            "a$c f ()V run\n" +
+            "b g (La;)V accept\n" +
+            "a$c Demo$Inner\n" +
+            "a Demo\n" +
+            "a h (I)V skipped\n";
+
+    @Test
+    public void convertsGroupedBySorting() throws IOException {
+        final Path directory = Files.createTempDirectory("lorenz");
+        try {
+            final StringWriter output = new StringWriter();
+            new MappingConverter(MappingFormats.CSRG, MappingFormats.TSRG)
+                    .setSpillThreshold(2)
+                    .setSpillDirectory(directory)
+                    .convert(new CSrgReader(new StringReader(MAPPINGS)), new TSrgWriter(output));
+
+            assertEquals("a Demo\n" +
+                    "\tb name\n" +
+                    "\th (I)V skipped\n" +
+                    "a$c Demo$Inner\n" +
+                    "\tf ()V run\n" +
+                    "a$c$d Demo$Inner$d\n" +
+                    "\te count\n" +
+                    "b b\n" +
+                    "\tg (La;)V accept\n", output.toString().replace(System.lineSeparator(), "\n"));
+
+            // The spilled runs are deleted once merged
+            try (final Stream<Path> runs = Files.list(directory)) {
+                assertFalse(runs.findAny().isPresent());
+            }
+
+            final MappingSet expected = new CSrgReader(new StringReader(MAPPINGS)).read();
+            final MappingSet converted = new TSrgReader(new StringReader(output.toString())).read();
+            assertEquals(write(expected), write(converted));
+        } finally {
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public void convertsDirectly() throws IOException {
+        final StringWriter output = new StringWriter();
+        new MappingConverter(MappingFormats.TSRG, MappingFormats.CSRG)
+                .convert(new TSrgReader(new StringReader("a Demo\n\tb name\n\tc ()V run\n")), new CSrgWriter(output));
+
+        // Lines are written in the order they're read
+        assertEquals("a Demo\n" +
+                "a b name\n" +
+                "a c ()V run\n", output.toString().replace(System.lineSeparator(), "\n"));
+    }
+
+    private static String write(final MappingSet mappings) throws IOException {
+        final StringWriter writer = new StringWriter();
+        new CSrgWriter(writer).write(mappings);
+        return writer.toString();
+    }
+
+}
@@ -0,0 +1,130 @@
+/*
+ * This file is part of Lorenz, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamierocks.uk/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cadixdev.lorenz.test.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.cadixdev.bombe.type.BaseType;
+import org.cadixdev.bombe.type.signature.FieldSignature;
+import org.cadixdev.lorenz.MappingSet;
+import org.cadixdev.lorenz.io.MappingSetVisitor;
+import org.cadixdev.lorenz.io.MappingVisitor;
+import org.cadixdev.lorenz.io.srg.tsrg.TSrgReader;
+import org.cadixdev.lorenz.io.srg.tsrg.TSrgWriter;
+import org.cadixdev.lorenz.model.ClassMapping;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class MappingVisitorTest {
+
+    private static final String MAPPINGS = "a Demo\n\tb name\n\tc ()V run\na$d Demo$Inner\n\te count\n";
+
+    @Test
+    public void streamsMappings() throws IOException {
+        final List<String> events = new ArrayList<>();
+        new TSrgReader(new StringReader(MAPPINGS)).accept(new MappingVisitor() {
+            @Override
+            public void visitClass(final String obfuscatedName, final String deobfuscatedName) {
+                events.add("class " + obfuscatedName + " " + deobfuscatedName);
+            }
+
+            @Override
+            public void visitField(final String owner, final String obfuscatedName, final String obfuscatedType,
+                    final String deobfuscatedName) {
+                events.add("field " + owner + " " + obfuscatedName + " " + deobfuscatedName);
+            }
+
+            @Override
+            public void visitMethod(final String owner, final String obfuscatedName, final String obfuscatedDescriptor,
+                    final String deobfuscatedName) {
+                events.add("method " + owner + " " + obfuscatedName + obfuscatedDescriptor + " " + deobfuscatedName);
+            }
+
+            @Override
+            public void visitEnd() {
+                events.add("end");
+            }
+        });
+
+        final List<String> expected = new ArrayList<>();
+        expected.add("class a Demo");
+        expected.add("field a b name");
+        expected.add("method a c()V run");
+        expected.add("class a$d Demo$Inner");
+        expected.add("field a$d e count");
+        expected.add("end");
+        assertEquals(expected, events);
+    }
+
+    @Test
+    public void processorsOnlyHaveMappingsOfMappingSetVisitors() {
+        final MappingSet mappings = new MappingSet();
+        assertSame(mappings, new TSrgReader.Processor(new MappingSetVisitor(mappings)).getMappings());
+        assertThrows(IllegalStateException.class, () -> new TSrgReader.Processor(new MappingVisitor() {}).getMappings());
+    }
+
+    @Test
+    public void replaysMappingSet() throws IOException {
+        final MappingSet original = new TSrgReader(new StringReader(MAPPINGS)).read();
+        final ClassMapping<?, ?> klass = original.getClassMapping("a").get();
+        klass.getMethodMapping("c", "()V").get()
+                .createParameterMapping(0, "flag");
+        klass.createFieldMapping(new FieldSignature("x", BaseType.INT), "first");
+        klass.createFieldMapping(new FieldSignature("x", BaseType.LONG), "second");
+        // A typed copy of the un-typed field, as completion creates
+        klass.computeFieldMapping(new FieldSignature("b", BaseType.INT));
+
+        final MappingSetVisitor visitor = new MappingSetVisitor(new MappingSet());
+        original.accept(visitor);
+        final MappingSet replayed = visitor.getMappings();
+
+        assertEquals(write(original), write(replayed));
+        assertEquals("flag", replayed.getClassMapping("a").get()
+                .getMethodMapping("c", "()V").get()
+                .getParameterMapping(0).get().getDeobfuscatedName());
+
+        final ClassMapping<?, ?> replayedClass = replayed.getClassMapping("a").get();
+        assertEquals("first", replayedClass.getFieldMapping(new FieldSignature("x", BaseType.INT)).get().getDeobfuscatedName());
+        assertEquals("second", replayedClass.getFieldMapping(new FieldSignature("x", BaseType.LONG)).get().getDeobfuscatedName());
+        assertEquals("name", replayedClass.getFieldMapping(new FieldSignature("b")).get().getDeobfuscatedName());
+        assertFalse(replayedClass.getFieldMapping(new FieldSignature("b", BaseType.INT)).isPresent());
+    }
+
+    private static String write(final MappingSet mappings) throws IOException {
+        final StringWriter writer = new StringWriter();
+        new TSrgWriter(writer).write(mappings);
+        return writer.toString();
+    }
+
+}
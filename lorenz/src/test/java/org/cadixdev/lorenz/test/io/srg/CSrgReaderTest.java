@@ -28,11 +28,15 @@ package org.cadixdev.lorenz.test.io.srg;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import org.cadixdev.lorenz.MappingSet;
 import org.cadixdev.lorenz.io.MappingFormats;
 import org.cadixdev.lorenz.io.srg.csrg.CSrgReader;
+import org.cadixdev.lorenz.io.srg.csrg.CSrgWriter;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
 
 public class CSrgReaderTest extends AbstractSrgReaderTest {
 
@@ -70,4 +74,53 @@ public class CSrgReaderTest extends AbstractSrgReaderTest {
         });
     }
 
+    @Test
+    public void readsInParallel() throws IOException {
+        final StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            input.append("c").append(i % 100).append(" pkg/Class").append(i % 100).append('\n');
+            input.append("c").append(i % 100).append(" f").append(i).append(" field").append(i).append('\n');
+            input.append("c").append(i % 100).append(" m").append(i).append(" ()V method").append(i).append(" # A comment\n");
+        }
+
+        final MappingSet sequential = new CSrgReader(new StringReader(input.toString())).read();
+        final MappingSet parallel = new CSrgReader(new StringReader(input.toString())).setParallelism(4).read();
+
+        assertEquals(100, parallel.getTopLevelClassMappings().size());
+        assertEquals(write(sequential), write(parallel));
+    }
+
+    @Test
+    public void readsClassesInParallelWithTheirMembers() throws IOException {
+        // The members of each class are read at the start of the first chunk
+        // of lines, and its class mapping at the start of the second - so
+        // are processed at the same time
+        final StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            input.append("c").append(i).append(" f field\n");
+            input.append("c").append(i).append("$i f field\n");
+        }
+        for (int i = 4000; i < 4096; i++) {
+            input.append("# A comment\n");
+        }
+        for (int i = 0; i < 2000; i++) {
+            input.append("c").append(i).append(" pkg/Class").append(i).append('\n');
+            input.append("c").append(i).append("$i pkg/Class").append(i).append("$Inner\n");
+        }
+
+        for (int attempt = 0; attempt < 10; attempt++) {
+            final MappingSet parallel = new CSrgReader(new StringReader(input.toString())).setParallelism(2).read();
+            for (int i = 0; i < 2000; i++) {
+                assertEquals("pkg/Class" + i, parallel.getOrCreateClassMapping("c" + i).getFullDeobfuscatedName());
+                assertEquals("pkg/Class" + i + "$Inner", parallel.getOrCreateClassMapping("c" + i + "$i").getFullDeobfuscatedName());
+            }
+        }
+    }
+
+    private static String write(final MappingSet mappings) throws IOException {
+        final StringWriter writer = new StringWriter();
+        new CSrgWriter(writer).write(mappings);
+        return writer.toString();
+    }
+
 }
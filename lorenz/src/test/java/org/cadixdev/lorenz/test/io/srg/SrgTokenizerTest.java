@@ -0,0 +1,79 @@
+/*
+ * This file is part of Lorenz, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamierocks.uk/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cadixdev.lorenz.test.io.srg;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.cadixdev.lorenz.io.srg.SrgTokenizer;
+import org.junit.jupiter.api.Test;
+
+public final class SrgTokenizerTest {
+
+    @Test
+    public void tokenizesLine() {
+        final SrgTokenizer tokens = new SrgTokenizer();
+        assertEquals(3, tokens.tokenize("  FD: ght/op  uk/jamierocks/Test/log # A comment"));
+        assertFalse(tokens.isIndented());
+        assertTrue(tokens.is(0, "FD:"));
+        assertFalse(tokens.is(0, "MD:"));
+        assertEquals("ght/op", tokens.get(1));
+        assertEquals(3, tokens.lastIndexOf(1, '/'));
+        assertEquals("op", tokens.get(1, 4, tokens.length(1)));
+        assertEquals(-1, tokens.lastIndexOf(0, '/'));
+        assertEquals("FD: ght/op  uk/jamierocks/Test/log", tokens.getContent());
+    }
+
+    @Test
+    public void tokenizesIndentedLine() {
+        final SrgTokenizer tokens = new SrgTokenizer();
+        assertEquals(3, tokens.tokenize("\tdoom ()V\tdoStuff"));
+        assertTrue(tokens.isIndented());
+        assertEquals("doom", tokens.get(0));
+        assertEquals("()V", tokens.get(1));
+        assertEquals("doStuff", tokens.get(2));
+    }
+
+    @Test
+    public void tokenizesComments() {
+        final SrgTokenizer tokens = new SrgTokenizer();
+        assertEquals(0, tokens.tokenize("# This is a comment"));
+        assertEquals(0, tokens.tokenize("\t#"));
+        assertEquals(0, tokens.tokenize(""));
+        assertEquals("", tokens.getContent());
+        assertEquals(2, tokens.tokenize("a b#c"));
+        assertEquals("b", tokens.get(1));
+    }
+
+    @Test
+    public void tokenizesLongLine() {
+        final SrgTokenizer tokens = new SrgTokenizer();
+        assertEquals(12, tokens.tokenize("a b c d e f g h i j k l"));
+        assertEquals("l", tokens.get(11));
+    }
+
+}
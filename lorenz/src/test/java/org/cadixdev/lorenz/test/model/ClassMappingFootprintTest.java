@@ -0,0 +1,100 @@
+/*
+ * This file is part of Lorenz, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamierocks.uk/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cadixdev.lorenz.test.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import org.cadixdev.lorenz.MappingSet;
+import org.cadixdev.lorenz.MappingSetModelFactory;
+import org.cadixdev.lorenz.model.TopLevelClassMapping;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+public final class ClassMappingFootprintTest {
+
+    private static final int COUNT = 10_000;
+
+    // Prior to the member containers being lazily allocated, an empty
+    // class mapping retained ~384 bytes (with compressed oops) - it is
+    // now ~128 bytes. Leave headroom for JVMs without compressed oops.
+    private static final long MAXIMUM_BYTES_PER_CLASS = 256;
+
+    @Test
+    @DisplayName("empty class mappings are compact")
+    public void emptyClassMappingsAreCompact() {
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+        final com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) threads;
+        assumeTrue(bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled());
+
+        final MappingSet mappings = new MappingSet();
+        final MappingSetModelFactory factory = mappings.getModelFactory();
+        final String[] names = new String[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            names[i] = "c" + i;
+        }
+
+        // Everything allocated here is retained by the array, so allocated
+        // bytes are retained bytes
+        final TopLevelClassMapping[] classes = new TopLevelClassMapping[COUNT];
+        final long threadId = Thread.currentThread().getId();
+        final long before = bean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < COUNT; i++) {
+            classes[i] = factory.createTopLevelClassMapping(mappings, names[i], names[i]);
+        }
+        final long bytesPerClass = (bean.getThreadAllocatedBytes(threadId) - before) / COUNT;
+
+        assertEquals(COUNT, classes.length);
+        assertTrue(bytesPerClass <= MAXIMUM_BYTES_PER_CLASS,
+                "An empty class mapping retains " + bytesPerClass + " bytes");
+    }
+
+    @Test
+    @DisplayName("empty class mappings behave as if they had empty containers")
+    public void emptyClassMappingsBehave() {
+        final TopLevelClassMapping klass = new MappingSet().getOrCreateTopLevelClassMapping("a");
+
+        assertTrue(klass.getFieldMappings().isEmpty());
+        assertTrue(klass.getFieldsByName().isEmpty());
+        assertTrue(klass.getMethodMappings().isEmpty());
+        assertTrue(klass.getInnerClassMappings().isEmpty());
+        assertTrue(!klass.hasFieldMapping("b") && !klass.getInnerClassMapping("b").isPresent());
+
+        klass.removeFieldMapping("b");
+        klass.removeInnerClassMapping("b");
+        assertEquals(new MappingSet().getOrCreateTopLevelClassMapping("a").hashCode(), klass.hashCode());
+
+        klass.getOrCreateFieldMapping("b");
+        assertTrue(klass.hasFieldMapping("b"));
+        assertEquals(1, klass.getFieldsByName().size());
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * This file is part of Lorenz, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamierocks.uk/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cadixdev.lorenz.test.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.cadixdev.lorenz.MappingSet;
+import org.cadixdev.lorenz.model.MethodMapping;
+import org.cadixdev.lorenz.model.MethodParameterMapping;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Collectors;
+
+public final class MethodParameterMappingTest {
+
+    @Test
+    public void parametersAreInIndexOrder() {
+        final MethodMapping method = method();
+        method.createParameterMapping(3, "d");
+        method.createParameterMapping(0, "a");
+        method.createParameterMapping(1, "b");
+
+        assertEquals(3, method.getParameterMappings().size());
+        assertEquals("a b d", method.getParameterMappings().stream()
+                .map(MethodParameterMapping::getDeobfuscatedName)
+                .collect(Collectors.joining(" ")));
+    }
+
+    @Test
+    public void parametersAreAddressedByIndex() {
+        final MethodMapping method = method();
+        final MethodParameterMapping param = method.createParameterMapping(2, "c");
+
+        assertTrue(method.hasParameterMapping(2));
+        assertFalse(method.hasParameterMapping(1));
+        assertFalse(method.hasParameterMapping(5));
+        assertFalse(method.getParameterMapping(-1).isPresent());
+        assertSame(param, method.getParameterMapping(2).orElse(null));
+
+        assertSame(param, method.createParameterMapping(2, "other"));
+        assertEquals("other", param.getDeobfuscatedName());
+        assertEquals(1, method.getParameterMappings().size());
+    }
+
+    @Test
+    public void parametersBeyondTheSlotsOfAMethodAreKept() {
+        final MethodMapping method = method();
+        method.createParameterMapping(1, "b");
+        final MethodParameterMapping large = method.createParameterMapping(Integer.MAX_VALUE, "z");
+        final MethodParameterMapping negative = method.createParameterMapping(-1, "a");
+
+        assertSame(large, method.getParameterMapping(Integer.MAX_VALUE).orElse(null));
+        assertSame(negative, method.getParameterMapping(-1).orElse(null));
+        assertTrue(method.hasParameterMapping(Integer.MAX_VALUE));
+        assertFalse(method.hasParameterMapping(255));
+
+        assertSame(large, method.createParameterMapping(Integer.MAX_VALUE, "other"));
+        assertEquals("other", large.getDeobfuscatedName());
+        assertEquals("a b other", method.getParameterMappings().stream()
+                .map(MethodParameterMapping::getDeobfuscatedName)
+                .collect(Collectors.joining(" ")));
+    }
+
+    private static MethodMapping method() {
+        return new MappingSet().getOrCreateTopLevelClassMapping("a")
+                .getOrCreateMethodMapping("b", "(IIII)V");
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * This file is part of Lorenz, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) Jamie Mansfield <https://www.jamierocks.uk/>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.cadixdev.lorenz.test.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.cadixdev.bombe.type.signature.MethodSignature;
+import org.cadixdev.lorenz.MappingSet;
+import org.cadixdev.lorenz.impl.UnsynchronizedMappingSetModelFactory;
+import org.cadixdev.lorenz.io.MappingFormats;
+import org.cadixdev.lorenz.io.MappingsReader;
+import org.cadixdev.lorenz.model.ClassMapping;
+import org.cadixdev.lorenz.model.FieldMapping;
+import org.cadixdev.lorenz.model.MethodMapping;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public final class UnsynchronizedModelTest {
+
+    @Test
+    @DisplayName("unsynchronized model creates and replaces mappings")
+    public void createsAndReplacesMappings() {
+        final MappingSet mappings = new MappingSet(UnsynchronizedMappingSetModelFactory.INSTANCE);
+        final ClassMapping<?, ?> klass = mappings.getOrCreateClassMapping("a$b");
+
+        final FieldMapping field = klass.createFieldMapping("c", "name");
+        assertSame(field, klass.createFieldMapping("c", "otherName"));
+        assertEquals("otherName", field.getDeobfuscatedName());
+        assertSame(field, klass.getFieldsByName().get("c"));
+
+        final MethodMapping method = klass.getOrCreateMethodMapping("d", "()V");
+        method.createParameterMapping(0, "first");
+        assertSame(method, klass.createMethodMapping(MethodSignature.of("d", "()V"), "getName"));
+        assertEquals("first", method.getParameterMapping(0).get().getDeobfuscatedName());
+
+        assertSame(klass, mappings.getClassMapping("a$b").orElse(null));
+        mappings.getOrCreateClassMapping("a").removeInnerClassMapping("b");
+        assertFalse(mappings.getClassMapping("a$b").isPresent());
+    }
+
+    @Test
+    @DisplayName("unsynchronized model reads the same mappings as the default model")
+    public void readsSameMappings() throws Exception {
+        final MappingSet expected = read(new MappingSet());
+        final MappingSet actual = read(new MappingSet(UnsynchronizedMappingSetModelFactory.INSTANCE));
+
+        assertEquals(expected.getTopLevelClassMappings().size(), actual.getTopLevelClassMappings().size());
+        expected.getTopLevelClassMappings().forEach(klass -> {
+            final ClassMapping<?, ?> other = actual.getClassMapping(klass.getFullObfuscatedName()).orElse(null);
+            assertTrue(other != null, klass.getFullObfuscatedName());
+            assertEquals(klass.getFullDeobfuscatedName(), other.getFullDeobfuscatedName());
+            assertEquals(klass.getFieldMappings().size(), other.getFieldMappings().size());
+            assertEquals(klass.getMethodMappings().size(), other.getMethodMappings().size());
+            assertEquals(klass.getInnerClassMappings().size(), other.getInnerClassMappings().size());
+        });
+    }
+
+    private static MappingSet read(final MappingSet mappings) throws Exception {
+        try (final MappingsReader reader = MappingFormats.TSRG.createReader(UnsynchronizedModelTest.class.getResourceAsStream("/test.tsrg"))) {
+            return reader.read(mappings);
+        }
+    }
+
+}
@@ -26,15 +26,19 @@
 package org.cadixdev.lorenz.test.model.jar;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.cadixdev.lorenz.MappingSet;
+import org.cadixdev.lorenz.model.FieldMapping;
 import org.cadixdev.lorenz.model.jar.CompositeFieldTypeProvider;
+import org.cadixdev.bombe.type.BaseType;
 import org.cadixdev.bombe.type.FieldType;
 import org.cadixdev.bombe.type.ObjectType;
 import org.junit.jupiter.api.Test;
 
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public final class CompositeFieldTypeProviderTest {
 
@@ -77,4 +81,35 @@ public final class CompositeFieldTypeProviderTest {
         assertEquals("java/lang/String", ((ObjectType) type.get()).getClassName());
     }
 
+    @Test
+    public void cachesTypes() {
+        final AtomicInteger lookups = new AtomicInteger();
+        final CompositeFieldTypeProvider provider = new CompositeFieldTypeProvider()
+                .setCacheSize(16)
+                .add(field -> {
+                    lookups.incrementAndGet();
+                    return "demo".equals(field.getObfuscatedName()) ? Optional.of(BaseType.INT) : Optional.empty();
+                });
+        final MappingSet mappings = new MappingSet().addFieldTypeProvider(provider);
+        final FieldMapping demo = mappings.getOrCreateTopLevelClassMapping("Demo").getOrCreateFieldMapping("demo");
+        final FieldMapping uiop = mappings.getOrCreateTopLevelClassMapping("Demo").getOrCreateFieldMapping("uiop");
+
+        // Both present and absent types are remembered
+        assertEquals(Optional.of(BaseType.INT), demo.getType());
+        assertEquals(Optional.of(BaseType.INT), demo.getType());
+        assertFalse(uiop.getType().isPresent());
+        assertFalse(uiop.getType().isPresent());
+        assertEquals(2, lookups.get());
+        assertEquals(2, provider.getCacheHitCount());
+        assertEquals(2, provider.getCacheMissCount());
+
+        // Adding a provider discards the cache
+        provider.add(field -> Optional.of(new ObjectType("java/lang/String")));
+        assertEquals(Optional.of(new ObjectType("java/lang/String")), uiop.getType());
+        assertEquals(3, lookups.get());
+        assertEquals(0, provider.getCacheHitCount());
+        assertEquals(1, provider.getCacheMissCount());
+        assertEquals(16, provider.getCacheSize());
+    }
+
 }